@@ -0,0 +1,67 @@
+package com.soiree.benchmarks;
+
+import com.soiree.dto.TeamStanding;
+import com.soiree.model.Team;
+import com.soiree.service.LeaderboardService;
+import com.soiree.service.StandingsChangedEvent;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Classement : tri complet à chaque lecture (ancien GET /api/teams) contre
+ * classement matérialisé (mise à jour incrémentale + lecture du snapshot)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LeaderboardBenchmark {
+
+    private static final Long EVENT_ID = 1L;
+
+    @Param({"4x20", "20x200", "100x2000", "500x20000"})
+    public String size;
+
+    private List<Team> teams;
+    private List<TeamStanding> standings;
+    private LeaderboardService leaderboard;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        teams = PartyFixture.parse(size).teamsWithPlayers(new Random(PartyFixture.SEED));
+        standings = teams.stream().map(TeamStanding::of).toList();
+        leaderboard = new LeaderboardService(null);
+        leaderboard.onStandingsChanged(StandingsChangedEvent.replaced(EVENT_ID, standings));
+    }
+
+    /** Ancien chemin : copie + tri par points à chaque requête */
+    @Benchmark
+    public List<Team> sortOnEveryRead() {
+        List<Team> sorted = new ArrayList<>(teams);
+        sorted.sort((t1, t2) -> Integer.compare(t2.getTotalPoints(), t1.getTotalPoints()));
+        return sorted;
+    }
+
+    /** Écriture : une équipe gagne des points, le classement est reclassé */
+    @Benchmark
+    public List<TeamStanding> incrementalUpdate() {
+        TeamStanding team = standings.get(next++ % standings.size());
+        TeamStanding updated = new TeamStanding(team.id(), team.name(), team.color(),
+                team.totalPoints() + (next & 3), team.shotsCount(), 0, team.players());
+        leaderboard.onStandingsChanged(StandingsChangedEvent.updated(EVENT_ID, List.of(updated)));
+        return leaderboard.standings(EVENT_ID);
+    }
+
+    /** Lecture : snapshot déjà trié */
+    @Benchmark
+    public List<TeamStanding> snapshotRead() {
+        return leaderboard.standings(EVENT_ID);
+    }
+}
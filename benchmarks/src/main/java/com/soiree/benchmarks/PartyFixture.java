@@ -0,0 +1,66 @@
+package com.soiree.benchmarks;
+
+import com.soiree.model.Player;
+import com.soiree.model.Team;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Jeux de données déterministes pour les benchmarks
+ * size au format "équipesxjoueurs", ex. "4x20" ou "500x20000"
+ */
+final class PartyFixture {
+
+    static final long SEED = 42L;
+
+    final int teamCount;
+    final int playerCount;
+
+    private PartyFixture(int teamCount, int playerCount) {
+        this.teamCount = teamCount;
+        this.playerCount = playerCount;
+    }
+
+    static PartyFixture parse(String size) {
+        String[] parts = size.split("x");
+        return new PartyFixture(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
+    }
+
+    /** Joueurs sans équipe, ~50 % d'hommes */
+    List<Player> players(Random random) {
+        List<Player> players = new ArrayList<>(playerCount);
+        for (int i = 0; i < playerCount; i++) {
+            Player player = new Player("Joueur " + i, random.nextBoolean() ? Player.Gender.HOMME : Player.Gender.FEMME);
+            player.setId((long) i + 1);
+            players.add(player);
+        }
+        return players;
+    }
+
+    /** Équipes vides avec identifiants */
+    List<Team> emptyTeams() {
+        List<Team> teams = new ArrayList<>(teamCount);
+        for (int i = 0; i < teamCount; i++) {
+            Team team = new Team("Équipe " + (i + 1), "#FF6B6B");
+            team.setId((long) i + 1);
+            teams.add(team);
+        }
+        return teams;
+    }
+
+    /** Équipes remplies en round-robin, avec des scores variés */
+    List<Team> teamsWithPlayers(Random random) {
+        List<Team> teams = emptyTeams();
+        List<Player> players = players(random);
+        for (int i = 0; i < players.size(); i++) {
+            teams.get(i % teamCount).addPlayer(players.get(i));
+        }
+        for (Team team : teams) {
+            team.setTotalPoints(random.nextInt(4 * 5 + 1));
+            team.setShotsCount(random.nextInt(10));
+        }
+        return teams;
+    }
+}
@@ -0,0 +1,57 @@
+package com.soiree.benchmarks;
+
+import com.soiree.model.Team;
+import com.soiree.service.GameService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validation d'un classement soumis (GameService.validatePositions, début de saveGameResults)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PositionValidationBenchmark {
+
+    @Param({"4x20", "20x200", "100x2000", "500x20000"})
+    public String size;
+
+    private Map<Long, Integer> positions;
+    private Set<Long> teamIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(PartyFixture.SEED);
+        List<Team> teams = PartyFixture.parse(size).emptyTeams();
+        List<Integer> ranks = new ArrayList<>();
+        for (int i = 1; i <= teams.size(); i++) {
+            ranks.add(i);
+        }
+        Collections.shuffle(ranks, random);
+        positions = new HashMap<>();
+        teamIds = new HashSet<>();
+        for (int i = 0; i < teams.size(); i++) {
+            positions.put(teams.get(i).getId(), ranks.get(i));
+            teamIds.add(teams.get(i).getId());
+        }
+    }
+
+    @Benchmark
+    public void validate(Blackhole blackhole) {
+        GameService.validatePositions(positions, teamIds);
+        blackhole.consume(positions);
+    }
+}
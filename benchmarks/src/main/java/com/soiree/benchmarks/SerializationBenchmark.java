@@ -0,0 +1,65 @@
+package com.soiree.benchmarks;
+
+import com.soiree.dto.TeamStanding;
+import com.soiree.dto.TeamSummary;
+import com.soiree.model.Game;
+import com.soiree.model.GameResult;
+import com.soiree.model.Team;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sérialisation Jackson des graphes renvoyés par l'API
+ * (équipes avec joueurs, résultats avec équipe, et vue compacte TeamSummary)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"4x20", "20x200", "100x2000", "500x20000"})
+    public String size;
+
+    private final JsonMapper mapper = JsonMapper.builder().build();
+
+    private List<Team> teams;
+    private List<GameResult> results;
+    private List<TeamSummary> summaries;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        teams = PartyFixture.parse(size).teamsWithPlayers(new Random(PartyFixture.SEED));
+        Game game = new Game("Blindtest", "Règles", 1, Game.GameType.TOUS_ENSEMBLE, "classement");
+        game.setId(1L);
+        results = new ArrayList<>(teams.size());
+        for (int i = 0; i < teams.size(); i++) {
+            GameResult result = new GameResult(game, teams.get(i), i + 1, Math.max(0, 4 - i), i);
+            result.setId((long) i + 1);
+            results.add(result);
+        }
+        summaries = teams.stream().map(TeamStanding::of).map(TeamSummary::of).toList();
+    }
+
+    @Benchmark
+    public byte[] teamsWithPlayers() {
+        return mapper.writeValueAsBytes(teams);
+    }
+
+    @Benchmark
+    public byte[] gameResultsWithTeams() {
+        return mapper.writeValueAsBytes(results);
+    }
+
+    @Benchmark
+    public byte[] teamSummaries() {
+        return mapper.writeValueAsBytes(summaries);
+    }
+}
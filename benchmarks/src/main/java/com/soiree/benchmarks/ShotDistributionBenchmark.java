@@ -0,0 +1,56 @@
+package com.soiree.benchmarks;
+
+import com.soiree.model.Player;
+import com.soiree.model.Team;
+import com.soiree.service.ShotAllocator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Répartition des shots d'un jeu complet : l'équipe classée p boit p-1 shots
+ * (ShotAllocator.allocate appelé pour chaque équipe, compteurs de soirée à mi-parcours)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShotDistributionBenchmark {
+
+    @Param({"4x20", "20x200", "100x2000", "500x20000"})
+    public String size;
+
+    private final ShotAllocator allocator = ShotAllocator.withDefaults();
+
+    // Shots déjà bus par joueur, équipe par équipe (l'allocation ne les modifie pas)
+    private int[][] counts;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(PartyFixture.SEED);
+        List<Team> teams = PartyFixture.parse(size).teamsWithPlayers(random);
+        counts = new int[teams.size()][];
+        for (int t = 0; t < teams.size(); t++) {
+            List<Player> players = teams.get(t).getPlayers();
+            counts[t] = new int[players.size()];
+            for (int i = 0; i < players.size(); i++) {
+                counts[t][i] = random.nextInt(ShotAllocator.DEFAULT_MAX_PER_PLAYER / 2);
+            }
+        }
+    }
+
+    @Benchmark
+    public void distributeWholeGame(Blackhole blackhole) {
+        for (int position = 1; position <= counts.length; position++) {
+            int shots = position - 1;
+            if (shots > 0) {
+                blackhole.consume(allocator.allocate(counts[position - 1], shots, position));
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.soiree.benchmarks;
+
+import com.soiree.model.Player;
+import com.soiree.service.AnnealingBalancer;
+import com.soiree.service.RoundRobinBalancer;
+import com.soiree.service.TeamBalancer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Répartition des joueurs dans les équipes (TeamBalancer, cœur de createBalancedTeams)
+ * Objectif : moins de 50 ms pour 10 000 joueurs et 200 équipes avec le recuit simulé
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TeamBalancingBenchmark {
+
+    @Param({"4x20", "20x200", "100x2000", "200x10000", "500x20000"})
+    public String size;
+
+    private TeamBalancer.Problem problem;
+    private final TeamBalancer roundRobin = new RoundRobinBalancer();
+    private final TeamBalancer annealing = AnnealingBalancer.withDefaults();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PartyFixture fixture = PartyFixture.parse(size);
+        Random random = new Random(PartyFixture.SEED);
+        List<Player> players = fixture.players(random);
+        // Niveaux variés et une soirée précédente : un joueur sur deux y était
+        Map<String, Integer> previous = new HashMap<>();
+        for (Player player : players) {
+            player.setSkill(random.nextInt(11));
+            if (random.nextBoolean()) {
+                previous.put(TeamBalancer.Problem.key(player.getName()), random.nextInt(fixture.teamCount));
+            }
+        }
+        problem = TeamBalancer.Problem.of(players, fixture.teamCount, previous, PartyFixture.SEED);
+    }
+
+    @Benchmark
+    public int[] roundRobin() {
+        return roundRobin.assign(problem);
+    }
+
+    @Benchmark
+    public int[] annealing() {
+        return annealing.assign(problem);
+    }
+}
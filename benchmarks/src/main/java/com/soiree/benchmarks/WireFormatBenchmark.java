@@ -0,0 +1,122 @@
+package com.soiree.benchmarks;
+
+import com.soiree.model.Game;
+import com.soiree.model.Team;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Formats de réponse servis aux écrans (JSON, CBOR, Smile), avec ou sans gzip
+ * - temps : sérialisation (et compression) d'un corps
+ * - taille : octets de chaque corps, affichés en fin d'essai
+ * Catalogue : 5 jeux avec des règles de la longueur de celles de GameService
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"4x20", "100x2000"})
+    public String size;
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    private ObjectMapper mapper;
+    private List<Team> teams;
+    private List<Game> catalogue;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        mapper = switch (format) {
+            case "cbor" -> CBORMapper.builder().build();
+            case "smile" -> SmileMapper.builder().build();
+            default -> JsonMapper.builder().build();
+        };
+        teams = PartyFixture.parse(size).teamsWithPlayers(new Random(PartyFixture.SEED));
+        catalogue = gameCatalogue();
+    }
+
+    @TearDown(Level.Trial)
+    public void printSizes() {
+        byte[] teamBytes = mapper.writeValueAsBytes(teams);
+        byte[] catalogueBytes = mapper.writeValueAsBytes(catalogue);
+        System.out.printf("%n[%s %s] équipes : %d octets (gzip %d), catalogue : %d octets (gzip %d)%n",
+                format, size, teamBytes.length, gzip(teamBytes).length,
+                catalogueBytes.length, gzip(catalogueBytes).length);
+    }
+
+    @Benchmark
+    public byte[] teamsWithPlayers() {
+        return mapper.writeValueAsBytes(teams);
+    }
+
+    @Benchmark
+    public byte[] teamsWithPlayersGzip() {
+        return gzip(mapper.writeValueAsBytes(teams));
+    }
+
+    @Benchmark
+    public byte[] catalogue() {
+        return mapper.writeValueAsBytes(catalogue);
+    }
+
+    @Benchmark
+    public byte[] catalogueGzip() {
+        return gzip(mapper.writeValueAsBytes(catalogue));
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static List<Game> gameCatalogue() {
+        String rules = """
+                🎯 CONCEPT :
+                • Chaque équipe désigne un représentant par manche
+                • Les représentants s'affrontent devant toute la salle
+
+                📋 DÉROULEMENT :
+                • L'animateur annonce la manche et lance le chrono
+                • La première équipe qui trouve marque la manche
+                • En cas d'égalité, une manche de départage est jouée
+
+                🏆 CLASSEMENT :
+                • 1er : 4 points, 2e : 3 points, 3e : 2 points, 4e : 1 point
+                • Les équipes suivantes ne marquent pas de point
+
+                🥃 SHOTS :
+                • Le 1er ne boit pas, le 2e boit 1 shot, le 3e 2 shots, etc.
+                """;
+        String[] names = {"Blindtest", "Jeu de Mime", "Whisky Undercover", "Speed Dating", "Gage"};
+        List<Game> games = new ArrayList<>(names.length);
+        for (int i = 0; i < names.length; i++) {
+            Game game = new Game(names[i], "RÈGLES DU " + names[i].toUpperCase() + "\n\n" + rules,
+                    i + 1, Game.GameType.TOUS_ENSEMBLE, "classement");
+            game.setId((long) i + 1);
+            games.add(game);
+        }
+        return games;
+    }
+}
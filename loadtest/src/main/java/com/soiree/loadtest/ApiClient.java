@@ -0,0 +1,99 @@
+package com.soiree.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Client HTTP (JDK HttpClient) de l'API : chaque appel mesuré est enregistré dans les statistiques de son endpoint
+ */
+final class ApiClient {
+
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final String baseUrl;
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+
+    ApiClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    /**
+     * Réponse : code HTTP (0 si échec réseau), corps et ETag éventuel
+     */
+    record Response(int status, String body, String etag) {
+
+        boolean ok() {
+            return status >= 200 && status < 300;
+        }
+    }
+
+    /**
+     * GET mesuré ; etag : dernier ETag reçu (If-None-Match), null au premier appel
+     */
+    Response get(String endpoint, String path, String etag) {
+        HttpRequest.Builder request = request(path).GET();
+        if (etag != null) {
+            request.header("If-None-Match", etag);
+        }
+        return measured(endpoint, request.build());
+    }
+
+    /**
+     * POST JSON mesuré
+     */
+    Response post(String endpoint, String path, String json) {
+        return measured(endpoint, json(path, json));
+    }
+
+    /**
+     * Appel de préparation (non mesuré) : échec = test interrompu
+     */
+    String call(String method, String path, String json) {
+        HttpRequest request = method.equals("GET") ? request(path).GET().build() : json(path, json);
+        Response response = send(request);
+        if (!response.ok()) {
+            throw new IllegalStateException(method + " " + path + " : " + response.status() + " " + response.body());
+        }
+        return response.body();
+    }
+
+    Map<String, EndpointStats> stats() {
+        return stats;
+    }
+
+    private Response measured(String endpoint, HttpRequest request) {
+        long start = System.nanoTime();
+        Response response = send(request);
+        stats.computeIfAbsent(endpoint, EndpointStats::new).record(System.nanoTime() - start, response.status());
+        return response;
+    }
+
+    private Response send(HttpRequest request) {
+        try {
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            return new Response(response.statusCode(), response.body(),
+                    response.headers().firstValue("ETag").orElse(null));
+        } catch (IOException e) {
+            return new Response(0, e.toString(), null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Response(0, "interrompu", null);
+        }
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30));
+    }
+
+    private HttpRequest json(String path, String json) {
+        return request(path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+}
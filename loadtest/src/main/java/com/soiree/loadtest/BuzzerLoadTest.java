@@ -0,0 +1,149 @@
+package com.soiree.loadtest;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Blindtest en direct : des centaines de téléphones buzzent au même instant sur chaque chanson
+ *
+ * 1. préparation : équipes, jeux, manche démarrée sur le Blindtest
+ * 2. pour chaque chanson : l'animateur ouvre la chanson, "buzzers" clients envoient leur buzz ensemble
+ *    (POST /api/games/{id}/blindtest/buzz, latence mesurée), puis l'animateur valide la réponse
+ * 3. contrôle : exactement un FIRST par chanson ; latences buzz -> réponse (p50, p99, max) à l'écran
+ *
+ * Options (clé=valeur) : url (vide : application démarrée dans ce processus sur H2), players=60, teams=6,
+ * buzzers=300, songs=30, warmup-songs=5
+ */
+public final class BuzzerLoadTest {
+
+    static final String POST_BUZZ = "POST /api/games/{id}/blindtest/buzz";
+
+    private static final ObjectMapper JSON = JsonMapper.builder().build();
+
+    private final int players;
+    private final int teams;
+    private final int buzzers;
+    private final int songs;
+    private final int warmupSongs;
+
+    private ApiClient client;
+    private List<Long> teamIds;
+    private Long gameId;
+
+    private BuzzerLoadTest(Options options) {
+        this.players = options.integer("players", 60);
+        this.teams = options.integer("teams", 6);
+        this.buzzers = options.integer("buzzers", 300);
+        this.songs = options.integer("songs", 30);
+        this.warmupSongs = options.integer("warmup-songs", 5);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new Options(args);
+        BuzzerLoadTest test = new BuzzerLoadTest(options);
+        String url = options.string("url", "");
+        if (url.isBlank()) {
+            try (LocalServer server = LocalServer.start("loadtest-buzz", Map.of())) {
+                test.run(server.baseUrl());
+            }
+        } else {
+            test.run(url.endsWith("/") ? url.substring(0, url.length() - 1) : url);
+        }
+    }
+
+    private void run(String baseUrl) throws Exception {
+        client = new ApiClient(baseUrl);
+        prepare();
+        System.out.printf("Blindtest prêt : %d équipes, %d buzzers, %d chansons (+%d de chauffe)%n",
+                teamIds.size(), buzzers, songs, warmupSongs);
+        ExecutorService phones = Executors.newFixedThreadPool(buzzers);
+        int doubleWinners = 0;
+        long started = 0;
+        try {
+            for (int song = 0; song < warmupSongs + songs; song++) {
+                if (song == warmupSongs) {
+                    client = new ApiClient(baseUrl); // mesures de la chauffe écartées
+                    started = System.nanoTime();
+                }
+                if (playSong(phones) != 1) {
+                    doubleWinners++;
+                }
+            }
+        } finally {
+            phones.shutdownNow();
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        client.call("POST", "/games/" + gameId + "/blindtest/finish", "");
+
+        EndpointStats buzz = client.stats().get(POST_BUZZ);
+        System.out.println();
+        System.out.println(EndpointStats.header());
+        System.out.println(buzz.line(seconds));
+        System.out.printf("%nChansons sans exactement un FIRST : %d sur %d%n", doubleWinners, songs + warmupSongs);
+    }
+
+    private void prepare() {
+        StringBuilder roster = new StringBuilder();
+        for (int i = 0; i < players; i++) {
+            roster.append(i == 0 ? "" : ",")
+                    .append("{\"name\":\"Joueur ").append(i)
+                    .append("\",\"gender\":\"").append(i % 2 == 0 ? "HOMME" : "FEMME").append("\"}");
+        }
+        client.call("POST", "/teams/create",
+                "{\"players\":[" + roster + "],\"numberOfTeams\":" + teams + ",\"seed\":42}");
+        client.call("POST", "/games/initialize", "");
+        teamIds = new ArrayList<>();
+        for (JsonNode team : JSON.readTree(client.call("GET", "/teams", null))) {
+            teamIds.add(team.get("id").asLong());
+        }
+        for (JsonNode game : JSON.readTree(client.call("GET", "/games", null))) {
+            if (game.get("name").asString().contains("Blindtest")) {
+                gameId = game.get("id").asLong();
+            }
+        }
+        if (gameId == null) {
+            throw new IllegalStateException("Jeu Blindtest absent du catalogue");
+        }
+        client.call("POST", "/games/" + gameId + "/blindtest", "");
+    }
+
+    /**
+     * Une chanson : tous les buzzers partent ensemble ; retourne le nombre de FIRST reçus
+     */
+    private int playSong(ExecutorService phones) throws Exception {
+        client.call("POST", "/games/" + gameId + "/blindtest/songs", "{}");
+        CountDownLatch go = new CountDownLatch(1);
+        List<Callable<ApiClient.Response>> presses = new ArrayList<>(buzzers);
+        for (int b = 0; b < buzzers; b++) {
+            Long teamId = teamIds.get(b % teamIds.size());
+            presses.add(() -> {
+                go.await();
+                return client.post(POST_BUZZ, "/games/" + gameId + "/blindtest/buzz", "{\"teamId\":" + teamId + "}");
+            });
+        }
+        List<Future<ApiClient.Response>> responses = new ArrayList<>(buzzers);
+        for (Callable<ApiClient.Response> press : presses) {
+            responses.add(phones.submit(press));
+        }
+        go.countDown();
+        int first = 0;
+        for (Future<ApiClient.Response> response : responses) {
+            ApiClient.Response buzz = response.get();
+            if (buzz.ok() && JSON.readTree(buzz.body()).get("outcome").asString().equals("FIRST")) {
+                first++;
+            }
+        }
+        client.call("POST", "/games/" + gameId + "/blindtest/verdict", "{\"correct\":true}");
+        return first;
+    }
+}
@@ -0,0 +1,97 @@
+package com.soiree.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Mesures d'un endpoint : latences (HdrHistogram, microsecondes, 3 chiffres significatifs) et réponses par catégorie
+ * - ok : 2xx ; notModified : 304 (If-None-Match) ; conflicts : 409 (saisies concurrentes, attendues en rafale)
+ * - errors : autres statuts et échecs réseau
+ */
+final class EndpointStats {
+
+    private final String name;
+    private final Histogram latencies = new ConcurrentHistogram(3);
+    private final LongAdder ok = new LongAdder();
+    private final LongAdder notModified = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+
+    EndpointStats(String name) {
+        this.name = name;
+    }
+
+    /** status : code HTTP, 0 en cas d'échec réseau */
+    void record(long nanos, int status) {
+        latencies.recordValue(Math.max(1, nanos / 1_000));
+        if (status >= 200 && status < 300) {
+            ok.increment();
+        } else if (status == 304) {
+            notModified.increment();
+        } else if (status == 409) {
+            conflicts.increment();
+        } else {
+            errors.increment();
+        }
+    }
+
+    String name() {
+        return name;
+    }
+
+    long requests() {
+        return latencies.getTotalCount();
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    double percentileMillis(double percentile) {
+        return latencies.getValueAtPercentile(percentile) / 1_000.0;
+    }
+
+    /**
+     * Bilan de l'endpoint pour le résumé JSON
+     */
+    Map<String, Object> summary(double seconds) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", requests());
+        summary.put("throughputPerSecond", round(requests() / seconds));
+        summary.put("ok", ok.sum());
+        summary.put("notModified", notModified.sum());
+        summary.put("conflicts", conflicts.sum());
+        summary.put("errors", errors.sum());
+        Map<String, Object> millis = new LinkedHashMap<>();
+        millis.put("mean", round(latencies.getMean() / 1_000.0));
+        millis.put("p50", percentileMillis(50));
+        millis.put("p90", percentileMillis(90));
+        millis.put("p99", percentileMillis(99));
+        millis.put("p99_9", percentileMillis(99.9));
+        millis.put("max", latencies.getMaxValue() / 1_000.0);
+        summary.put("latencyMillis", millis);
+        return summary;
+    }
+
+    /**
+     * Ligne du tableau affiché en fin de test
+     */
+    String line(double seconds) {
+        return String.format("%-40s %8d %8.1f %8.1f %8.1f %8.1f %8.1f %6d %6d", name, requests(),
+                requests() / seconds, percentileMillis(50), percentileMillis(90), percentileMillis(99),
+                latencies.getMaxValue() / 1_000.0, conflicts.sum(), errors.sum());
+    }
+
+    static String header() {
+        return String.format("%-40s %8s %8s %8s %8s %8s %8s %6s %6s", "endpoint", "requêtes", "req/s",
+                "p50 ms", "p90 ms", "p99 ms", "max ms", "409", "échecs");
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+}
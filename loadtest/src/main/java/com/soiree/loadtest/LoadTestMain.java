@@ -0,0 +1,30 @@
+package com.soiree.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Point d'entrée du jar : java -jar loadtest.jar [party|threads|buzz] clé=valeur...
+ * - party (défaut) : scénario de soirée, percentiles par endpoint, bilan JSON (PartyLoadTest)
+ * - threads : threads plateforme / virtuels sous latence base simulée (ThreadModelComparison)
+ * - buzz : centaines de buzzers simultanés sur le Blindtest en direct (BuzzerLoadTest)
+ */
+public final class LoadTestMain {
+
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        boolean named = args.length > 0 && !args[0].contains("=");
+        String command = named ? args[0] : "party";
+        String[] options = named ? Arrays.copyOfRange(args, 1, args.length) : args;
+        switch (command) {
+            case "party" -> PartyLoadTest.main(options);
+            case "threads" -> ThreadModelComparison.main(options);
+            case "buzz" -> BuzzerLoadTest.main(options);
+            default -> {
+                System.err.println("Commande inconnue : " + command + " (party, threads ou buzz)");
+                System.exit(2);
+            }
+        }
+    }
+}
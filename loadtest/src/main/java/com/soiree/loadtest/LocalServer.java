@@ -0,0 +1,49 @@
+package com.soiree.loadtest;
+
+import com.soiree.SoireeJeuxBackendApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Application démarrée dans ce processus, sur un port libre et une base H2 en mémoire dédiée
+ */
+final class LocalServer implements AutoCloseable {
+
+    private final ConfigurableApplicationContext context;
+    private final String baseUrl;
+
+    private LocalServer(ConfigurableApplicationContext context) {
+        this.context = context;
+        this.baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/api";
+    }
+
+    /**
+     * properties : propriétés Spring supplémentaires (prioritaires sur application.properties)
+     */
+    static LocalServer start(String database, Map<String, String> properties) {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:" + database,
+                "--spring.jpa.show-sql=false",
+                "--spring.h2.console.enabled=false",
+                "--logging.level.root=WARN"));
+        properties.forEach((key, value) -> args.add("--" + key + "=" + value));
+        // Arguments de ligne de commande : prioritaires sur application.properties
+        return new LocalServer(new SpringApplicationBuilder(SoireeJeuxBackendApplication.class)
+                .run(args.toArray(String[]::new)));
+    }
+
+    /** URL de l'API, sans "/" final (http://localhost:port/api) */
+    String baseUrl() {
+        return baseUrl;
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
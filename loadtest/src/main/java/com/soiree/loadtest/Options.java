@@ -0,0 +1,43 @@
+package com.soiree.loadtest;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Options clé=valeur de la ligne de commande (les valeurs lues sont mémorisées pour le bilan)
+ */
+final class Options {
+
+    private final Map<String, String> values = new LinkedHashMap<>();
+    private final Map<String, String> used = new LinkedHashMap<>();
+
+    Options(String[] args) {
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Option invalide : '" + arg + "' (clé=valeur attendu)");
+            }
+            values.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+    }
+
+    String string(String key, String defaultValue) {
+        String value = values.getOrDefault(key, defaultValue);
+        used.put(key, value);
+        return value;
+    }
+
+    int integer(String key, int defaultValue) {
+        return Integer.parseInt(string(key, String.valueOf(defaultValue)));
+    }
+
+    Duration duration(String key, Duration defaultValue) {
+        return Duration.parse(string(key, defaultValue.toString()));
+    }
+
+    /** Options effectivement utilisées, valeurs par défaut comprises */
+    Map<String, String> used() {
+        return Map.copyOf(used);
+    }
+}
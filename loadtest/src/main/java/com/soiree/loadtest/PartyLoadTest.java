@@ -0,0 +1,273 @@
+package com.soiree.loadtest;
+
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scénario de soirée rejoué contre l'API : combien de clients simultanés tient le backend ?
+ *
+ * 1. préparation : création des équipes, initialisation des jeux
+ * 2. pendant "duration" (précédé de "warmup", non mesuré) :
+ *    - "pollers" écrans qui interrogent GET /api/teams et GET /api/games toutes les "poll-interval"
+ *      (If-None-Match avec le dernier ETag reçu, comme le front)
+ *    - toutes les "burst-interval", une rafale de "burst-size" saisies simultanées :
+ *      résultats d'un jeu, gage-bonus et undercover-outcome
+ * 3. débit et percentiles de latence (HdrHistogram) par endpoint à l'écran, bilan JSON dans "summary"
+ *
+ * Options (clé=valeur) : url (vide : application démarrée dans ce processus sur H2), players=60, teams=6,
+ * pollers=300, poll-interval=PT1S, burst-interval=PT5S, burst-size=20, warmup=PT10S, duration=PT60S,
+ * summary=target/loadtest-summary.json
+ */
+public final class PartyLoadTest {
+
+    static final String GET_TEAMS = "GET /api/teams";
+    static final String GET_GAMES = "GET /api/games";
+    static final String POST_RESULTS = "POST /api/games/{id}/results";
+    static final String POST_GAGE = "POST /api/games/{id}/gage-bonus";
+    static final String POST_UNDERCOVER = "POST /api/games/{id}/undercover-outcome";
+
+    private static final ObjectMapper JSON = JsonMapper.builder().build();
+
+    private final Options options;
+    private final int players;
+    private final int teams;
+    private final int pollers;
+    private final Duration pollInterval;
+    private final Duration burstInterval;
+    private final int burstSize;
+    private final Duration warmup;
+    private final Duration duration;
+    private final Path summaryFile;
+
+    private ApiClient client;
+    private List<Long> teamIds;
+    private List<Long> rankedGameIds;
+    private Long gageGameId;
+    private Long undercoverGameId;
+
+    private PartyLoadTest(Options options) {
+        this.options = options;
+        this.players = options.integer("players", 60);
+        this.teams = options.integer("teams", 6);
+        this.pollers = options.integer("pollers", 300);
+        this.pollInterval = options.duration("poll-interval", Duration.ofSeconds(1));
+        this.burstInterval = options.duration("burst-interval", Duration.ofSeconds(5));
+        this.burstSize = options.integer("burst-size", 20);
+        this.warmup = options.duration("warmup", Duration.ofSeconds(10));
+        this.duration = options.duration("duration", Duration.ofSeconds(60));
+        this.summaryFile = Path.of(options.string("summary", "target/loadtest-summary.json"));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new Options(args);
+        PartyLoadTest test = new PartyLoadTest(options);
+        String url = options.string("url", "");
+        if (url.isBlank()) {
+            try (LocalServer server = LocalServer.start("loadtest-party", Map.of())) {
+                test.run(server.baseUrl(), "local");
+            }
+        } else {
+            test.run(url.endsWith("/") ? url.substring(0, url.length() - 1) : url, url);
+        }
+    }
+
+    private void run(String baseUrl, String target) throws Exception {
+        client = new ApiClient(baseUrl);
+        prepare();
+        System.out.printf("Soirée prête : %d équipes, %d jeux ; %d pollers, rafales de %d saisies toutes les %s%n",
+                teamIds.size(), rankedGameIds.size() + 2, pollers, burstSize, burstInterval);
+        if (!warmup.isZero()) {
+            play(warmup);
+            client = new ApiClient(baseUrl); // mesures de la chauffe écartées
+        }
+        Instant startedAt = Instant.now();
+        play(duration);
+        report(startedAt, target);
+    }
+
+    /**
+     * Équipes créées, jeux initialisés ; identifiants lus dans les réponses de l'API
+     */
+    private void prepare() {
+        StringBuilder roster = new StringBuilder();
+        for (int i = 0; i < players; i++) {
+            roster.append(i == 0 ? "" : ",")
+                    .append("{\"name\":\"Joueur ").append(i)
+                    .append("\",\"gender\":\"").append(i % 2 == 0 ? "HOMME" : "FEMME")
+                    .append("\",\"skill\":").append(i % 11).append('}');
+        }
+        client.call("POST", "/teams/create",
+                "{\"players\":[" + roster + "],\"numberOfTeams\":" + teams + ",\"seed\":42}");
+        client.call("POST", "/games/initialize", "");
+
+        teamIds = new ArrayList<>();
+        for (JsonNode team : JSON.readTree(client.call("GET", "/teams", null))) {
+            teamIds.add(team.get("id").asLong());
+        }
+        rankedGameIds = new ArrayList<>();
+        for (JsonNode game : JSON.readTree(client.call("GET", "/games", null))) {
+            String name = game.get("name").asString();
+            long id = game.get("id").asLong();
+            if (name.contains("Undercover")) {
+                undercoverGameId = id;
+            } else if (name.contains("Gage")) {
+                gageGameId = id;
+            } else {
+                rankedGameIds.add(id);
+            }
+        }
+        if (teamIds.size() < 2 || rankedGameIds.isEmpty() || gageGameId == null || undercoverGameId == null) {
+            throw new IllegalStateException("Soirée incomplète : équipes " + teamIds + ", jeux " + rankedGameIds
+                    + ", gage " + gageGameId + ", undercover " + undercoverGameId);
+        }
+    }
+
+    /**
+     * Pollers et rafales de saisies jusqu'à l'échéance
+     */
+    private void play(Duration length) throws Exception {
+        long deadline = System.nanoTime() + length.toNanos();
+        ExecutorService pollerPool = Executors.newFixedThreadPool(pollers);
+        ExecutorService writerPool = Executors.newFixedThreadPool(burstSize);
+        try {
+            for (int p = 0; p < pollers; p++) {
+                pollerPool.submit(() -> poll(deadline));
+            }
+            while (sleepUntil(Math.min(deadline, System.nanoTime() + burstInterval.toNanos())) < deadline) {
+                List<Callable<Object>> burst = new ArrayList<>(burstSize);
+                for (int w = 0; w < burstSize; w++) {
+                    burst.add(Executors.callable(this::write));
+                }
+                writerPool.invokeAll(burst);
+            }
+        } finally {
+            pollerPool.shutdown();
+            pollerPool.awaitTermination(1, TimeUnit.MINUTES);
+            writerPool.shutdownNow();
+        }
+    }
+
+    /**
+     * Un écran : équipes puis jeux à chaque intervalle (départ décalé au hasard pour ne pas synchroniser les pollers)
+     */
+    private void poll(long deadline) {
+        String teamsEtag = null;
+        String gamesEtag = null;
+        long next = System.nanoTime() + ThreadLocalRandom.current().nextLong(pollInterval.toNanos() + 1);
+        while (sleepUntil(next) < deadline) {
+            next += pollInterval.toNanos();
+            ApiClient.Response teamsResponse = client.get(GET_TEAMS, "/teams", teamsEtag);
+            if (teamsResponse.ok()) {
+                teamsEtag = teamsResponse.etag();
+            }
+            ApiClient.Response gamesResponse = client.get(GET_GAMES, "/games", gamesEtag);
+            if (gamesResponse.ok()) {
+                gamesEtag = gamesResponse.etag();
+            }
+        }
+    }
+
+    /**
+     * Une saisie tirée au sort : résultats d'un jeu (60 %), gage (25 %), undercover (15 %)
+     */
+    private void write() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int draw = random.nextInt(100);
+        if (draw < 60) {
+            List<Long> order = new ArrayList<>(teamIds);
+            Collections.shuffle(order, random);
+            StringBuilder positions = new StringBuilder();
+            for (int i = 0; i < order.size(); i++) {
+                positions.append(i == 0 ? "" : ",").append('"').append(order.get(i)).append("\":").append(i + 1);
+            }
+            Long gameId = rankedGameIds.get(random.nextInt(rankedGameIds.size()));
+            client.post(POST_RESULTS, "/games/" + gameId + "/results", "{\"positions\":{" + positions + "}}");
+        } else if (draw < 85) {
+            client.post(POST_GAGE, "/games/" + gageGameId + "/gage-bonus",
+                    "{\"teamId\":" + randomTeam(random) + ",\"points\":" + (1 + random.nextInt(3)) + "}");
+        } else {
+            boolean eliminated = random.nextBoolean();
+            client.post(POST_UNDERCOVER, "/games/" + undercoverGameId + "/undercover-outcome",
+                    "{\"misterWhiteTeamId\":" + randomTeam(random) + ",\"eliminated\":" + eliminated
+                            + (eliminated ? ",\"eliminatedInRound\":" + (1 + random.nextInt(3)) : "") + "}");
+        }
+    }
+
+    private Long randomTeam(ThreadLocalRandom random) {
+        return teamIds.get(random.nextInt(teamIds.size()));
+    }
+
+    /**
+     * Attendre jusqu'à l'instant donné (System.nanoTime) ; retourne l'instant du réveil
+     */
+    private static long sleepUntil(long nanoTime) {
+        long now = System.nanoTime();
+        if (nanoTime > now) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(nanoTime - now);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Long.MAX_VALUE;
+            }
+        }
+        return System.nanoTime();
+    }
+
+    /**
+     * Tableau à l'écran et bilan JSON (comparaison entre deux exécutions)
+     */
+    private void report(Instant startedAt, String target) throws Exception {
+        double seconds = duration.toNanos() / 1e9;
+        List<EndpointStats> endpoints = client.stats().values().stream()
+                .sorted(Comparator.comparing(EndpointStats::name))
+                .toList();
+
+        System.out.println();
+        System.out.println(EndpointStats.header());
+        long requests = 0;
+        long errors = 0;
+        Map<String, Object> byEndpoint = new LinkedHashMap<>();
+        for (EndpointStats endpoint : endpoints) {
+            System.out.println(endpoint.line(seconds));
+            byEndpoint.put(endpoint.name(), endpoint.summary(seconds));
+            requests += endpoint.requests();
+            errors += endpoint.errors();
+        }
+        System.out.printf("%nTotal : %d requêtes, %.1f req/s, %d échecs%n", requests, requests / seconds, errors);
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("scenario", "party");
+        summary.put("startedAt", startedAt.toString());
+        summary.put("target", target);
+        summary.put("javaVersion", Runtime.version().toString());
+        summary.put("durationSeconds", seconds);
+        summary.put("options", new TreeMap<>(options.used()));
+        summary.put("total", Map.of("requests", requests,
+                "throughputPerSecond", Math.round(requests / seconds * 10) / 10.0,
+                "errors", errors));
+        summary.put("endpoints", byEndpoint);
+        if (summaryFile.getParent() != null) {
+            Files.createDirectories(summaryFile.getParent());
+        }
+        Files.writeString(summaryFile, JSON.writerWithDefaultPrettyPrinter().writeValueAsString(summary));
+        System.out.println("Bilan : " + summaryFile.toAbsolutePath());
+    }
+}
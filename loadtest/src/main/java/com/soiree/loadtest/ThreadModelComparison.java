@@ -0,0 +1,108 @@
+package com.soiree.loadtest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Débit et latences (p50, p99) de l'API servie par des threads plateforme puis virtuels,
+ * avec une latence base simulée (app.db.simulated-latency) et un petit pool de connexions
+ *
+ * L'application est démarrée dans ce processus (port aléatoire, base H2 dédiée) pour chaque mode ;
+ * des clients concurrents interrogent GET /api/scores/standings (classement rejoué depuis le journal :
+ * la seule lecture qui passe par la base à chaque appel) pendant la durée demandée.
+ *
+ * Options (clé=valeur) : clients=400, duration=PT20S, warmup=PT5S, latency=PT0.02S, pool=10,
+ * tomcat-threads=200, modes=platform,virtual
+ * Le mode virtual demande un JDK 21 (ignoré sinon).
+ */
+public final class ThreadModelComparison {
+
+    private static final String STANDINGS = "GET /api/scores/standings";
+
+    private final int clients;
+    private final Duration duration;
+    private final Duration warmup;
+    private final Duration latency;
+    private final int pool;
+    private final int tomcatThreads;
+
+    private ThreadModelComparison(Options options) {
+        this.clients = options.integer("clients", 400);
+        this.duration = options.duration("duration", Duration.ofSeconds(20));
+        this.warmup = options.duration("warmup", Duration.ofSeconds(5));
+        this.latency = options.duration("latency", Duration.ofMillis(20));
+        this.pool = options.integer("pool", 10);
+        this.tomcatThreads = options.integer("tomcat-threads", 200);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new Options(args);
+        ThreadModelComparison comparison = new ThreadModelComparison(options);
+        double seconds = comparison.duration.toNanos() / 1e9;
+        List<EndpointStats> results = new ArrayList<>();
+        for (String mode : options.string("modes", "platform,virtual").split(",")) {
+            boolean virtual = mode.strip().equals("virtual");
+            if (virtual && Runtime.version().feature() < 21) {
+                System.out.println("Mode virtual ignoré : JDK " + Runtime.version().feature() + " (21 requis)");
+                continue;
+            }
+            results.add(comparison.run(virtual));
+        }
+        System.out.println();
+        System.out.println(EndpointStats.header());
+        for (EndpointStats result : results) {
+            System.out.println(result.line(seconds));
+        }
+    }
+
+    private EndpointStats run(boolean virtual) throws Exception {
+        String mode = virtual ? "virtual" : "platform";
+        try (LocalServer server = LocalServer.start("loadtest-" + mode, Map.of(
+                "spring.datasource.hikari.maximum-pool-size", String.valueOf(pool),
+                "spring.threads.virtual.enabled", String.valueOf(virtual),
+                "server.tomcat.threads.max", String.valueOf(tomcatThreads),
+                "app.db.simulated-latency", latency.toString()))) {
+            ApiClient client = new ApiClient(server.baseUrl());
+            seed(client);
+            String endpoint = STANDINGS + " (" + mode + ")";
+            load(client, endpoint, warmup);
+            ApiClient measured = new ApiClient(server.baseUrl());
+            load(measured, endpoint, duration);
+            return measured.stats().get(endpoint);
+        }
+    }
+
+    /**
+     * Soirée type : 8 équipes de 5, jeux initialisés
+     */
+    private static void seed(ApiClient client) {
+        StringBuilder players = new StringBuilder();
+        for (int i = 0; i < 40; i++) {
+            players.append(i == 0 ? "" : ",")
+                    .append("{\"name\":\"Joueur ").append(i)
+                    .append("\",\"gender\":\"").append(i % 2 == 0 ? "HOMME" : "FEMME")
+                    .append("\",\"skill\":").append(i % 11).append('}');
+        }
+        client.call("POST", "/teams/create", "{\"players\":[" + players + "],\"numberOfTeams\":8,\"seed\":42}");
+        client.call("POST", "/games/initialize", "");
+    }
+
+    private void load(ApiClient client, String endpoint, Duration length) throws InterruptedException {
+        long deadline = System.nanoTime() + length.toNanos();
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        for (int c = 0; c < clients; c++) {
+            executor.submit(() -> {
+                while (System.nanoTime() < deadline) {
+                    client.get(endpoint, "/scores/standings", null);
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(length.toSeconds() + 60, TimeUnit.SECONDS);
+    }
+}
@@ -1,9 +1,12 @@
 package com.soiree;
 
+import com.soiree.config.CurrentEventArgumentResolver;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -12,8 +15,10 @@ import java.util.List;
 /**
  * Classe principale de l'application Spring Boot
  * @SpringBootApplication : Active la configuration automatique de Spring
+ * @EnableScheduling : tâches périodiques (contrôle de cohérence des statistiques)
  */
 @SpringBootApplication
+@EnableScheduling
 public class SoireeJeuxBackendApplication {
 
     @Value("${app.cors.allowed-origins:http://localhost:4200}")
@@ -31,6 +36,7 @@ public class SoireeJeuxBackendApplication {
 
     /**
      * Configuration CORS pour permettre à Angular de communiquer
+     * + résolution de la soirée courante (@CurrentEvent)
      */
     @Bean
     public WebMvcConfigurer corsConfigurer() {
@@ -41,8 +47,14 @@ public class SoireeJeuxBackendApplication {
                         .allowedOrigins(List.of(allowedOrigins).toArray(new String[0]))
                         .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
                         .allowedHeaders("*")
+                        .exposedHeaders("ETag", "Idempotent-Replayed")
                         .allowCredentials(true);
             }
+
+            @Override
+            public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+                resolvers.add(new CurrentEventArgumentResolver());
+            }
         };
     }
 
@@ -0,0 +1,84 @@
+package com.soiree.audit;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Événement d'audit de l'évolution d'une soirée : une ligne JSON par événement
+ * dans logs/game-evolution.jsonl (champ "type" = nom de l'événement).
+ * Publiés par les services, écrits après commit par AuditLog.
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type")
+@JsonSubTypes({
+        @JsonSubTypes.Type(value = AuditEvent.GamesInitialized.class, name = "GamesInitialized"),
+        @JsonSubTypes.Type(value = AuditEvent.TeamsCreated.class, name = "TeamsCreated"),
+        @JsonSubTypes.Type(value = AuditEvent.RosterChanged.class, name = "RosterChanged"),
+        @JsonSubTypes.Type(value = AuditEvent.ResultRecorded.class, name = "ResultRecorded"),
+        @JsonSubTypes.Type(value = AuditEvent.ShotsDistributed.class, name = "ShotsDistributed"),
+        @JsonSubTypes.Type(value = AuditEvent.BonusAwarded.class, name = "BonusAwarded"),
+        @JsonSubTypes.Type(value = AuditEvent.ScoresReset.class, name = "ScoresReset"),
+        @JsonSubTypes.Type(value = AuditEvent.SubmissionUndone.class, name = "SubmissionUndone"),
+        @JsonSubTypes.Type(value = AuditEvent.ScoresRebuilt.class, name = "ScoresRebuilt"),
+        @JsonSubTypes.Type(value = AuditEvent.PlayersImported.class, name = "PlayersImported")
+})
+public sealed interface AuditEvent {
+
+    Instant at();
+
+    Long eventId();
+
+    record GamesInitialized(Instant at, Long eventId, List<String> games) implements AuditEvent {
+    }
+
+    /** seed : graine de la répartition (la rejouer avec la même graine redonne les mêmes équipes) */
+    record TeamsCreated(Instant at, Long eventId, long seed, List<TeamComposition> teams) implements AuditEvent {
+    }
+
+    /** added = false : joueur retiré */
+    record RosterChanged(Instant at, Long eventId, Long teamId, Long playerId, String playerName, boolean added)
+            implements AuditEvent {
+    }
+
+    /** Classement d'un jeu (y compris Whisky Undercover) */
+    record ResultRecorded(Instant at, Long eventId, Long gameId, String gameName, List<Placement> placements)
+            implements AuditEvent {
+    }
+
+    /** shots : playerId -> shots ajoutés à ce joueur */
+    record ShotsDistributed(Instant at, Long eventId, Long gameId, Long teamId, int totalShots,
+                            Map<Long, Integer> shots, int undistributed) implements AuditEvent {
+    }
+
+    record BonusAwarded(Instant at, Long eventId, Long gameId, Long teamId, int points, int totalPoints)
+            implements AuditEvent {
+    }
+
+    record ScoresReset(Instant at, Long eventId, int teams) implements AuditEvent {
+    }
+
+    /** kind : nature de la saisie annulée (GAME_RESULT, GAGE_BONUS...) */
+    record SubmissionUndone(Instant at, Long eventId, UUID submission, String kind, Long gameId, int movements)
+            implements AuditEvent {
+    }
+
+    /** corrected : équipes dont les compteurs différaient du journal */
+    record ScoresRebuilt(Instant at, Long eventId, int corrected) implements AuditEvent {
+    }
+
+    /** format : CSV ou JSON ; rejected : lignes invalides non importées */
+    record PlayersImported(Instant at, Long eventId, String format, int imported, int rejected)
+            implements AuditEvent {
+    }
+
+    record TeamComposition(Long teamId, String name, List<Long> playerIds, int men, int women) {
+    }
+
+    record Placement(Long teamId, String teamName, int position, int points, int totalPoints,
+                     int shots, int teamShots) {
+    }
+}
@@ -0,0 +1,114 @@
+package com.soiree.audit;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Journal d'audit asynchrone, en JSON lines (UTF-8), ajout seul
+ * - après commit, l'événement est déposé dans une file bornée (offer : jamais bloquant)
+ * - un thread dédié vide la file par lots et écrit + flush une fois par lot
+ * - file pleine : l'événement est compté comme perdu, la requête n'attend pas
+ */
+@Component
+public class AuditLog {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditLog.class);
+
+    private final Path file;
+    private final int batchSize;
+    private final BlockingQueue<AuditEvent> queue;
+    private final ObjectWriter writer;
+    private final Thread worker;
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile boolean running = true;
+
+    public AuditLog(ObjectMapper objectMapper,
+                    @Value("${app.audit.file:logs/game-evolution.jsonl}") String file,
+                    @Value("${app.audit.queue-capacity:10000}") int queueCapacity,
+                    @Value("${app.audit.batch-size:256}") int batchSize) {
+        this.file = Path.of(file);
+        this.batchSize = batchSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.writer = objectMapper.writerFor(AuditEvent.class);
+        this.worker = new Thread(this::run, "audit-writer");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    @TransactionalEventListener
+    public void onAuditEvent(AuditEvent event) {
+        if (!queue.offer(event) && dropped.incrementAndGet() % 1000 == 1) {
+            logger.warn("File d'audit pleine : {} événement(s) perdu(s)", dropped.get());
+        }
+    }
+
+    public long droppedCount() {
+        return dropped.get();
+    }
+
+    private void run() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                AuditEvent first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<AuditEvent> batch) {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (AuditEvent event : batch) {
+                    out.write(writer.writeValueAsString(event));
+                    out.write('\n');
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            dropped.addAndGet(batch.size());
+            logger.error("Écriture du journal d'audit impossible ({} événements perdus)", batch.size(), e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        // pas d'interrupt : il fermerait le fichier en pleine écriture
+        // le thread termine la file puis sort (poll d'au plus 1 s)
+        running = false;
+        worker.join(TimeUnit.SECONDS.toMillis(5));
+    }
+}
@@ -0,0 +1,59 @@
+package com.soiree.config;
+
+import com.soiree.repository.GameRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Taux de succès du cache de second niveau par région : soiree.cache.hit.ratio{region=...}
+ * (0 à 1, sur la durée de vie de l'instance ; NaN tant que la région n'a pas été interrogée).
+ * Les compteurs bruts sont exportés par Hibernate : hibernate.second.level.cache.requests, hibernate.cache.query.requests
+ */
+@Component
+public class CacheMetrics implements MeterBinder {
+
+    static final List<String> ENTITY_REGIONS = List.of("game", "player", "team-players");
+
+    private final Statistics statistics;
+
+    public CacheMetrics(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String region : ENTITY_REGIONS) {
+            hitRatio(registry, region, stats -> stats.getDomainDataRegionStatistics(region));
+        }
+        hitRatio(registry, GameRepository.GAME_LIST_REGION,
+                stats -> stats.getQueryRegionStatistics(GameRepository.GAME_LIST_REGION));
+    }
+
+    private void hitRatio(MeterRegistry registry, String region, Function<Statistics, CacheRegionStatistics> lookup) {
+        Gauge.builder("soiree.cache.hit.ratio", statistics, stats -> {
+                    CacheRegionStatistics regionStats;
+                    try {
+                        regionStats = lookup.apply(stats);
+                    } catch (IllegalArgumentException e) {
+                        regionStats = null; // région pas encore créée
+                    }
+                    if (regionStats == null) {
+                        return Double.NaN;
+                    }
+                    long requests = regionStats.getHitCount() + regionStats.getMissCount();
+                    return requests == 0 ? Double.NaN : (double) regionStats.getHitCount() / requests;
+                })
+                .description("Part des lectures servies par le cache de second niveau")
+                .tag("region", region)
+                .register(registry);
+    }
+}
@@ -0,0 +1,16 @@
+package com.soiree.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Paramètre de controller recevant l'identifiant de la soirée ciblée :
+ * en-tête X-Event-Id, ou paramètre ?eventId= (EventSource ne peut pas envoyer d'en-tête).
+ * null si absent : les services utilisent alors la soirée par défaut.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CurrentEvent {
+}
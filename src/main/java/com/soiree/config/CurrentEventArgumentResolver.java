@@ -0,0 +1,39 @@
+package com.soiree.config;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Résout les paramètres annotés @CurrentEvent
+ */
+public class CurrentEventArgumentResolver implements HandlerMethodArgumentResolver {
+
+    public static final String EVENT_HEADER = "X-Event-Id";
+    public static final String EVENT_PARAM = "eventId";
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(CurrentEvent.class)
+                && Long.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        String value = webRequest.getHeader(EVENT_HEADER);
+        if (value == null || value.isBlank()) {
+            value = webRequest.getParameter(EVENT_PARAM);
+        }
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Identifiant de soirée invalide: " + value);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.soiree.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Jauges du limiteur de connexions (DbConcurrencyLimiter), s'il est actif :
+ * soiree.db.limiter.max, .in.use, .waiting
+ * (le pool Hikari lui-même est exporté par Spring Boot : hikaricp.connections.*)
+ */
+@Component
+public class DatabaseMetrics implements MeterBinder {
+
+    private final DataSource dataSource;
+
+    public DatabaseMetrics(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!(dataSource instanceof LimitedDataSource limited)) {
+            return;
+        }
+        Gauge.builder("soiree.db.limiter.max", limited, LimitedDataSource::maxConcurrency)
+                .description("Connexions simultanées autorisées")
+                .register(registry);
+        Gauge.builder("soiree.db.limiter.in.use", limited, LimitedDataSource::inUse)
+                .description("Connexions empruntées")
+                .register(registry);
+        Gauge.builder("soiree.db.limiter.waiting", limited, LimitedDataSource::waiting)
+                .description("Requêtes en attente d'une connexion")
+                .register(registry);
+    }
+}
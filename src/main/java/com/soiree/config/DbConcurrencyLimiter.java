@@ -0,0 +1,54 @@
+package com.soiree.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Enveloppe le DataSource dans un LimitedDataSource (concurrence bornée à la taille du pool Hikari)
+ *
+ * - app.db.concurrency-limit.enabled : actif par défaut avec les threads virtuels (spring.threads.virtual.enabled)
+ * - app.db.concurrency-limit.permits : jetons (défaut : spring.datasource.hikari.maximum-pool-size)
+ * - app.db.concurrency-limit.acquire-timeout : attente maximale d'un jeton (défaut 5 s)
+ * - app.db.simulated-latency : latence ajoutée à chaque requête SQL (tests de charge, défaut 0)
+ */
+@Component
+public class DbConcurrencyLimiter implements BeanPostProcessor {
+
+    private static final Logger logger = LoggerFactory.getLogger(DbConcurrencyLimiter.class);
+
+    private final Environment environment;
+
+    public DbConcurrencyLimiter(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!(bean instanceof DataSource dataSource) || bean instanceof LimitedDataSource) {
+            return bean;
+        }
+        boolean virtualThreads = environment.getProperty("spring.threads.virtual.enabled", Boolean.class, false);
+        boolean enabled = environment.getProperty("app.db.concurrency-limit.enabled", Boolean.class, virtualThreads);
+        Duration latency = environment.getProperty("app.db.simulated-latency", Duration.class, Duration.ZERO);
+        if (!enabled && latency.isZero()) {
+            return bean;
+        }
+        int poolSize = dataSource instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : 10;
+        // Limiteur désactivé mais latence simulée : jetons illimités en pratique
+        int permits = enabled
+                ? environment.getProperty("app.db.concurrency-limit.permits", Integer.class, poolSize)
+                : Integer.MAX_VALUE;
+        Duration timeout = environment.getProperty("app.db.concurrency-limit.acquire-timeout", Duration.class,
+                Duration.ofSeconds(5));
+        logger.info("DataSource {} : {} connexions simultanées maximum, latence simulée {} ms",
+                beanName, enabled ? permits : "sans limite", latency.toMillis());
+        return new LimitedDataSource(dataSource, permits, timeout, latency);
+    }
+}
@@ -0,0 +1,47 @@
+package com.soiree.config;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Nombre de requêtes SQL par opération chronométrée (@Timed) : soiree.sql.statements{operation=...}
+ *
+ * Placé autour de la transaction (plus haute priorité) pour compter aussi les écritures du flush au commit.
+ * La durée est mesurée par le TimedAspect de Micrometer (management.observations.annotations.enabled).
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class HotPathMetrics {
+
+    private final MeterRegistry registry;
+
+    public HotPathMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    // Annotation lue sur la méthode (pas de liaison d'argument : incompatible avec la plus haute priorité)
+    @Around("@annotation(io.micrometer.core.annotation.Timed) && within(com.soiree..*)")
+    public Object countStatements(ProceedingJoinPoint call) throws Throwable {
+        Timed timed = ((MethodSignature) call.getSignature()).getMethod().getAnnotation(Timed.class);
+        long before = SqlStatementCounter.current();
+        try {
+            return call.proceed();
+        } finally {
+            DistributionSummary.builder("soiree.sql.statements")
+                    .description("Requêtes SQL émises par une opération")
+                    .tag("operation", timed.value())
+                    .publishPercentileHistogram()
+                    .register(registry)
+                    .record(SqlStatementCounter.current() - before);
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.soiree.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Écritures /api rejouables sans double comptage : en-tête Idempotency-Key
+ * - première requête : traitée normalement, sa réponse est mémorisée (hors 5xx et 409)
+ * - même clé pendant le traitement : 409 immédiat
+ * - même clé ensuite : la réponse mémorisée est renvoyée telle quelle (Idempotent-Replayed: true)
+ * - même clé avec un autre corps : 422, rien n'est appliqué
+ * La clé est propre à la soirée (en-tête X-Event-Id ou paramètre ?eventId=), à la méthode, au chemin
+ * et aux paramètres. Le corps est haché au fil de sa lecture : l'import de joueurs reste lu en flux.
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final Set<String> UNSAFE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+    private static final Set<String> NOT_REPLAYED_HEADERS = Set.of("date", "content-length", "transfer-encoding");
+    private static final byte[] IN_PROGRESS_BODY =
+            "{\"message\":\"Requête identique déjà en cours\",\"error\":\"IDEMPOTENCY_IN_PROGRESS\"}"
+                    .getBytes(StandardCharsets.UTF_8);
+    private static final byte[] KEY_REUSED_BODY =
+            "{\"message\":\"Clé d'idempotence déjà utilisée pour une autre requête\",\"error\":\"IDEMPOTENCY_KEY_REUSED\"}"
+                    .getBytes(StandardCharsets.UTF_8);
+
+    private final IdempotencyStore store;
+
+    public IdempotencyFilter(IdempotencyStore store) {
+        this.store = store;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String key = request.getHeader(KEY_HEADER);
+        return key == null || key.isBlank()
+                || !UNSAFE_METHODS.contains(request.getMethod())
+                || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        // Requête complète (paramètres compris : ?eventId= choisit aussi la soirée)
+        String query = request.getQueryString();
+        String key = request.getHeader(CurrentEventArgumentResolver.EVENT_HEADER) + ' '
+                + request.getMethod() + ' ' + request.getRequestURI() + (query == null ? "" : "?" + query) + ' '
+                + request.getHeader(KEY_HEADER).trim();
+
+        HashingRequest hashing = new HashingRequest(request);
+        IdempotencyStore.Entry existing = store.begin(key, System.currentTimeMillis());
+        if (existing != null) {
+            if (existing.inFlight()) {
+                reject(response, HttpStatus.CONFLICT, IN_PROGRESS_BODY);
+            } else if (!existing.requestHash().equals(hashing.finish())) {
+                reject(response, HttpStatus.UNPROCESSABLE_CONTENT, KEY_REUSED_BODY);
+            } else {
+                replay(existing.response(), response);
+            }
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        boolean stored = false;
+        try {
+            chain.doFilter(hashing, wrapper);
+            int status = wrapper.getStatus();
+            if (status < 500 && status != HttpStatus.CONFLICT.value()) {
+                store.complete(key, hashing.finish(), capture(wrapper), System.currentTimeMillis());
+                stored = true;
+            }
+        } finally {
+            if (!stored) {
+                store.release(key);
+            }
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    private static IdempotencyStore.StoredResponse capture(ContentCachingResponseWrapper wrapper) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (String name : wrapper.getHeaderNames()) {
+            if (!NOT_REPLAYED_HEADERS.contains(name.toLowerCase())) {
+                headers.put(name, List.copyOf(wrapper.getHeaders(name)));
+            }
+        }
+        if (wrapper.getContentType() != null) {
+            headers.put("Content-Type", List.of(wrapper.getContentType()));
+        }
+        return new IdempotencyStore.StoredResponse(wrapper.getStatus(), headers, wrapper.getContentAsByteArray());
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, byte[] body) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getOutputStream().write(body);
+    }
+
+    private static void replay(IdempotencyStore.StoredResponse stored, HttpServletResponse response)
+            throws IOException {
+        response.setStatus(stored.status());
+        stored.headers().forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.body().length);
+        response.getOutputStream().write(stored.body());
+    }
+
+    /**
+     * Requête dont le corps est haché (SHA-256) au fil de sa lecture par le contrôleur ;
+     * finish() lit ce qui reste (corps non lu, ou requête rejouée sans traitement) et rend l'empreinte
+     */
+    private static final class HashingRequest extends HttpServletRequestWrapper {
+
+        private final MessageDigest digest;
+        private ServletInputStream stream;
+
+        HashingRequest(HttpServletRequest request) {
+            super(request);
+            try {
+                this.digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (stream == null) {
+                stream = new DigestingStream(super.getInputStream(), digest);
+            }
+            return stream;
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding);
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+
+        String finish() throws IOException {
+            ServletInputStream in = getInputStream();
+            byte[] buffer = new byte[8192];
+            while (in.read(buffer) != -1) {
+                // lu pour l'empreinte seulement
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        }
+    }
+
+    private static final class DigestingStream extends ServletInputStream {
+
+        private final ServletInputStream in;
+        private final MessageDigest digest;
+
+        DigestingStream(ServletInputStream in, MessageDigest digest) {
+            this.in = in;
+            this.digest = digest;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = in.read();
+            if (b != -1) {
+                digest.update((byte) b);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = in.read(b, off, len);
+            if (n > 0) {
+                digest.update(b, off, n);
+            }
+            return n;
+        }
+
+        @Override
+        public boolean isFinished() {
+            return in.isFinished();
+        }
+
+        @Override
+        public boolean isReady() {
+            return in.isReady();
+        }
+
+        @Override
+        public void setReadListener(ReadListener listener) {
+            in.setReadListener(listener);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.soiree.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Réponses récentes par clé d'idempotence, en mémoire
+ * - bornée (app.idempotency.max-entries) : au-delà, les plus anciennes sont oubliées
+ * - durée de vie fixe (app.idempotency.ttl-seconds) : une clé expirée peut être rejouée comme neuve
+ * L'ordre d'insertion est aussi l'ordre d'expiration : l'éviction ne parcourt que la tête.
+ */
+@Component
+public class IdempotencyStore {
+
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>();
+
+    public IdempotencyStore(@Value("${app.idempotency.ttl-seconds:600}") long ttlSeconds,
+                            @Value("${app.idempotency.max-entries:10000}") int maxEntries) {
+        this.ttlMillis = ttlSeconds * 1000;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Réserver une clé : null si elle est nouvelle (l'appelant traite la requête),
+     * sinon l'entrée existante (en cours ou terminée)
+     */
+    public synchronized Entry begin(String key, long now) {
+        Entry existing = entries.get(key);
+        if (existing != null && existing.expiresAt() > now) {
+            return existing;
+        }
+        entries.remove(key);
+        entries.put(key, Entry.IN_FLIGHT_MARKER.until(now + ttlMillis));
+        evict(now);
+        return null;
+    }
+
+    /**
+     * Mémoriser la réponse d'une requête traitée et l'empreinte de son corps
+     * (déplacée en fin : expiration comptée depuis maintenant)
+     */
+    public synchronized void complete(String key, String requestHash, StoredResponse response, long now) {
+        entries.remove(key);
+        entries.put(key, new Entry(requestHash, response, now + ttlMillis));
+        evict(now);
+    }
+
+    /**
+     * Libérer une clé dont le traitement a échoué : la requête pourra être retentée
+     */
+    public synchronized void release(String key) {
+        entries.remove(key);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void evict(long now) {
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext()) {
+            Entry entry = it.next();
+            if (entry.expiresAt() > now && entries.size() <= maxEntries) {
+                break;
+            }
+            it.remove();
+        }
+    }
+
+    /**
+     * response null : requête encore en cours de traitement
+     * requestHash : empreinte du corps de la requête d'origine (une autre requête sous la même clé est refusée)
+     */
+    public record Entry(String requestHash, StoredResponse response, long expiresAt) {
+
+        private static final Entry IN_FLIGHT_MARKER = new Entry(null, null, 0);
+
+        public boolean inFlight() {
+            return response == null;
+        }
+
+        private Entry until(long expiresAt) {
+            return new Entry(requestHash, response, expiresAt);
+        }
+    }
+
+    /**
+     * Réponse rejouée à l'identique (statut, en-têtes, corps)
+     */
+    public record StoredResponse(int status, Map<String, List<String>> headers, byte[] body) {
+    }
+}
@@ -0,0 +1,25 @@
+package com.soiree.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Compte les requêtes SQL préparées par Hibernate sur le thread courant
+ * (hibernate.session_factory.statement_inspector) : HotPathMetrics en déduit le nombre de requêtes par opération
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<long[]> COUNT = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNT.get()[0]++;
+        return sql;
+    }
+
+    /**
+     * Requêtes préparées depuis le démarrage du thread (seule la différence entre deux lectures a un sens)
+     */
+    public static long current() {
+        return COUNT.get()[0];
+    }
+}
@@ -0,0 +1,150 @@
+package com.soiree.controller;
+
+import com.soiree.config.CurrentEvent;
+import com.soiree.service.BlindtestService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Controller REST du Blindtest en direct (manche en mémoire, une par soirée)
+ * - téléphones : POST buzz
+ * - animateur : démarrer, chanson suivante, verdict, terminer (classement enregistré comme résultats du jeu)
+ * Les changements sont aussi poussés sur /api/stream (buzzer-taken, blindtest-updated).
+ */
+@RestController
+@RequestMapping("/api/games/{gameId}/blindtest")
+@RequiredArgsConstructor
+public class BlindtestController {
+
+    private final BlindtestService blindtestService;
+
+    /**
+     * POST /api/games/{gameId}/blindtest
+     * Démarrer une manche (équipes actuelles de la soirée)
+     */
+    @PostMapping
+    public ResponseEntity<?> start(@CurrentEvent Long eventId, @PathVariable Long gameId) {
+        return handle(() -> ResponseEntity.status(HttpStatus.CREATED).body(blindtestService.start(eventId, gameId)));
+    }
+
+    /**
+     * GET /api/games/{gameId}/blindtest
+     * État de la manche : chanson, équipe qui a la main, classement provisoire
+     */
+    @GetMapping
+    public ResponseEntity<?> state(@CurrentEvent Long eventId, @PathVariable Long gameId) {
+        return handle(() -> ResponseEntity.ok(blindtestService.state(eventId, gameId)));
+    }
+
+    /**
+     * POST /api/games/{gameId}/blindtest/buzz
+     * Body : { "teamId": 1 }
+     * Réponse : { "outcome": "FIRST" | "LATE" | "LOCKED_OUT" | "CLOSED", "song": 3, "holderTeamId": 1, "reactionNanos": ... }
+     */
+    @PostMapping("/buzz")
+    public ResponseEntity<?> buzz(@CurrentEvent Long eventId, @PathVariable Long gameId, @RequestBody BuzzRequest request) {
+        return handle(() -> ResponseEntity.ok(blindtestService.buzz(eventId, gameId, request.getTeamId())));
+    }
+
+    /**
+     * POST /api/games/{gameId}/blindtest/songs
+     * Chanson suivante ; Body (optionnel) : { "tieBreak": true } pour départager les équipes à égalité
+     */
+    @PostMapping("/songs")
+    public ResponseEntity<?> nextSong(@CurrentEvent Long eventId, @PathVariable Long gameId,
+                                      @RequestBody(required = false) NextSongRequest request) {
+        boolean tieBreak = request != null && Boolean.TRUE.equals(request.getTieBreak());
+        return handle(() -> ResponseEntity.ok(blindtestService.nextSong(eventId, gameId, tieBreak)));
+    }
+
+    /**
+     * POST /api/games/{gameId}/blindtest/verdict
+     * Body : { "correct": true } (+1 point) ou { "correct": false } (-0,5 point, les autres peuvent buzzer)
+     */
+    @PostMapping("/verdict")
+    public ResponseEntity<?> judge(@CurrentEvent Long eventId, @PathVariable Long gameId,
+                                   @RequestBody VerdictRequest request) {
+        if (request.getCorrect() == null) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("message", "correct est obligatoire", "error", "VALIDATION_ERROR"));
+        }
+        return handle(() -> ResponseEntity.ok(blindtestService.judge(eventId, gameId, request.getCorrect())));
+    }
+
+    /**
+     * POST /api/games/{gameId}/blindtest/songs/close
+     * Fermer la chanson sans bonne réponse
+     */
+    @PostMapping("/songs/close")
+    public ResponseEntity<?> closeSong(@CurrentEvent Long eventId, @PathVariable Long gameId) {
+        return handle(() -> ResponseEntity.ok(blindtestService.closeSong(eventId, gameId)));
+    }
+
+    /**
+     * POST /api/games/{gameId}/blindtest/finish
+     * Terminer : classement enregistré comme résultats du jeu (POST /api/games/{gameId}/results)
+     */
+    @PostMapping("/finish")
+    public ResponseEntity<?> finish(@CurrentEvent Long eventId, @PathVariable Long gameId) {
+        return handle(() -> ResponseEntity.ok(blindtestService.finish(eventId, gameId)));
+    }
+
+    /**
+     * DELETE /api/games/{gameId}/blindtest
+     * Abandonner la manche (aucun résultat enregistré)
+     */
+    @DeleteMapping
+    public ResponseEntity<?> abandon(@CurrentEvent Long eventId, @PathVariable Long gameId) {
+        return handle(() -> {
+            blindtestService.abandon(eventId, gameId);
+            return ResponseEntity.noContent().build();
+        });
+    }
+
+    private static ResponseEntity<?> handle(Supplier<ResponseEntity<?>> action) {
+        try {
+            return action.get();
+        } catch (OptimisticLockingFailureException e) {
+            return ConflictHandler.conflict();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("message", e.getMessage(), "error", "ROUND_STATE"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("message", e.getMessage(), "error", "VALIDATION_ERROR"));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("message", e.getMessage(), "error", "BLINDTEST_ERROR"));
+        }
+    }
+}
+
+/**
+ * Buzz d'une équipe
+ */
+@lombok.Data
+class BuzzRequest {
+    private Long teamId;
+}
+
+/**
+ * Chanson suivante (tieBreak : départage)
+ */
+@lombok.Data
+class NextSongRequest {
+    private Boolean tieBreak;
+}
+
+/**
+ * Verdict de l'animateur sur l'équipe qui a la main
+ */
+@lombok.Data
+class VerdictRequest {
+    private Boolean correct;
+}
@@ -0,0 +1,187 @@
+package com.soiree.controller;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.soiree.service.EventService;
+import com.soiree.service.StateChange;
+import com.soiree.service.StateVersionService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * GET conditionnels pilotés par la version d'état de la soirée (StateVersionService)
+ * - If-None-Match égal à la version courante : 304 immédiat, sans accès à la base
+ * - sinon : corps sérialisé une seule fois par version et resservi tel quel (byte[])
+ * - format négocié sur Accept (JSON par défaut, CBOR ou Smile : WireFormat), ETag propre à chaque format
+ * - corps de plus de MIN_GZIP_SIZE octets compressés une fois par version, servis tels quels
+ *   aux clients qui annoncent Accept-Encoding: gzip, sous un ETag distinct (suffixe "-gz")
+ * Corps gardés en mémoire dans un cache borné (app.http.body-cache.max-entries, oubliés après
+ * app.http.body-cache.expire-after-access sans lecture) : les clés viennent des chemins demandés par les clients.
+ * Jeux réinitialisés ou équipes recréées : les corps de la soirée sont oubliés (identifiants qui ne servent plus).
+ */
+@Component
+class ConditionalResponses {
+
+    static final int MIN_GZIP_SIZE = 1024;
+
+    private static final String VARY = HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING;
+    private static final String GZIP_SUFFIX = "gz";
+
+    private final EventService eventService;
+    private final StateVersionService stateVersionService;
+    private final Map<WireFormat, ObjectMapper> mappers = new EnumMap<>(WireFormat.class);
+
+    // (soirée, ressource, format) -> dernier corps sérialisé et sa version
+    private final Cache<Key, Body> bodies;
+
+    ConditionalResponses(EventService eventService,
+                         StateVersionService stateVersionService,
+                         ObjectMapper objectMapper,
+                         CBORMapper cborMapper,
+                         @Value("${app.http.body-cache.max-entries:1000}") long maxEntries,
+                         @Value("${app.http.body-cache.expire-after-access:PT10M}") Duration expireAfterAccess) {
+        this.eventService = eventService;
+        this.stateVersionService = stateVersionService;
+        // Éviction faite par le thread appelant : pas de tâche de fond pour un cache de cette taille
+        this.bodies = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterAccess(expireAfterAccess)
+                .executor(Runnable::run)
+                .build();
+        mappers.put(WireFormat.JSON, objectMapper);
+        mappers.put(WireFormat.CBOR, cborMapper);
+        mappers.put(WireFormat.SMILE, SmileMapper.builder().build());
+    }
+
+    /**
+     * @param eventId   soirée demandée (null = soirée par défaut)
+     * @param resource  identifiant de la représentation (chemin + expand)
+     * @param request   en-têtes de la requête (If-None-Match, Accept, Accept-Encoding)
+     * @param loader    charge les données si le cache est périmé (reçoit l'id effectif de la soirée)
+     */
+    ResponseEntity<byte[]> respond(Long eventId, String resource, HttpHeaders request, Function<Long, Object> loader) {
+        Long id = eventService.resolve(eventId);
+        WireFormat format = WireFormat.negotiate(request.getFirst(HttpHeaders.ACCEPT));
+        // Lire la version AVANT les données : le corps est au moins aussi récent que son ETag
+        long version = stateVersionService.current(id);
+        String etag = stateVersionService.etag(id, version, format.etagSuffix());
+        // Le corps compressé est une autre représentation : ETag fort distinct
+        String gzipEtag = stateVersionService.etag(id, version,
+                format.etagSuffix().isEmpty() ? GZIP_SUFFIX : format.etagSuffix() + "-" + GZIP_SUFFIX);
+        boolean acceptsGzip = acceptsGzip(request.getFirst(HttpHeaders.ACCEPT_ENCODING));
+
+        String ifNoneMatch = request.getFirst(HttpHeaders.IF_NONE_MATCH);
+        if (matches(ifNoneMatch, etag)) {
+            return notModified(etag);
+        }
+        if (acceptsGzip && matches(ifNoneMatch, gzipEtag)) {
+            return notModified(gzipEtag);
+        }
+
+        Key key = new Key(id, resource, format);
+        Body body = bodies.getIfPresent(key);
+        if (body == null || body.version() != version) {
+            byte[] bytes = mappers.get(format).writeValueAsBytes(loader.apply(id));
+            body = new Body(version, bytes, bytes.length >= MIN_GZIP_SIZE ? gzip(bytes) : null);
+            bodies.asMap().merge(key, body, (old, fresh) -> fresh.version() >= old.version() ? fresh : old);
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .varyBy(VARY)
+                .contentType(format.mediaType());
+        if (body.gzip() != null && acceptsGzip) {
+            return response.eTag(gzipEtag).header(HttpHeaders.CONTENT_ENCODING, "gzip").body(body.gzip());
+        }
+        return response.eTag(etag).body(body.bytes());
+    }
+
+    /**
+     * Jeux réinitialisés, équipes recréées ou soirée vidée : corps de la soirée oubliés
+     */
+    @TransactionalEventListener
+    public void onStateChange(StateChange change) {
+        if (change instanceof StateChange.GamesInitialized || change instanceof StateChange.TeamsRecreated) {
+            bodies.asMap().keySet().removeIf(key -> key.eventId().equals(change.eventId()));
+        }
+    }
+
+    /**
+     * Nombre de corps gardés en mémoire (éviction en attente appliquée)
+     */
+    long cachedBodies() {
+        bodies.cleanUp();
+        return bodies.estimatedSize();
+    }
+
+    private static ResponseEntity<byte[]> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(VARY)
+                .build();
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals("*") || value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // "gzip" ou "*" sans q=0
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String candidate : acceptEncoding.split(",")) {
+            String[] parts = candidate.split(";");
+            String coding = parts[0].trim();
+            if (coding.equalsIgnoreCase("gzip") || coding.equals("*")) {
+                return parts.length < 2 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private record Key(Long eventId, String resource, WireFormat format) {
+    }
+
+    private record Body(long version, byte[] bytes, byte[] gzip) {
+    }
+}
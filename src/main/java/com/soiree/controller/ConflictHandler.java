@@ -0,0 +1,28 @@
+package com.soiree.controller;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.util.Map;
+
+/**
+ * Écriture concurrente détectée par le verrou optimiste (@Version) : 409,
+ * le client recharge l'état et refait sa saisie si besoin
+ */
+@RestControllerAdvice
+public class ConflictHandler {
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, String>> handleConflict(OptimisticLockingFailureException e) {
+        return conflict();
+    }
+
+    static ResponseEntity<Map<String, String>> conflict() {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .body(Map.of("message", "Modifié entre-temps par une autre saisie, rechargez puis réessayez",
+                        "error", "CONFLICT"));
+    }
+}
@@ -0,0 +1,64 @@
+package com.soiree.controller;
+
+import com.soiree.model.Event;
+import com.soiree.service.EventService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controller REST pour gérer les soirées
+ * Les autres endpoints ciblent une soirée via l'en-tête X-Event-Id
+ */
+@RestController
+@RequestMapping("/api/events")
+@RequiredArgsConstructor
+public class EventController {
+
+    private final EventService eventService;
+
+    /**
+     * GET /api/events
+     * Lister les soirées
+     */
+    @GetMapping
+    public ResponseEntity<List<Event>> getAllEvents() {
+        return ResponseEntity.ok(eventService.getAllEvents());
+    }
+
+    /**
+     * POST /api/events
+     * Créer une soirée
+     * Body : { "name": "Anniversaire" }
+     */
+    @PostMapping
+    public ResponseEntity<Event> createEvent(@RequestBody EventCreationRequest request) {
+        return ResponseEntity.ok(eventService.createEvent(request.getName()));
+    }
+
+    /**
+     * POST /api/events/{eventId}/reset
+     * Vider une soirée (jeux, équipes, joueurs, résultats) sans toucher aux autres
+     */
+    @PostMapping("/{eventId}/reset")
+    public ResponseEntity<?> resetEvent(@PathVariable Long eventId) {
+        try {
+            eventService.resetEvent(eventId);
+            return ResponseEntity.ok().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("message", e.getMessage(), "error", "EVENT_ERROR"));
+        }
+    }
+}
+
+/**
+ * Classe pour recevoir la création d'une soirée
+ */
+@lombok.Data
+class EventCreationRequest {
+    private String name;
+}
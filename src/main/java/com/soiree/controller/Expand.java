@@ -0,0 +1,23 @@
+package com.soiree.controller;
+
+/**
+ * Lecture du paramètre ?expand= (valeurs séparées par des virgules, ex. ?expand=players,description)
+ * Sans expand, les endpoints de lecture renvoient les vues compactes (com.soiree.dto).
+ */
+final class Expand {
+
+    private Expand() {
+    }
+
+    static boolean has(String expand, String field) {
+        if (expand == null || expand.isBlank()) {
+            return false;
+        }
+        for (String value : expand.split(",")) {
+            if (value.trim().equalsIgnoreCase(field)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
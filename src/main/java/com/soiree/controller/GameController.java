@@ -1,42 +1,81 @@
 package com.soiree.controller;
 
-import com.soiree.model.Game;
-import com.soiree.model.GameResult;
+import com.soiree.config.CurrentEvent;
+import com.soiree.dto.GameRules;
 import com.soiree.service.GameService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.*;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 
 /**
  * Controller REST pour gérer les jeux
+ * La soirée ciblée est donnée par l'en-tête X-Event-Id (soirée par défaut si absent)
+ * Les lectures portent un ETag (version de la soirée) et répondent 304 à If-None-Match
+ * Accept : JSON par défaut, CBOR ou Smile sur demande (WireFormat)
  */
 @RestController
 @RequestMapping("/api/games")
 @RequiredArgsConstructor
 public class GameController {
 
+    static final Duration RULES_MAX_AGE = Duration.ofDays(1);
+
     private final GameService gameService;
+    private final ConditionalResponses conditionalResponses;
 
     /**
      * POST /api/games/initialize
      * Initialiser tous les jeux de la soirée
      */
     @PostMapping("/initialize")
-    public ResponseEntity<Void> initializeGames() {
-        gameService.initializeGames();
+    public ResponseEntity<Void> initializeGames(@CurrentEvent Long eventId) {
+        gameService.initializeGames(eventId);
         return ResponseEntity.ok().build();
     }
 
     /**
      * GET /api/games
-     * Récupérer tous les jeux
+     * Récupérer tous les jeux (GameSummary, sans description : règles via GET /api/games/{gameId}/rules)
+     * ?expand=description : jeux complets
      */
     @GetMapping
-    public ResponseEntity<List<Game>> getAllGames() {
-        return ResponseEntity.ok(gameService.getAllGames());
+    public ResponseEntity<byte[]> getAllGames(@CurrentEvent Long eventId,
+                                              @RequestParam(required = false) String expand,
+                                              @RequestHeader HttpHeaders headers) {
+        boolean full = Expand.has(expand, "description");
+        return conditionalResponses.respond(eventId, full ? "games?expand" : "games", headers,
+                id -> full ? gameService.getAllGames(id) : gameService.getGameSummaries(id));
+    }
+
+    /**
+     * GET /api/games/{gameId}/rules
+     * Règles d'un jeu (GameRules), à mettre en cache côté client : elles ne changent qu'avec le catalogue
+     * ETag : empreinte du texte (304 à If-None-Match), indépendant de la version de la soirée
+     */
+    @GetMapping("/{gameId}/rules")
+    public ResponseEntity<?> getRules(@CurrentEvent Long eventId, @PathVariable Long gameId) {
+        try {
+            GameRules rules = gameService.getRules(eventId, gameId);
+            String etag = "\"rules-" + DigestUtils.md5DigestAsHex(
+                    (rules.name() + "\n" + rules.rules()).getBytes(StandardCharsets.UTF_8)) + "\"";
+            return ResponseEntity.ok()
+                    .eTag(etag)
+                    .cacheControl(CacheControl.maxAge(RULES_MAX_AGE))
+                    .body(rules);
+        } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("message", e.getMessage(), "error", "GAME_NOT_FOUND"));
+        }
     }
 
     /**
@@ -47,11 +86,14 @@ public class GameController {
      */
     @PostMapping("/{gameId}/results")
     public ResponseEntity<?> saveResults(
+            @CurrentEvent Long eventId,
             @PathVariable Long gameId,
             @RequestBody GameResultRequest request) {
         try {
-            gameService.saveGameResults(gameId, request.getPositions());
+            gameService.saveGameResults(eventId, gameId, request.getPositions());
             return ResponseEntity.ok().build();
+        } catch (OptimisticLockingFailureException e) {
+            return ConflictHandler.conflict();
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest()
                     .body(Map.of("message", e.getMessage(), "error", "VALIDATION_ERROR"));
@@ -63,20 +105,32 @@ public class GameController {
 
     /**
      * GET /api/games/{gameId}/results
-     * Récupérer les résultats d'un jeu
+     * Récupérer les résultats d'un jeu (ResultRow, triés par position)
+     * ?expand=team : résultats complets avec l'équipe et ses joueurs
      */
     @GetMapping("/{gameId}/results")
-    public ResponseEntity<List<GameResult>> getGameResults(@PathVariable Long gameId) {
-        return ResponseEntity.ok(gameService.getGameResults(gameId));
+    public ResponseEntity<byte[]> getGameResults(@CurrentEvent Long eventId,
+                                                 @PathVariable Long gameId,
+                                                 @RequestParam(required = false) String expand,
+                                                 @RequestHeader HttpHeaders headers) {
+        boolean full = Expand.has(expand, "team");
+        return conditionalResponses.respond(eventId, "results/" + gameId + (full ? "?expand" : ""), headers,
+                id -> full ? gameService.getGameResults(id, gameId) : gameService.getGameResultRows(id, gameId));
     }
 
     /**
      * GET /api/games/teams/{teamId}/history
-     * Récupérer l'historique d'une équipe
+     * Récupérer l'historique d'une équipe (ResultRow)
+     * ?expand=team : résultats complets
      */
     @GetMapping("/teams/{teamId}/history")
-    public ResponseEntity<List<GameResult>> getTeamHistory(@PathVariable Long teamId) {
-        return ResponseEntity.ok(gameService.getTeamHistory(teamId));
+    public ResponseEntity<byte[]> getTeamHistory(@CurrentEvent Long eventId,
+                                                 @PathVariable Long teamId,
+                                                 @RequestParam(required = false) String expand,
+                                                 @RequestHeader HttpHeaders headers) {
+        boolean full = Expand.has(expand, "team");
+        return conditionalResponses.respond(eventId, "history/" + teamId + (full ? "?expand" : ""), headers,
+                id -> full ? gameService.getTeamHistory(id, teamId) : gameService.getTeamHistoryRows(id, teamId));
     }
 
     /**
@@ -86,11 +140,14 @@ public class GameController {
      */
     @PostMapping("/{gameId}/gage-bonus")
     public ResponseEntity<?> saveGageBonus(
+            @CurrentEvent Long eventId,
             @PathVariable Long gameId,
             @RequestBody GageBonusRequest request) {
         try {
-            gameService.saveGageBonus(gameId, request.getTeamId(), request.getPoints());
+            gameService.saveGageBonus(eventId, gameId, request.getTeamId(), request.getPoints());
             return ResponseEntity.ok().build();
+        } catch (OptimisticLockingFailureException e) {
+            return ConflictHandler.conflict();
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest()
                     .body(Map.of("message", e.getMessage(), "error", "GAGE_ERROR"));
@@ -104,12 +161,39 @@ public class GameController {
      */
     @PostMapping("/{gameId}/undercover-outcome")
     public ResponseEntity<?> saveUndercoverOutcome(
+            @CurrentEvent Long eventId,
             @PathVariable Long gameId,
             @RequestBody UndercoverOutcomeRequest request) {
         try {
-            gameService.saveUndercoverOutcome(gameId, request.getMisterWhiteTeamId(),
+            gameService.saveUndercoverOutcome(eventId, gameId, request.getMisterWhiteTeamId(),
                     request.getEliminated(), request.getEliminatedInRound());
             return ResponseEntity.ok().build();
+        } catch (OptimisticLockingFailureException e) {
+            return ConflictHandler.conflict();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("message", e.getMessage(), "error", "VALIDATION_ERROR"));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("message", e.getMessage(), "error", "GAME_ERROR"));
+        }
+    }
+
+    /**
+     * PUT /api/games/{gameId}/scoring-rule
+     * Changer la règle de score d'un jeu (règles : GET /api/scoring-rules)
+     * Body : { "rule": "classement" }
+     */
+    @PutMapping("/{gameId}/scoring-rule")
+    public ResponseEntity<?> assignScoringRule(
+            @CurrentEvent Long eventId,
+            @PathVariable Long gameId,
+            @RequestBody ScoringRuleAssignmentRequest request) {
+        try {
+            gameService.assignScoringRule(eventId, gameId, request.getRule());
+            return ResponseEntity.ok().build();
+        } catch (OptimisticLockingFailureException e) {
+            return ConflictHandler.conflict();
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest()
                     .body(Map.of("message", e.getMessage(), "error", "VALIDATION_ERROR"));
@@ -145,4 +229,11 @@ class UndercoverOutcomeRequest {
     private Long misterWhiteTeamId;
     private Boolean eliminated;
     private Integer eliminatedInRound; // 1, 2 ou 3 si eliminated
-}
\ No newline at end of file
+}
+/**
+ * Règle de score à appliquer à un jeu (nom d'une ScoringRule)
+ */
+@lombok.Data
+class ScoringRuleAssignmentRequest {
+    private String rule;
+}
@@ -0,0 +1,48 @@
+package com.soiree.controller;
+
+import com.soiree.config.CurrentEvent;
+import com.soiree.dto.ImportReport;
+import com.soiree.service.PlayerImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import tools.jackson.core.JacksonException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Map;
+
+/**
+ * Controller REST des inscrits d'une soirée (soirée ciblée par l'en-tête X-Event-Id)
+ */
+@RestController
+@RequestMapping("/api/players")
+@RequiredArgsConstructor
+public class PlayerController {
+
+    private final PlayerImportService playerImportService;
+
+    /**
+     * POST /api/players/import
+     * Importer des inscrits dans le vivier de la soirée, sans les affecter à une équipe
+     * Content-Type text/csv : en-tête name,gender,skill (ou nom;genre;niveau)
+     * Content-Type application/json : [{ "name": "Alice", "gender": "FEMME", "skill": 6 }, ...]
+     * Réponse : { imported, rejected, errors: [{ row, message }], errorsTruncated }
+     */
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<?> importPlayers(@CurrentEvent Long eventId,
+                                           @RequestHeader("Content-Type") MediaType contentType,
+                                           InputStream body) throws IOException {
+        PlayerImportService.Format format = MediaType.APPLICATION_JSON.isCompatibleWith(contentType)
+                ? PlayerImportService.Format.JSON
+                : PlayerImportService.Format.CSV;
+        try {
+            ImportReport report = playerImportService.importPlayers(eventId, body, format);
+            return ResponseEntity.ok(report);
+        } catch (IllegalArgumentException | JacksonException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("message", e.getMessage(), "error", "INVALID_IMPORT"));
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.soiree.controller;
+
+import com.soiree.config.CurrentEvent;
+import com.soiree.dto.TeamStanding;
+import com.soiree.dto.UndoneSubmission;
+import com.soiree.service.ScoreLedgerService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controller REST du journal des scores (soirée ciblée par l'en-tête X-Event-Id)
+ */
+@RestController
+@RequestMapping("/api/scores")
+@RequiredArgsConstructor
+public class ScoreController {
+
+    private final ScoreLedgerService scoreLedger;
+
+    /**
+     * GET /api/scores/standings?at=2025-12-30T23:00:00Z
+     * Classement rejoué depuis le journal, à la date donnée (maintenant si absente)
+     */
+    @GetMapping("/standings")
+    public ResponseEntity<List<TeamStanding>> getStandings(
+            @CurrentEvent Long eventId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant at) {
+        return ResponseEntity.ok(scoreLedger.standingsAt(eventId, at));
+    }
+
+    /**
+     * POST /api/scores/rebuild
+     * Recalculer les points et shots des équipes et joueurs depuis le journal
+     */
+    @PostMapping("/rebuild")
+    public ResponseEntity<List<TeamStanding>> rebuild(@CurrentEvent Long eventId) {
+        return ResponseEntity.ok(scoreLedger.rebuild(eventId));
+    }
+
+    /**
+     * POST /api/scores/undo
+     * Annuler la dernière saisie (résultats d'un jeu, gage, remise à zéro)
+     */
+    @PostMapping("/undo")
+    public ResponseEntity<?> undoLast(@CurrentEvent Long eventId) {
+        try {
+            UndoneSubmission undone = scoreLedger.undoLast(eventId);
+            return ResponseEntity.ok(undone);
+        } catch (IllegalStateException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("message", e.getMessage(), "error", "NOTHING_TO_UNDO"));
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.soiree.controller;
+
+import com.soiree.model.ScoringRule;
+import com.soiree.service.ScoringRules;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controller REST des règles de score (communes à toutes les soirées)
+ * Une règle se crée puis s'attribue à un jeu : PUT /api/games/{gameId}/scoring-rule
+ */
+@RestController
+@RequestMapping("/api/scoring-rules")
+@RequiredArgsConstructor
+public class ScoringRuleController {
+
+    private final ScoringRules scoringRules;
+
+    /**
+     * GET /api/scoring-rules
+     * Lister les règles (classement, mister-white et gage sont fournies)
+     */
+    @GetMapping
+    public ResponseEntity<List<ScoringRule>> getAllRules() {
+        return ResponseEntity.ok(scoringRules.getAll());
+    }
+
+    /**
+     * GET /api/scoring-rules/{name}
+     */
+    @GetMapping("/{name}")
+    public ResponseEntity<?> getRule(@PathVariable String name) {
+        try {
+            return ResponseEntity.ok(scoringRules.get(name));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Map.of("message", e.getMessage(), "error", "RULE_NOT_FOUND"));
+        }
+    }
+
+    /**
+     * POST /api/scoring-rules
+     * Créer une règle (un nom déjà pris répond 409 : une règle ne se modifie pas)
+     * Body : { "name": "podium", "kind": "RANKING", "description": "Podium seulement",
+     *          "points": "5,3,1,0", "pointsStep": 0, "shots": "0,0,1,2", "shotsStep": 1 }
+     */
+    @PostMapping
+    public ResponseEntity<?> createRule(@RequestBody ScoringRule rule) {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(scoringRules.create(rule));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("message", e.getMessage(), "error", "RULE_EXISTS"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body(Map.of("message", e.getMessage(), "error", "VALIDATION_ERROR"));
+        }
+    }
+}
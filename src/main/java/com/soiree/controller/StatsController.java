@@ -0,0 +1,53 @@
+package com.soiree.controller;
+
+import com.soiree.config.CurrentEvent;
+import com.soiree.service.StatisticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * Controller REST des statistiques (soirée ciblée par l'en-tête X-Event-Id)
+ * Lectures servies depuis la mémoire, sans requête
+ */
+@RestController
+@RequestMapping("/api/stats")
+@RequiredArgsConstructor
+public class StatsController {
+
+    private final StatisticsService statisticsService;
+
+    /**
+     * GET /api/stats/teams/{teamId}
+     * Position moyenne, podiums, victoires, points par jeu, shots par type de jeu, séries de podiums
+     */
+    @GetMapping("/teams/{teamId}")
+    public ResponseEntity<?> getTeamStats(@CurrentEvent Long eventId, @PathVariable Long teamId) {
+        try {
+            return ResponseEntity.ok(statisticsService.teamStats(eventId, teamId));
+        } catch (RuntimeException e) {
+            return notFound(e);
+        }
+    }
+
+    /**
+     * GET /api/stats/players/{playerId}
+     * Shots du joueur (total, par type de jeu, par jeu joué) et résultats de son équipe
+     */
+    @GetMapping("/players/{playerId}")
+    public ResponseEntity<?> getPlayerStats(@CurrentEvent Long eventId, @PathVariable Long playerId) {
+        try {
+            return ResponseEntity.ok(statisticsService.playerStats(eventId, playerId));
+        } catch (RuntimeException e) {
+            return notFound(e);
+        }
+    }
+
+    private static ResponseEntity<?> notFound(RuntimeException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(Map.of("message", e.getMessage(), "error", "NOT_FOUND"));
+    }
+}
@@ -0,0 +1,34 @@
+package com.soiree.controller;
+
+import com.soiree.config.CurrentEvent;
+import com.soiree.service.EventService;
+import com.soiree.service.LiveUpdateService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Controller REST pour le flux temps réel (Server-Sent Events)
+ */
+@RestController
+@RequestMapping("/api/stream")
+@RequiredArgsConstructor
+public class StreamController {
+
+    private final LiveUpdateService liveUpdateService;
+    private final EventService eventService;
+
+    /**
+     * GET /api/stream?eventId=1
+     * Flux SSE : "snapshot" (classement complet) à la connexion, puis les changements
+     * (points-changed, shots-distributed, game-completed, roster-changed, teams-recreated, scores-reset,
+     * buzzer-taken, blindtest-updated)
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@CurrentEvent Long eventId) {
+        return liveUpdateService.subscribe(eventService.resolve(eventId));
+    }
+}
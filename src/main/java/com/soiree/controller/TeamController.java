@@ -1,9 +1,11 @@
 package com.soiree.controller;
 
+import com.soiree.config.CurrentEvent;
 import com.soiree.model.Player;
 import com.soiree.model.Team;
 import com.soiree.service.TeamService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -12,6 +14,9 @@ import java.util.List;
 /**
  * Controller REST pour gérer les équipes
  * @CrossOrigin : permet les requêtes depuis Angular
+ * La soirée ciblée est donnée par l'en-tête X-Event-Id (soirée par défaut si absent)
+ * Les lectures portent un ETag (version de la soirée) et répondent 304 à If-None-Match
+ * Accept : JSON par défaut, CBOR ou Smile sur demande (WireFormat)
  */
 @RestController
 @RequestMapping("/api/teams")
@@ -19,27 +24,40 @@ import java.util.List;
 public class TeamController {
 
     private final TeamService teamService;
+    private final ConditionalResponses conditionalResponses;
 
     /**
      * GET /api/teams
-     * Récupérer toutes les équipes triées par points
+     * Récupérer toutes les équipes triées par points (TeamSummary, sans les joueurs)
+     * ?expand=players : équipes avec leurs joueurs
      */
     @GetMapping
-    public ResponseEntity<List<Team>> getAllTeams() {
-        return ResponseEntity.ok(teamService.getAllTeamsSortedByPoints());
+    public ResponseEntity<byte[]> getAllTeams(@CurrentEvent Long eventId,
+                                              @RequestParam(required = false) String expand,
+                                              @RequestHeader HttpHeaders headers) {
+        boolean full = Expand.has(expand, "players");
+        return conditionalResponses.respond(eventId, full ? "teams?expand" : "teams", headers,
+                id -> full ? teamService.getAllTeamsSortedByPoints(id) : teamService.getTeamSummaries(id));
     }
 
     /**
      * POST /api/teams/create
      * Créer des équipes équilibrées
-     * Body : { "players": [...], "numberOfTeams": 4 }
+     * Body : { "players": [...], "numberOfTeams": 4, "seed": 42 }
+     * players[].skill : niveau 0 à 10 (facultatif) ; seed facultatif (même graine = mêmes équipes)
+     * Sans "players" : répartit les inscrits de la soirée (vivier importé via /api/players/import)
      */
     @PostMapping("/create")
-    public ResponseEntity<List<Team>> createTeams(@RequestBody TeamCreationRequest request) {
-        List<Team> teams = teamService.createBalancedTeams(
-                request.getPlayers(),
-                request.getNumberOfTeams()
-        );
+    public ResponseEntity<List<Team>> createTeams(@CurrentEvent Long eventId,
+                                                  @RequestBody TeamCreationRequest request) {
+        List<Team> teams = request.getPlayers() == null
+                ? teamService.createTeamsFromPool(eventId, request.getNumberOfTeams(), request.getSeed())
+                : teamService.createBalancedTeams(
+                        eventId,
+                        request.getPlayers(),
+                        request.getNumberOfTeams(),
+                        request.getSeed()
+                );
         return ResponseEntity.ok(teams);
     }
 
@@ -49,9 +67,10 @@ public class TeamController {
      */
     @PostMapping("/{teamId}/players")
     public ResponseEntity<Team> addPlayer(
+            @CurrentEvent Long eventId,
             @PathVariable Long teamId,
             @RequestBody Player player) {
-        Team team = teamService.addPlayerToTeam(teamId, player);
+        Team team = teamService.addPlayerToTeam(eventId, teamId, player);
         return ResponseEntity.ok(team);
     }
 
@@ -61,9 +80,10 @@ public class TeamController {
      */
     @DeleteMapping("/{teamId}/players/{playerId}")
     public ResponseEntity<Void> removePlayer(
+            @CurrentEvent Long eventId,
             @PathVariable Long teamId,
             @PathVariable Long playerId) {
-        teamService.removePlayerFromTeam(teamId, playerId);
+        teamService.removePlayerFromTeam(eventId, teamId, playerId);
         return ResponseEntity.ok().build();
     }
 
@@ -72,8 +92,8 @@ public class TeamController {
      * Réinitialiser tous les scores
      */
     @PostMapping("/reset")
-    public ResponseEntity<Void> resetScores() {
-        teamService.resetAllScores();
+    public ResponseEntity<Void> resetScores(@CurrentEvent Long eventId) {
+        teamService.resetAllScores(eventId);
         return ResponseEntity.ok().build();
     }
 }
@@ -85,4 +105,5 @@ public class TeamController {
 class TeamCreationRequest {
     private List<Player> players;
     private int numberOfTeams;
+    private Long seed;
 }
\ No newline at end of file
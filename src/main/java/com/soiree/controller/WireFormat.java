@@ -0,0 +1,61 @@
+package com.soiree.controller;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+/**
+ * Formats servis par ConditionalResponses, choisis selon l'en-tête Accept
+ * - JSON : défaut (Accept absent, *\/*, ou aucun format connu)
+ * - CBOR (application/cbor) et Smile (application/x-jackson-smile) : mêmes données en binaire,
+ *   plus compactes et plus rapides à produire pour les écrans qui interrogent l'API en boucle
+ */
+enum WireFormat {
+
+    JSON(MediaType.APPLICATION_JSON, ""),
+    CBOR(MediaType.APPLICATION_CBOR, "cbor"),
+    SMILE(new MediaType("application", "x-jackson-smile"), "smile");
+
+    private final MediaType mediaType;
+    private final String etagSuffix;
+
+    WireFormat(MediaType mediaType, String etagSuffix) {
+        this.mediaType = mediaType;
+        this.etagSuffix = etagSuffix;
+    }
+
+    MediaType mediaType() {
+        return mediaType;
+    }
+
+    /** Distingue les ETags des représentations d'une même version ("" pour JSON) */
+    String etagSuffix() {
+        return etagSuffix;
+    }
+
+    /**
+     * Format de plus haute qualité (q) accepté par le client ; à qualité égale, le premier cité
+     */
+    static WireFormat negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return JSON;
+        }
+        WireFormat best = JSON;
+        double bestQuality = -1;
+        try {
+            for (MediaType type : MediaType.parseMediaTypes(accept)) {
+                for (WireFormat format : values()) {
+                    if (type.includes(format.mediaType)) {
+                        if (type.getQualityValue() > bestQuality) {
+                            best = format;
+                            bestQuality = type.getQualityValue();
+                        }
+                        break;
+                    }
+                }
+            }
+        } catch (InvalidMediaTypeException e) {
+            return JSON;
+        }
+        return bestQuality > 0 ? best : JSON;
+    }
+}
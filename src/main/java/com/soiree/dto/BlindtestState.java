@@ -0,0 +1,35 @@
+package com.soiree.dto;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * État d'une manche de Blindtest (écran de l'animateur)
+ * song : numéro de la chanson (0 avant la première) ; holderTeamId : équipe qui a la main, null si personne ;
+ * lockedOut : équipes écartées de la chanson (mauvaise réponse) ;
+ * tied : groupes d'équipes encore à égalité (points et départage), le mieux classé d'abord
+ */
+public record BlindtestState(
+        Long gameId,
+        int song,
+        boolean songOpen,
+        boolean tieBreak,
+        Long holderTeamId,
+        Set<Long> lockedOut,
+        List<Standing> standings,
+        List<List<Long>> tied) {
+
+    /**
+     * Classement provisoire ; tieBreakPoints : points des chansons de départage (ne comptent qu'entre équipes
+     * à égalité) ; meanReactionMillis : temps moyen des bonnes réponses (null sans bonne réponse)
+     */
+    public record Standing(
+            int position,
+            Long teamId,
+            double points,
+            double tieBreakPoints,
+            int correct,
+            int wrong,
+            Double meanReactionMillis) {
+    }
+}
@@ -0,0 +1,10 @@
+package com.soiree.dto;
+
+/**
+ * Règles d'un jeu (GET /api/games/{id}/rules), servies à part de la liste des jeux
+ */
+public record GameRules(
+        Long gameId,
+        String name,
+        String rules) {
+}
@@ -0,0 +1,16 @@
+package com.soiree.dto;
+
+import com.soiree.model.Game;
+
+/**
+ * Vue compacte d'un jeu (sans la description de 1000 caractères)
+ * Construite directement par la requête JPQL (select new ...)
+ */
+public record GameSummary(
+        Long id,
+        String name,
+        int order,
+        Game.GameType type,
+        boolean completed,
+        String scoringRule) {
+}
@@ -0,0 +1,14 @@
+package com.soiree.dto;
+
+import java.util.List;
+
+/**
+ * Bilan d'un import de joueurs : lignes importées, lignes rejetées et leurs erreurs
+ * errorsTruncated : plus d'erreurs que app.import.max-errors, seules les premières sont listées
+ */
+public record ImportReport(int imported, int rejected, List<RowError> errors, boolean errorsTruncated) {
+
+    /** row : numéro de ligne du CSV (en-tête = 1) ou position dans le tableau JSON (à partir de 1) */
+    public record RowError(int row, String message) {
+    }
+}
@@ -0,0 +1,7 @@
+package com.soiree.dto;
+
+/**
+ * Journal des scores d'une soirée : dernière position attribuée et position couverte par le dernier snapshot
+ */
+public record LedgerPosition(long seq, long snapshotSeq) {
+}
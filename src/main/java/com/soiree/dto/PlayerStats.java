@@ -0,0 +1,19 @@
+package com.soiree.dto;
+
+import com.soiree.model.Game;
+
+import java.util.Map;
+
+/**
+ * Statistiques d'un joueur : ses shots (par type de jeu) et les résultats de son équipe actuelle
+ * teamId null : joueur inscrit mais pas encore dans une équipe
+ */
+public record PlayerStats(
+        Long playerId,
+        Long teamId,
+        int shots,
+        Map<Game.GameType, Integer> shotsByGameType,
+        int teamGamesPlayed,
+        double teamMeanPosition,
+        double shotsPerGame) {
+}
@@ -0,0 +1,16 @@
+package com.soiree.dto;
+
+/**
+ * Ligne de résultat à plat : le résultat et l'essentiel de l'équipe, sans ses joueurs
+ * Construite directement par la requête JPQL (select new ...)
+ */
+public record ResultRow(
+        Long id,
+        Long gameId,
+        Long teamId,
+        String teamName,
+        String teamColor,
+        int position,
+        int pointsEarned,
+        boolean drankShot) {
+}
@@ -0,0 +1,8 @@
+package com.soiree.dto;
+
+/**
+ * Shots cumulés d'un jeu depuis le journal des scores
+ * playerId null : shots de l'équipe ; sinon shots du joueur
+ */
+public record ShotTotal(Long teamId, Long playerId, Long gameId, long shots) {
+}
@@ -0,0 +1,55 @@
+package com.soiree.dto;
+
+import com.soiree.model.Player;
+import com.soiree.model.Team;
+
+import java.util.List;
+
+/**
+ * Ligne immuable du classement : copie détachée d'une équipe et de ses joueurs
+ * (même forme JSON qu'une Team, plus le rang)
+ */
+public record TeamStanding(
+        Long id,
+        String name,
+        String color,
+        int totalPoints,
+        int shotsCount,
+        int rank,
+        List<PlayerStanding> players) {
+
+    /**
+     * Copier l'état courant d'une équipe (à appeler dans la transaction, joueurs chargés)
+     */
+    public static TeamStanding of(Team team) {
+        List<PlayerStanding> players = team.getPlayers().stream()
+                .map(PlayerStanding::of)
+                .toList();
+        return new TeamStanding(team.getId(), team.getName(), team.getColor(),
+                team.getTotalPoints(), team.getShotsCount(), 0, players);
+    }
+
+    /**
+     * Même équipe, points et shots à zéro (joueurs compris)
+     */
+    public TeamStanding withoutScores() {
+        return new TeamStanding(id, name, color, 0, 0, rank, players.stream()
+                .map(p -> new PlayerStanding(p.id(), p.name(), p.gender(), 0))
+                .toList());
+    }
+
+    public TeamStanding withRank(int rank) {
+        return rank == this.rank ? this
+                : new TeamStanding(id, name, color, totalPoints, shotsCount, rank, players);
+    }
+
+    /**
+     * Joueur dans une ligne de classement
+     */
+    public record PlayerStanding(Long id, String name, Player.Gender gender, int shotsCount) {
+
+        public static PlayerStanding of(Player player) {
+            return new PlayerStanding(player.getId(), player.getName(), player.getGender(), player.getShotsCount());
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.soiree.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.soiree.model.Game;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Statistiques d'une équipe sur la soirée (résultats enregistrés, hors points bonus des gages)
+ * - podiums : places 1 à 3 ; séries : podiums consécutifs dans l'ordre de saisie
+ * - shotsByGameType : shots distribués à l'équipe par type de jeu
+ * Les moyennes sont dérivées des compteurs entiers : deux calculs identiques donnent des valeurs égales.
+ */
+public record TeamStats(
+        Long teamId,
+        int gamesPlayed,
+        @JsonIgnore int positionSum,
+        double meanPosition,
+        int podiums,
+        int wins,
+        int points,
+        double pointsPerGame,
+        int shots,
+        Map<Game.GameType, Integer> shotsByGameType,
+        int currentPodiumStreak,
+        int bestPodiumStreak) {
+
+    public static final int PODIUM = 3;
+
+    public static TeamStats empty(Long teamId) {
+        return of(teamId, 0, 0, 0, 0, 0, new EnumMap<>(Game.GameType.class), 0, 0);
+    }
+
+    private static TeamStats of(Long teamId, int games, int positionSum, int podiums, int wins, int points,
+                                EnumMap<Game.GameType, Integer> shotsByGameType, int currentStreak, int bestStreak) {
+        int shots = shotsByGameType.values().stream().mapToInt(Integer::intValue).sum();
+        return new TeamStats(teamId, games, positionSum,
+                games == 0 ? 0 : (double) positionSum / games,
+                podiums, wins, points,
+                games == 0 ? 0 : (double) points / games,
+                shots, Collections.unmodifiableMap(shotsByGameType), currentStreak, bestStreak);
+    }
+
+    /**
+     * Statistiques après un résultat supplémentaire
+     */
+    public TeamStats withResult(int position, int pointsEarned) {
+        boolean podium = position <= PODIUM;
+        int streak = podium ? currentPodiumStreak + 1 : 0;
+        return of(teamId, gamesPlayed + 1, positionSum + position,
+                podiums + (podium ? 1 : 0), wins + (position == 1 ? 1 : 0), points + pointsEarned,
+                new EnumMap<>(shotsOrEmpty()), streak, Math.max(bestPodiumStreak, streak));
+    }
+
+    /**
+     * Statistiques après des shots supplémentaires sur un jeu du type donné
+     */
+    public TeamStats withShots(Game.GameType type, int count) {
+        EnumMap<Game.GameType, Integer> byType = new EnumMap<>(shotsOrEmpty());
+        byType.merge(type, count, Integer::sum);
+        byType.values().removeIf(value -> value == 0);
+        return of(teamId, gamesPlayed, positionSum, podiums, wins, points, byType,
+                currentPodiumStreak, bestPodiumStreak);
+    }
+
+    private Map<Game.GameType, Integer> shotsOrEmpty() {
+        return shotsByGameType.isEmpty() ? new EnumMap<>(Game.GameType.class) : shotsByGameType;
+    }
+}
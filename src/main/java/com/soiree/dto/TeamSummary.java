@@ -0,0 +1,19 @@
+package com.soiree.dto;
+
+/**
+ * Vue compacte d'une équipe pour le classement (sans la liste des joueurs)
+ */
+public record TeamSummary(
+        Long id,
+        String name,
+        String color,
+        int totalPoints,
+        int shotsCount,
+        int rank,
+        int playerCount) {
+
+    public static TeamSummary of(TeamStanding standing) {
+        return new TeamSummary(standing.id(), standing.name(), standing.color(),
+                standing.totalPoints(), standing.shotsCount(), standing.rank(), standing.players().size());
+    }
+}
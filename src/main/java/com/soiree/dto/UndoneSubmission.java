@@ -0,0 +1,11 @@
+package com.soiree.dto;
+
+import com.soiree.model.ScoreEvent;
+
+import java.util.UUID;
+
+/**
+ * Saisie annulée : nature, jeu concerné et nombre de mouvements inversés
+ */
+public record UndoneSubmission(UUID submission, ScoreEvent.Kind kind, Long gameId, int movements) {
+}
@@ -0,0 +1,54 @@
+package com.soiree.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Représente une soirée : jeux, équipes, joueurs et résultats lui appartiennent.
+ * Plusieurs soirées peuvent se dérouler en parallèle sur la même instance.
+ */
+@Entity
+@Table(name = "soiree_event")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Event {
+
+    /** Nom de la soirée utilisée quand le client n'en précise pas */
+    public static final String DEFAULT_NAME = "Soirée";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "soiree_event_seq")
+    @SequenceGenerator(name = "soiree_event_seq", sequenceName = "soiree_event_seq", allocationSize = 1)
+    private Long id;
+
+    private String name;
+
+    private Instant createdAt;
+
+    // Journal des scores : dernière position attribuée, position du dernier snapshot et position
+    // à la dernière initialisation des jeux (les saisies antérieures ne s'annulent plus et ne comptent plus par jeu)
+    // Modifiés uniquement par requête (EventRepository.reserveLedgerSeq / markLedgerSnapshot / closeLedgerGames),
+    // jamais via l'entité
+    @JsonIgnore
+    @Column(updatable = false)
+    private long ledgerSeq;
+
+    @JsonIgnore
+    @Column(updatable = false)
+    private long ledgerSnapshotSeq;
+
+    @JsonIgnore
+    @Column(updatable = false)
+    private long ledgerGamesSeq;
+
+    public Event(String name) {
+        this.name = name;
+        this.createdAt = Instant.now();
+    }
+}
@@ -4,6 +4,9 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 
 import java.util.ArrayList;
@@ -13,15 +16,23 @@ import java.util.List;
  * Représente un jeu durant la soirée
  */
 @Entity
+@Table(indexes = @Index(name = "idx_game_event", columnList = "event_id"))
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "game") // quasi jamais modifié après initializeGames
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Game {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "game_seq")
+    @SequenceGenerator(name = "game_seq", sequenceName = "game_seq", allocationSize = 50)
     private Long id;
 
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "event_id")
+    @JsonIgnore
+    private Event event;
+
     private String name;
 
     @Column(length = 1000)
@@ -35,18 +46,28 @@ public class Game {
 
     private boolean completed; // Jeu terminé ou non
 
+    // Nom de la règle de score (ScoringRule), règle par défaut si null
+    @Column(name = "scoring_rule", length = 100)
+    private String scoringRule;
+
+    // Verrou optimiste : deux saisies concurrentes ne s'additionnent pas (la seconde échoue en 409)
+    @Version
+    @JsonIgnore
+    private Long version;
+
     @OneToMany(mappedBy = "game", cascade = CascadeType.ALL, orphanRemoval = true)
     @JsonManagedReference
     private List<GameResult> results = new ArrayList<>();
 
     /**
-     * Constructeur utilisé dans GameService.initializeGames()
+     * Constructeur utilisé par le catalogue des jeux (GameCatalogue)
      */
-    public Game(String name, String description, int order, GameType type) {
+    public Game(String name, String description, int order, GameType type, String scoringRule) {
         this.name = name;
         this.description = description;
         this.order = order;
         this.type = type;
+        this.scoringRule = scoringRule;
         this.completed = false;
         this.results = new ArrayList<>();
     }
@@ -10,21 +10,33 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
  * Représente le résultat d'une équipe pour un jeu spécifique
  */
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_game_result_event", columnList = "event_id"),
+        @Index(name = "idx_game_result_game_position", columnList = "game_id, position"),
+        @Index(name = "idx_game_result_team_game", columnList = "team_id, game_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class GameResult {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "game_result_seq")
+    @SequenceGenerator(name = "game_result_seq", sequenceName = "game_result_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "event_id")
+    @JsonIgnore
+    private Event event;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "game_id")
     @JsonIgnore
     private Game game;
 
-    @ManyToOne
+    // Chargée par @EntityGraph quand elle est sérialisée (GameResultRepository)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "team_id")
     private Team team;
 
@@ -34,41 +46,19 @@ public class GameResult {
 
     private boolean drankShot;
 
-    // Constructeur pratique (points selon position : 1er=4, 2e=3, 3e=2, 4e=1)
-    public GameResult(Game game, Team team, int position) {
-        this.game = game;
-        this.team = team;
-        this.position = position;
-        this.pointsEarned = calculatePoints(position);
-        this.drankShot = (position > 1);
-    }
+    // Shots dus par l'équipe pour ce résultat (règle du jeu au moment de la saisie)
+    private int shotsCount;
 
-    /** Constructeur avec points explicites (ex. Whisky Undercover) */
-    public GameResult(Game game, Team team, int position, int pointsEarned) {
+    /**
+     * Points et shots calculés par la règle de score du jeu (CompiledScoringRule)
+     */
+    public GameResult(Game game, Team team, int position, int pointsEarned, int shotsCount) {
+        this.event = game.getEvent();
         this.game = game;
         this.team = team;
         this.position = position;
         this.pointsEarned = pointsEarned;
-        this.drankShot = (position > 1);
-    }
-
-    /**
-     * Shots à boire : 1er = 0, 2ème = 1, 3ème = 2, 4ème = 3, etc.
-     */
-    public int getShotsCount() {
-        return Math.max(0, position - 1);
-    }
-
-    /**
-     * Points selon la position : 1er = 4, 2e = 3, 3e = 2, 4e = 1, 5e+ = 0
-     */
-    private int calculatePoints(int position) {
-        return switch (position) {
-            case 1 -> 4;
-            case 2 -> 3;
-            case 3 -> 2;
-            case 4 -> 1;
-            default -> 0;
-        };
+        this.shotsCount = shotsCount;
+        this.drankShot = shotsCount > 0;
     }
 }
@@ -4,33 +4,49 @@ import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 /**
  * Représente un joueur participant à la soirée jeux
  */
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_player_event", columnList = "event_id"),
+        @Index(name = "idx_player_team", columnList = "team_id")
+})
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "player") // éléments de Team.players (en cache)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Player {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "player_seq")
+    @SequenceGenerator(name = "player_seq", sequenceName = "player_seq", allocationSize = 50)
     private Long id;
 
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "event_id")
+    @JsonIgnore
+    private Event event;
+
     private String name;
 
     @Enumerated(EnumType.STRING)
     private Gender gender;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "team_id")
     @JsonBackReference
     private Team team;
 
     private int shotsCount = 0; // Nombre de shots bus par ce joueur
 
+    private int skill = 0; // Niveau estimé (0 à 10) pris en compte pour équilibrer les équipes
+
     public Player(String name, Gender gender) {
         this.name = name;
         this.gender = gender;
@@ -0,0 +1,101 @@
+package com.soiree.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Mouvement de score, en ajout seul : source de vérité des points et des shots.
+ * Les compteurs de Team et Player n'en sont qu'une projection (reconstructible par rejeu).
+ * Une saisie (résultats d'un jeu, gage, remise à zéro...) produit plusieurs mouvements
+ * partageant le même identifiant de saisie ; l'annuler ajoute les mouvements inverses.
+ *
+ * Les identifiants équipe / joueur / jeu / résultat sont de simples colonnes :
+ * l'historique survit aux suppressions.
+ *
+ * Ordre du journal : seq, attribué sous le verrou de la soirée (ScoreLedgerService), donc dans l'ordre des commits.
+ * L'identifiant vient d'une séquence réservée par blocs de 50 : il ne suit pas cet ordre.
+ */
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_score_event_event", columnList = "event_id, seq"),
+        @Index(name = "idx_score_event_submission", columnList = "submission"),
+        @Index(name = "idx_score_event_reverts", columnList = "reverts"),
+        @Index(name = "idx_score_event_game", columnList = "event_id, game_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScoreEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "score_event_seq")
+    @SequenceGenerator(name = "score_event_seq", sequenceName = "score_event_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "event_id")
+    @JsonIgnore
+    private Event event;
+
+    // Position dans le journal de la soirée (1, 2, 3... sans trou)
+    private long seq;
+
+    // Saisie d'origine (tous les mouvements d'un même enregistrement)
+    private UUID submission;
+
+    @Enumerated(EnumType.STRING)
+    private Kind kind;
+
+    @Enumerated(EnumType.STRING)
+    private Type type;
+
+    private Long gameId;
+
+    private Long teamId;
+
+    private Long playerId;
+
+    // Résultat créé par cette saisie (supprimé si elle est annulée)
+    private Long resultId;
+
+    private int delta;
+
+    // Saisie annulée par ce mouvement (kind = UNDO)
+    private UUID reverts;
+
+    private Instant recordedAt;
+
+    /**
+     * Mouvement inverse, pour annuler une saisie
+     */
+    public ScoreEvent revert(UUID undoSubmission, long seq, Instant at) {
+        return new ScoreEvent(null, event, seq, undoSubmission, Kind.UNDO, type, gameId, teamId, playerId,
+                resultId, -delta, submission, at);
+    }
+
+    /**
+     * Nature de la saisie
+     */
+    public enum Kind {
+        GAME_RESULT,
+        UNDERCOVER,
+        GAGE_BONUS,
+        RESET,
+        UNDO
+    }
+
+    /**
+     * Compteur modifié
+     */
+    public enum Type {
+        TEAM_POINTS,
+        TEAM_SHOTS,
+        PLAYER_SHOTS
+    }
+}
@@ -0,0 +1,54 @@
+package com.soiree.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Totaux d'une soirée jusqu'au mouvement de position lastSeq (ScoreEvent.seq) inclus :
+ * le rejeu part du dernier snapshot et n'applique que les mouvements suivants
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_score_snapshot_event", columnList = "event_id, last_seq"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScoreSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "score_snapshot_seq")
+    @SequenceGenerator(name = "score_snapshot_seq", sequenceName = "score_snapshot_seq", allocationSize = 1)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "event_id")
+    private Event event;
+
+    private long lastSeq;
+
+    // Date du dernier mouvement inclus
+    private Instant takenAt;
+
+    @ElementCollection
+    @CollectionTable(name = "score_snapshot_line", joinColumns = @JoinColumn(name = "snapshot_id"))
+    private List<Line> lines = new ArrayList<>();
+
+    /**
+     * Total d'une équipe (playerId null) ou d'un joueur
+     */
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Line {
+        private Long teamId;
+        private Long playerId;
+        private int points;
+        private int shots;
+    }
+}
@@ -0,0 +1,52 @@
+package com.soiree.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * Règle de score d'un jeu : tables de points et de shots, en données
+ * (compilée par ScoringRules, jamais modifiée après création)
+ *
+ * Selon le type :
+ * - RANKING : points et shots par position (1re, 2e...) ; au-delà de la table, dernière valeur + step par place
+ * - MISTER_WHITE : 4 valeurs [équipe de Mister White si éliminé, autres si éliminé,
+ *   équipe de Mister White sinon, autres sinon]
+ * - BONUS : points libres (table vide) ou limités aux valeurs de la table ; pas de shots
+ */
+@Entity
+@Immutable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScoringRule {
+
+    /** Règle des jeux sans règle explicite */
+    public static final String DEFAULT_NAME = "classement";
+
+    @Id
+    @Column(length = 100)
+    private String name;
+
+    @Enumerated(EnumType.STRING)
+    private Kind kind;
+
+    private String description;
+
+    // Valeurs séparées par des virgules, ex. "4,3,2,1,0"
+    private String points;
+
+    private int pointsStep;
+
+    private String shots;
+
+    private int shotsStep;
+
+    public enum Kind {
+        RANKING,
+        MISTER_WHITE,
+        BONUS
+    }
+}
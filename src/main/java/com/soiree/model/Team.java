@@ -4,6 +4,9 @@ import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import java.util.ArrayList;
 import java.util.List;
@@ -13,15 +16,23 @@ import java.util.List;
  * @Data : Lombok génère automatiquement getters, setters, toString, equals, hashCode
  */
 @Entity
+@Table(indexes = @Index(name = "idx_team_event", columnList = "event_id"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Team {
 
+    // SEQUENCE (et non IDENTITY) : Hibernate peut regrouper les INSERT en batch JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "team_seq")
+    @SequenceGenerator(name = "team_seq", sequenceName = "team_seq", allocationSize = 50)
     private Long id;
 
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "event_id")
+    @JsonIgnore
+    private Event event;
+
     private String name;
 
     private String color; // Couleur pour l'interface (ex: "#FF5733")
@@ -30,7 +41,16 @@ public class Team {
 
     private int shotsCount; // Nombre de shots bus
 
+    // Verrou optimiste : deux saisies concurrentes ne s'additionnent pas (la seconde échoue en 409)
+    @Version
+    @JsonIgnore
+    private Long version;
+
+    // Composition en cache (identifiants ; les joueurs eux-mêmes sont dans la région "player")
+    // Sans verrou souple : la recréation des équipes vide la région (DELETE en masse des joueurs)
+    // dans la même transaction que la mise en cache des nouvelles compositions
     @OneToMany(mappedBy = "team", cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE, region = "team-players")
     @JsonManagedReference
     private List<Player> players = new ArrayList<>();
 
@@ -62,6 +82,7 @@ public class Team {
     public void addPlayer(Player player) {
         players.add(player);
         player.setTeam(this);
+        player.setEvent(event);
     }
 
     // Méthode pour retirer un joueur
@@ -0,0 +1,44 @@
+package com.soiree.repository;
+
+import com.soiree.dto.LedgerPosition;
+import com.soiree.model.Event;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository pour gérer les soirées
+ */
+@Repository
+public interface EventRepository extends JpaRepository<Event, Long> {
+
+    Optional<Event> findFirstByNameOrderByIdAsc(String name);
+
+    List<Event> findAllByOrderByIdAsc();
+
+    // Journal des scores : réserver des positions ; l'UPDATE verrouille la ligne de la soirée jusqu'au commit
+    @Modifying
+    @Query("update Event e set e.ledgerSeq = e.ledgerSeq + :count where e.id = :id")
+    int reserveLedgerSeq(@Param("id") Long id, @Param("count") long count);
+
+    // Lu en base (pas depuis une entité Event déjà chargée dans la transaction)
+    @Query("select new com.soiree.dto.LedgerPosition(e.ledgerSeq, e.ledgerSnapshotSeq) from Event e where e.id = :id")
+    LedgerPosition findLedgerPosition(@Param("id") Long id);
+
+    @Modifying
+    @Query("update Event e set e.ledgerSnapshotSeq = :seq where e.id = :id")
+    int markLedgerSnapshot(@Param("id") Long id, @Param("seq") long seq);
+
+    // Jeux réinitialisés : le journal jusqu'ici est clos (verrouille aussi la ligne de la soirée)
+    @Modifying
+    @Query("update Event e set e.ledgerGamesSeq = e.ledgerSeq where e.id = :id")
+    int closeLedgerGames(@Param("id") Long id);
+
+    // Soirée précédente (dernière créée avant celle-ci)
+    Optional<Event> findFirstByIdLessThanOrderByIdDesc(Long id);
+}
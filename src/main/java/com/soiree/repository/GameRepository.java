@@ -1,9 +1,19 @@
 package com.soiree.repository;
 
+import com.soiree.dto.GameSummary;
 import com.soiree.model.Game;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository pour gérer les jeux
@@ -11,7 +21,34 @@ import java.util.List;
 @Repository
 public interface GameRepository extends JpaRepository<Game, Long> {
 
+    String GAME_LIST_REGION = "game-list";
+
     // Méthode personnalisée : Spring génère automatiquement la requête SQL
     // à partir du nom de la méthode
-    List<Game> findAllByOrderByOrderAsc();
+    // Cache de requêtes (région game-list) : identifiants en cache, jeux lus dans la région "game" ;
+    // invalidé par Hibernate à chaque écriture sur la table game
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = GAME_LIST_REGION)})
+    List<Game> findByEventIdOrderByOrderAsc(Long eventId);
+
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = AvailableHints.HINT_CACHE_REGION, value = GAME_LIST_REGION)})
+    Optional<Game> findByIdAndEventId(Long id, Long eventId);
+
+    // Saisie de résultats : la version du jeu est incrémentée au commit même s'il ne change pas,
+    // deux saisies concurrentes sur le même jeu ne peuvent donc pas toutes deux aboutir
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("select g from Game g where g.id = :id and g.event.id = :eventId")
+    Optional<Game> findForResultsByIdAndEventId(@Param("id") Long id, @Param("eventId") Long eventId);
+
+    // Projection : une requête, sans la colonne description
+    @Query("select new com.soiree.dto.GameSummary(g.id, g.name, g.order, g.type, g.completed, g.scoringRule) "
+            + "from Game g where g.event.id = :eventId order by g.order")
+    List<GameSummary> findSummariesByEventId(@Param("eventId") Long eventId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Game g where g.event.id = :eventId")
+    int deleteByEventId(@Param("eventId") Long eventId);
 }
@@ -1,7 +1,12 @@
 package com.soiree.repository;
 
+import com.soiree.dto.ResultRow;
 import com.soiree.model.GameResult;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 
@@ -11,9 +16,31 @@ import java.util.List;
 @Repository
 public interface GameResultRepository extends JpaRepository<GameResult, Long> {
 
-    // Trouver tous les résultats d'un jeu spécifique
-    List<GameResult> findByGameId(Long gameId);
+    // Résultats complets d'un jeu (dans une soirée) : équipes et joueurs chargés dans la même requête,
+    // la sérialisation ne déclenche aucune requête par résultat
+    @EntityGraph(attributePaths = {"team", "team.players"})
+    List<GameResult> findByEventIdAndGameId(Long eventId, Long gameId);
 
-    // Trouver tous les résultats d'une équipe
-    List<GameResult> findByTeamId(Long teamId);
-}
\ No newline at end of file
+    // Trouver tous les résultats d'une équipe (dans une soirée), même graphe
+    @EntityGraph(attributePaths = {"team", "team.players"})
+    List<GameResult> findByEventIdAndTeamId(Long eventId, Long teamId);
+
+    // Projections : résultat + équipe en une seule requête (jointure), sans les joueurs
+    @Query("select new com.soiree.dto.ResultRow(r.id, r.game.id, t.id, t.name, t.color, r.position, r.pointsEarned, r.drankShot) "
+            + "from GameResult r join r.team t where r.event.id = :eventId and r.game.id = :gameId order by r.position")
+    List<ResultRow> findRowsByGame(@Param("eventId") Long eventId, @Param("gameId") Long gameId);
+
+    // Filtre sur la clé étrangère du résultat (r.team_id) : index (team_id, game_id)
+    @Query("select new com.soiree.dto.ResultRow(r.id, r.game.id, t.id, t.name, t.color, r.position, r.pointsEarned, r.drankShot) "
+            + "from GameResult r join r.team t where r.event.id = :eventId and r.team.id = :teamId order by r.id")
+    List<ResultRow> findRowsByTeam(@Param("eventId") Long eventId, @Param("teamId") Long teamId);
+
+    // Tous les résultats d'une soirée dans l'ordre de saisie (recalcul des statistiques)
+    @Query("select new com.soiree.dto.ResultRow(r.id, r.game.id, t.id, t.name, t.color, r.position, r.pointsEarned, r.drankShot) "
+            + "from GameResult r join r.team t where r.event.id = :eventId order by r.id")
+    List<ResultRow> findRowsByEvent(@Param("eventId") Long eventId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from GameResult r where r.event.id = :eventId")
+    int deleteByEventId(@Param("eventId") Long eventId);
+}
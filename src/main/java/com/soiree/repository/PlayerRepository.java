@@ -2,11 +2,31 @@ package com.soiree.repository;
 
 import com.soiree.model.Player;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+import java.util.Optional;
+
 /**
  * Repository pour gérer les joueurs
  */
 @Repository
 public interface PlayerRepository extends JpaRepository<Player, Long> {
-}
\ No newline at end of file
+
+    Optional<Player> findByIdAndEventId(Long id, Long eventId);
+
+    // Tous les joueurs inscrits à la soirée, dans l'ordre d'inscription (avec ou sans équipe)
+    List<Player> findByEventIdOrderByIdAsc(Long eventId);
+
+    // Shots des joueurs de la soirée à zéro en une requête (remise à zéro des scores)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Player p set p.shotsCount = 0 where p.event.id = :eventId and p.shotsCount <> 0")
+    int resetShotsByEventId(@Param("eventId") Long eventId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Player p where p.event.id = :eventId")
+    int deleteByEventId(@Param("eventId") Long eventId);
+}
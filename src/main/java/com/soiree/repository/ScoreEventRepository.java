@@ -0,0 +1,59 @@
+package com.soiree.repository;
+
+import com.soiree.dto.ShotTotal;
+import com.soiree.model.ScoreEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository du journal des scores (ajout seul, hors suppression d'une soirée)
+ */
+@Repository
+public interface ScoreEventRepository extends JpaRepository<ScoreEvent, Long> {
+
+    // Position du journal à la dernière initialisation des jeux (EventRepository.closeLedgerGames)
+    String GAMES_SEQ = "(select g.ledgerGamesSeq from Event g where g.id = :eventId) ";
+
+    // Queue du journal après un snapshot (positions seq, dans l'ordre des commits)
+    List<ScoreEvent> findByEventIdAndSeqGreaterThanOrderBySeqAsc(Long eventId, long afterSeq);
+
+    // Queue du journal après un snapshot, jusqu'à une date
+    List<ScoreEvent> findByEventIdAndSeqGreaterThanAndRecordedAtLessThanEqualOrderBySeqAsc(
+            Long eventId, long afterSeq, Instant at);
+
+    List<ScoreEvent> findBySubmissionOrderByIdAsc(UUID submission);
+
+    // Saisies pas encore annulées depuis la dernière initialisation des jeux, la plus récente d'abord
+    @Query("select e.submission from ScoreEvent e where e.event.id = :eventId and e.seq > " + GAMES_SEQ
+            + "and e.kind <> com.soiree.model.ScoreEvent.Kind.UNDO "
+            + "and not exists (select u.id from ScoreEvent u where u.reverts = e.submission) "
+            + "group by e.submission order by max(e.seq) desc")
+    List<UUID> findUndoableSubmissions(@Param("eventId") Long eventId, Pageable pageable);
+
+    // Une autre saisie encore active porte-t-elle sur ce jeu (depuis la dernière initialisation des jeux) ?
+    @Query("select count(e) > 0 from ScoreEvent e where e.event.id = :eventId and e.gameId = :gameId "
+            + "and e.seq > " + GAMES_SEQ
+            + "and e.submission <> :excluded and e.kind <> com.soiree.model.ScoreEvent.Kind.UNDO "
+            + "and not exists (select u.id from ScoreEvent u where u.reverts = e.submission)")
+    boolean existsActiveForGame(@Param("eventId") Long eventId, @Param("gameId") Long gameId,
+                                @Param("excluded") UUID excluded);
+
+    // Shots nets par jeu, équipe et joueur depuis la dernière initialisation des jeux (annulations comprises)
+    @Query("select new com.soiree.dto.ShotTotal(e.teamId, e.playerId, e.gameId, sum(e.delta)) from ScoreEvent e "
+            + "where e.event.id = :eventId and e.gameId is not null and e.seq > " + GAMES_SEQ
+            + "and e.type in (com.soiree.model.ScoreEvent.Type.TEAM_SHOTS, com.soiree.model.ScoreEvent.Type.PLAYER_SHOTS) "
+            + "group by e.teamId, e.playerId, e.gameId")
+    List<ShotTotal> sumShotsByGame(@Param("eventId") Long eventId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from ScoreEvent e where e.event.id = :eventId")
+    int deleteByEventId(@Param("eventId") Long eventId);
+}
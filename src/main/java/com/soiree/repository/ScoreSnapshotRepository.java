@@ -0,0 +1,44 @@
+package com.soiree.repository;
+
+import com.soiree.model.ScoreSnapshot;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Repository des snapshots de scores
+ */
+@Repository
+public interface ScoreSnapshotRepository extends JpaRepository<ScoreSnapshot, Long> {
+
+    Optional<ScoreSnapshot> findFirstByEventIdOrderByLastSeqDesc(Long eventId);
+
+    Optional<ScoreSnapshot> findFirstByEventIdAndTakenAtLessThanEqualOrderByLastSeqDesc(
+            Long eventId, Instant at);
+
+    // Suppression en masse : lignes des snapshots puis snapshots, une requête par table
+    // (un DELETE JPQL ne parcourt pas les @ElementCollection)
+    // Table touchée déclarée : sans elle, Hibernate vide toutes les régions du cache de second niveau
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "score_snapshot_line"))
+    @Query(value = "delete from score_snapshot_line where snapshot_id in "
+            + "(select id from score_snapshot where event_id = :eventId)", nativeQuery = true)
+    int deleteLinesByEventId(@Param("eventId") Long eventId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from ScoreSnapshot s where s.event.id = :eventId")
+    int deleteSnapshotsByEventId(@Param("eventId") Long eventId);
+
+    default void deleteByEventId(Long eventId) {
+        deleteLinesByEventId(eventId);
+        deleteSnapshotsByEventId(eventId);
+    }
+}
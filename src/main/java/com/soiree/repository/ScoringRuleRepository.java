@@ -0,0 +1,16 @@
+package com.soiree.repository;
+
+import com.soiree.model.ScoringRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository des règles de score (communes à toutes les soirées)
+ */
+@Repository
+public interface ScoringRuleRepository extends JpaRepository<ScoringRule, String> {
+
+    List<ScoringRule> findAllByOrderByNameAsc();
+}
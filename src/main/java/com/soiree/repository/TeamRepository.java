@@ -1,9 +1,16 @@
-
 package com.soiree.repository;
 
 import com.soiree.model.Team;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository pour gérer les équipes
@@ -12,8 +19,36 @@ import org.springframework.stereotype.Repository;
  * - findAll() : récupérer toutes les équipes
  * - findById() : trouver par ID
  * - delete() : supprimer
+ * Les méthodes métier sont limitées à une soirée (event_id).
  */
 @Repository
 public interface TeamRepository extends JpaRepository<Team, Long> {
 
-}
\ No newline at end of file
+    // Toutes les équipes de toutes les soirées avec leurs joueurs (reconstruction du classement)
+    @EntityGraph(attributePaths = "players")
+    @Query("select t from Team t")
+    List<Team> findAllWithPlayers();
+
+    // Les équipes d'une soirée avec leurs joueurs en une seule requête (graphe : left join fetch)
+    @EntityGraph(attributePaths = "players")
+    @Query("select t from Team t where t.event.id = :eventId")
+    List<Team> findAllWithPlayersByEventId(@Param("eventId") Long eventId);
+
+    Optional<Team> findByIdAndEventId(Long id, Long eventId);
+
+    // Remise à zéro : équipes verrouillées jusqu'au commit, une saisie concurrente attend puis échoue en 409
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from Team t where t.event.id = :eventId")
+    List<Team> lockAllByEventId(@Param("eventId") Long eventId);
+
+    // Remise à zéro en une requête ; version incrémentée comme par une écriture unitaire
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Team t set t.totalPoints = 0, t.shotsCount = 0, t.version = t.version + 1 "
+            + "where t.event.id = :eventId")
+    int resetScoresByEventId(@Param("eventId") Long eventId);
+
+    // Suppression en masse : une seule requête DELETE pour la soirée
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Team t where t.event.id = :eventId")
+    int deleteByEventId(@Param("eventId") Long eventId);
+}
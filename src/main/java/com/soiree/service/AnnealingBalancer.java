@@ -0,0 +1,331 @@
+package com.soiree.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Répartition optimisée : placement glouton puis recuit simulé (échanges et déplacements)
+ *
+ * Objectif minimisé (somme pondérée, app.teams.weights.*) :
+ * - taille : somme des carrés des tailles d'équipe
+ * - genre : somme des carrés du nombre d'hommes par équipe
+ * - niveau : somme des carrés du niveau total par équipe
+ * - anciens coéquipiers : nombre de paires déjà réunies lors de la dernière composition
+ * Les totaux étant fixes, minimiser une somme de carrés revient à minimiser l'écart à la moyenne.
+ * Chaque mouvement est évalué en O(1) grâce aux compteurs par équipe.
+ */
+@Component
+@ConditionalOnProperty(name = "app.teams.balancer", havingValue = "annealing", matchIfMissing = true)
+public class AnnealingBalancer implements TeamBalancer {
+
+    public static final double DEFAULT_SIZE_WEIGHT = 100;
+    public static final double DEFAULT_GENDER_WEIGHT = 10;
+    public static final double DEFAULT_SKILL_WEIGHT = 1;
+    public static final double DEFAULT_REPEAT_WEIGHT = 5;
+    public static final int DEFAULT_ITERATIONS = 200_000;
+
+    // Part des itérations consacrées aux déplacements (le reste : échanges, taille inchangée)
+    private static final double MOVE_RATIO = 0.2;
+
+    // Itérations par joueur (plafonnées par app.teams.iterations), minimum pour les petites soirées
+    private static final int ITERATIONS_PER_PLAYER = 100;
+    private static final int MIN_ITERATIONS = 5_000;
+
+    private final double sizeWeight;
+    private final double genderWeight;
+    private final double skillWeight;
+    private final double repeatWeight;
+    private final int iterations;
+
+    public AnnealingBalancer(@Value("${app.teams.weights.size:100}") double sizeWeight,
+                             @Value("${app.teams.weights.gender:10}") double genderWeight,
+                             @Value("${app.teams.weights.skill:1}") double skillWeight,
+                             @Value("${app.teams.weights.repeat:5}") double repeatWeight,
+                             @Value("${app.teams.iterations:200000}") int iterations) {
+        this.sizeWeight = sizeWeight;
+        this.genderWeight = genderWeight;
+        this.skillWeight = skillWeight;
+        this.repeatWeight = repeatWeight;
+        this.iterations = iterations;
+    }
+
+    public static AnnealingBalancer withDefaults() {
+        return new AnnealingBalancer(DEFAULT_SIZE_WEIGHT, DEFAULT_GENDER_WEIGHT, DEFAULT_SKILL_WEIGHT,
+                DEFAULT_REPEAT_WEIGHT, DEFAULT_ITERATIONS);
+    }
+
+    @Override
+    public int[] assign(Problem problem) {
+        int n = problem.size();
+        State state = new State(problem);
+        if (n == 0) {
+            return state.team;
+        }
+        SplittableRandom random = new SplittableRandom(problem.seed());
+        greedy(state, random);
+        if (problem.teamCount() > 1 && n > 1) {
+            anneal(state, random);
+        }
+        return state.team;
+    }
+
+    /**
+     * Meilleurs niveaux d'abord, chacun dans l'équipe où il coûte le moins parmi les équipes
+     * les moins remplies (tailles équilibrées par construction, comme un tour de table) ;
+     * départ de la recherche tiré au hasard pour ne pas toujours favoriser les premières équipes
+     */
+    private void greedy(State state, SplittableRandom random) {
+        int n = state.team.length;
+        int teams = state.teams;
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        RoundRobinBalancer.shuffle(order, n, random);
+        sortBySkillDesc(order, state.skill);
+
+        int[] open = new int[teams];
+        int openCount = 0;
+        for (int i : order) {
+            if (openCount == 0) {
+                for (int t = 0; t < teams; t++) {
+                    open[t] = t;
+                }
+                openCount = teams;
+            }
+            int start = random.nextInt(openCount);
+            int best = start;
+            double bestDelta = Double.MAX_VALUE;
+            for (int k = 0; k < openCount; k++) {
+                int slot = start + k < openCount ? start + k : start + k - openCount;
+                double delta = state.addDelta(open[slot], i);
+                if (delta < bestDelta) {
+                    bestDelta = delta;
+                    best = slot;
+                }
+            }
+            state.add(open[best], i);
+            open[best] = open[--openCount];
+        }
+    }
+
+    private void anneal(State state, SplittableRandom random) {
+        int n = state.team.length;
+        double temperature = initialTemperature(state, random);
+        if (temperature <= 0) {
+            return; // aucun mouvement ne change le coût : déjà optimal
+        }
+        int steps = (int) Math.min(iterations, Math.max(MIN_ITERATIONS, (long) ITERATIONS_PER_PLAYER * n));
+        double cooling = Math.pow(1e-3, 1.0 / steps);
+        for (int k = 0; k < steps; k++, temperature *= cooling) {
+            int i = random.nextInt(n);
+            int from = state.team[i];
+            if (random.nextDouble() < MOVE_RATIO) {
+                int to = random.nextInt(state.teams - 1);
+                if (to >= from) {
+                    to++;
+                }
+                double delta = state.removeDelta(from, i) + state.addDelta(to, i);
+                if (accept(delta, temperature, random)) {
+                    state.remove(from, i);
+                    state.add(to, i);
+                }
+            } else {
+                int j = random.nextInt(n);
+                if (state.team[j] == from) {
+                    continue;
+                }
+                if (accept(state.swapDelta(i, j), temperature, random)) {
+                    state.swap(i, j);
+                }
+            }
+        }
+    }
+
+    /**
+     * Température de départ : écart moyen d'un échange aléatoire depuis l'état glouton
+     */
+    private static double initialTemperature(State state, SplittableRandom random) {
+        int n = state.team.length;
+        double sum = 0;
+        int samples = 0;
+        for (int k = 0; k < 200; k++) {
+            int i = random.nextInt(n);
+            int j = random.nextInt(n);
+            if (state.team[i] == state.team[j]) {
+                continue;
+            }
+            sum += Math.abs(state.swapDelta(i, j));
+            samples++;
+        }
+        return samples == 0 ? 0 : sum / samples;
+    }
+
+    private static boolean accept(double delta, double temperature, SplittableRandom random) {
+        if (delta <= 0) {
+            return true;
+        }
+        // exp(-30) ~ 1e-13 : inutile de tirer au sort
+        return delta < 30 * temperature && random.nextDouble() < Math.exp(-delta / temperature);
+    }
+
+    // Tri stable par comptage : les niveaux sont de petits entiers (0 à 10 en pratique)
+    private static void sortBySkillDesc(int[] order, int[] skill) {
+        if (order.length == 0) {
+            return;
+        }
+        int min = Integer.MAX_VALUE;
+        int max = Integer.MIN_VALUE;
+        for (int s : skill) {
+            min = Math.min(min, s);
+            max = Math.max(max, s);
+        }
+        if (min == max) {
+            return;
+        }
+        if ((long) max - min > 4L * order.length + 1024) {
+            // Niveaux très dispersés : tri classique
+            Integer[] boxed = Arrays.stream(order).boxed().toArray(Integer[]::new);
+            Arrays.sort(boxed, (x, y) -> Integer.compare(skill[y], skill[x]));
+            for (int k = 0; k < order.length; k++) {
+                order[k] = boxed[k];
+            }
+            return;
+        }
+        int[] counts = new int[max - min + 2];
+        for (int i : order) {
+            counts[max - skill[i] + 1]++;
+        }
+        for (int k = 1; k < counts.length; k++) {
+            counts[k] += counts[k - 1];
+        }
+        int[] sorted = new int[order.length];
+        for (int i : order) {
+            sorted[counts[max - skill[i]]++] = i;
+        }
+        System.arraycopy(sorted, 0, order, 0, order.length);
+    }
+
+    /**
+     * Répartition courante et compteurs par équipe
+     */
+    private final class State {
+
+        final int teams;
+        final int groups;
+        final boolean[] male;
+        final int[] skill;
+        final int[] previous;
+        final int[] team;
+        final int[] size;
+        final int[] men;
+        final long[] skillSum;
+        // Nombre de joueurs de l'ancienne équipe g dans l'équipe t : groupCount[t * groups + g]
+        final int[] groupCount;
+
+        State(Problem problem) {
+            this.teams = problem.teamCount();
+            this.male = problem.male();
+            this.skill = problem.skill();
+            this.previous = problem.previousTeam();
+            int maxGroup = -1;
+            for (int g : previous) {
+                maxGroup = Math.max(maxGroup, g);
+            }
+            this.groups = maxGroup + 1;
+            this.team = new int[male.length];
+            this.size = new int[teams];
+            this.men = new int[teams];
+            this.skillSum = new long[teams];
+            this.groupCount = new int[teams * groups];
+        }
+
+        double addDelta(int t, int i) {
+            long v = skill[i];
+            double delta = sizeWeight * (2 * size[t] + 1)
+                    + skillWeight * (2 * skillSum[t] * v + v * v);
+            if (male[i]) {
+                delta += genderWeight * (2 * men[t] + 1);
+            }
+            int g = previous[i];
+            if (g >= 0) {
+                delta += repeatWeight * groupCount[t * groups + g];
+            }
+            return delta;
+        }
+
+        double removeDelta(int t, int i) {
+            long v = skill[i];
+            double delta = sizeWeight * (1 - 2 * size[t])
+                    + skillWeight * (v * v - 2 * skillSum[t] * v);
+            if (male[i]) {
+                delta += genderWeight * (1 - 2 * men[t]);
+            }
+            int g = previous[i];
+            if (g >= 0) {
+                delta -= repeatWeight * (groupCount[t * groups + g] - 1);
+            }
+            return delta;
+        }
+
+        void add(int t, int i) {
+            team[i] = t;
+            size[t]++;
+            skillSum[t] += skill[i];
+            if (male[i]) {
+                men[t]++;
+            }
+            if (previous[i] >= 0) {
+                groupCount[t * groups + previous[i]]++;
+            }
+        }
+
+        void remove(int t, int i) {
+            size[t]--;
+            skillSum[t] -= skill[i];
+            if (male[i]) {
+                men[t]--;
+            }
+            if (previous[i] >= 0) {
+                groupCount[t * groups + previous[i]]--;
+            }
+        }
+
+        /**
+         * Variation de coût si i (équipe a) et j (équipe b) échangent leurs équipes, sans rien modifier
+         * (tailles inchangées ; genre et niveau : transfert de la différence de a vers b)
+         */
+        double swapDelta(int i, int j) {
+            int a = team[i];
+            int b = team[j];
+            long dm = (male[i] ? 1 : 0) - (male[j] ? 1 : 0);
+            long ds = skill[i] - skill[j];
+            double delta = genderWeight * 2 * dm * (men[b] - men[a] + dm)
+                    + skillWeight * 2 * ds * (skillSum[b] - skillSum[a] + ds);
+            int gi = previous[i];
+            int gj = previous[j];
+            if (gi != gj) {
+                if (gi >= 0) {
+                    delta += repeatWeight * (groupCount[b * groups + gi] - (groupCount[a * groups + gi] - 1));
+                }
+                if (gj >= 0) {
+                    delta += repeatWeight * (groupCount[a * groups + gj] - (groupCount[b * groups + gj] - 1));
+                }
+            }
+            return delta;
+        }
+
+        void swap(int i, int j) {
+            int a = team[i];
+            int b = team[j];
+            remove(a, i);
+            remove(b, j);
+            add(b, i);
+            add(a, j);
+        }
+    }
+}
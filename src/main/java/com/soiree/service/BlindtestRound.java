@@ -0,0 +1,285 @@
+package com.soiree.service;
+
+import com.soiree.dto.BlindtestState;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Manche de Blindtest en cours, entièrement en mémoire
+ *
+ * Buzzers (chemin chaud, sans verrou) :
+ * - chaque chanson a un emplacement « premier buzz » : le premier compareAndSet l'emporte,
+ *   les buzzers suivants apprennent quelle équipe a la main
+ * - temps de réaction : System.nanoTime() à l'arrivée du buzz moins l'ouverture de la chanson
+ * Décisions de l'animateur (chanson suivante, verdict, classement) : rares, synchronisées sur la manche.
+ *
+ * Points comptés en demi-points (bonne réponse +1 = 2, mauvaise réponse -0,5 = -1) : aucune erreur d'arrondi.
+ * Une mauvaise réponse écarte l'équipe de la chanson et rouvre l'emplacement aux autres équipes.
+ * Départage : une chanson par groupe d'équipes à égalité (le mieux classé d'abord), comptée à part des points ;
+ * elle ne fait que départager les équipes du groupe. Une chanson normale jugée ensuite l'annule (groupes changés).
+ * Classement : points, puis départage, puis temps de réaction moyen des bonnes réponses (le plus rapide devant),
+ * puis équipe.
+ */
+public final class BlindtestRound {
+
+    static final int CORRECT_HALF_POINTS = 2;
+    static final int WRONG_HALF_POINTS = -1;
+
+    private final Long eventId;
+    private final Long gameId;
+    private final Set<Long> teams;
+    private final Map<Long, Score> scores = new HashMap<>();
+
+    // Chanson en cours (null avant la première) : lue sans verrou par les buzzers
+    private volatile Song song;
+
+    public BlindtestRound(Long eventId, Long gameId, List<Long> teamIds) {
+        if (teamIds.size() < 2) {
+            throw new IllegalArgumentException("Il faut au moins 2 équipes pour un Blindtest");
+        }
+        this.eventId = eventId;
+        this.gameId = gameId;
+        this.teams = Set.copyOf(teamIds);
+        teamIds.forEach(teamId -> scores.put(teamId, new Score()));
+    }
+
+    public Long eventId() {
+        return eventId;
+    }
+
+    public Long gameId() {
+        return gameId;
+    }
+
+    /**
+     * Buzz d'une équipe sur la chanson en cours
+     *
+     * @param arrivedAt System.nanoTime() relevé à l'arrivée de la requête
+     */
+    public BuzzResult buzz(Long teamId, long arrivedAt) {
+        if (teamId == null || !teams.contains(teamId)) {
+            throw new IllegalArgumentException("Équipe non trouvée : " + teamId);
+        }
+        Song current = song;
+        if (current == null || current.closed) {
+            return new BuzzResult(Outcome.CLOSED, current == null ? 0 : current.number, null, 0);
+        }
+        long reaction = Math.max(0, arrivedAt - current.openedAt);
+        if (!current.eligible.contains(teamId) || current.lockedOut.contains(teamId)) {
+            return new BuzzResult(Outcome.LOCKED_OUT, current.number, null, reaction);
+        }
+        Buzz mine = new Buzz(teamId, reaction);
+        Buzz holder = current.first.compareAndExchange(null, mine);
+        if (holder != null) {
+            return new BuzzResult(Outcome.LATE, current.number, holder.teamId(), reaction);
+        }
+        // Écartée entre la vérification et le compareAndSet (mauvaise réponse jugée, emplacement remis à null) :
+        // judge l'ajoute aux écartées avant de vider l'emplacement, elle est donc visible ici ; emplacement rendu
+        if (current.lockedOut.contains(teamId)) {
+            current.first.compareAndSet(mine, null);
+            return new BuzzResult(Outcome.LOCKED_OUT, current.number, null, reaction);
+        }
+        // Chanson fermée entre la lecture et le compareAndSet : le buzz ne compte pas
+        if (current.closed) {
+            return new BuzzResult(Outcome.CLOSED, current.number, null, reaction);
+        }
+        return new BuzzResult(Outcome.FIRST, current.number, teamId, reaction);
+    }
+
+    /**
+     * Ouvrir la chanson suivante (la précédente est fermée)
+     * tieBreak : chanson de départage, seules les équipes du premier groupe à égalité peuvent buzzer
+     */
+    public synchronized BlindtestState nextSong(boolean tieBreak) {
+        Collection<Long> eligible = teams;
+        if (tieBreak) {
+            List<List<Long>> groups = tiedGroups();
+            if (groups.isEmpty()) {
+                throw new IllegalStateException("Aucune égalité à départager");
+            }
+            eligible = groups.get(0);
+        }
+        Song previous = song;
+        if (previous != null) {
+            previous.closed = true;
+        }
+        song = new Song(previous == null ? 1 : previous.number + 1, System.nanoTime(), eligible, tieBreak);
+        return state();
+    }
+
+    /**
+     * Verdict de l'animateur sur l'équipe qui a la main
+     * - bonne réponse : +1 point, chanson fermée
+     * - mauvaise réponse : -0,5 point, équipe écartée de la chanson, les autres peuvent buzzer
+     * Chanson de départage : mêmes valeurs, comptées dans le départage seulement
+     */
+    public synchronized BlindtestState judge(boolean correct) {
+        Song current = song;
+        if (current == null || current.closed) {
+            throw new IllegalStateException("Aucune chanson en cours");
+        }
+        Buzz holder = current.first.get();
+        if (holder == null) {
+            throw new IllegalStateException("Aucune équipe n'a la main");
+        }
+        Score score = scores.get(holder.teamId());
+        int halfPoints = correct ? CORRECT_HALF_POINTS : WRONG_HALF_POINTS;
+        if (current.tieBreak) {
+            score.tieBreakHalfPoints += halfPoints;
+        } else {
+            // Points changés : les groupes à égalité aussi, les départages précédents ne valent plus
+            scores.values().forEach(s -> s.tieBreakHalfPoints = 0);
+            score.halfPoints += halfPoints;
+            if (correct) {
+                score.correct++;
+                score.reactionNanos += holder.reactionNanos();
+            } else {
+                score.wrong++;
+            }
+        }
+        if (correct) {
+            current.closed = true;
+        } else {
+            current.lockedOut.add(holder.teamId());
+            // Les buzzers ne remplacent qu'un emplacement vide : le remettre à null sous le verrou est sûr
+            current.first.set(null);
+            if (current.lockedOut.containsAll(current.eligible)) {
+                current.closed = true;
+            }
+        }
+        return state();
+    }
+
+    /**
+     * Fermer la chanson en cours sans bonne réponse
+     */
+    public synchronized BlindtestState closeSong() {
+        if (song != null) {
+            song.closed = true;
+        }
+        return state();
+    }
+
+    /**
+     * Positions dérivées du classement (teamId -> 1..n), pour GameService.saveGameResults
+     */
+    public synchronized Map<Long, Integer> positions() {
+        Map<Long, Integer> positions = new LinkedHashMap<>();
+        List<BlindtestState.Standing> standings = standings();
+        for (BlindtestState.Standing standing : standings) {
+            positions.put(standing.teamId(), standing.position());
+        }
+        return positions;
+    }
+
+    public synchronized BlindtestState state() {
+        Song current = song;
+        Buzz holder = current == null ? null : current.first.get();
+        boolean open = current != null && !current.closed;
+        return new BlindtestState(gameId,
+                current == null ? 0 : current.number,
+                open,
+                current != null && current.tieBreak,
+                open && holder != null ? holder.teamId() : null,
+                current == null ? Set.of() : Set.copyOf(current.lockedOut),
+                standings(),
+                tiedGroups());
+    }
+
+    private List<BlindtestState.Standing> standings() {
+        List<Map.Entry<Long, Score>> ranked = new ArrayList<>(scores.entrySet());
+        ranked.sort(Comparator.<Map.Entry<Long, Score>>comparingInt(entry -> -entry.getValue().halfPoints)
+                .thenComparingInt(entry -> -entry.getValue().tieBreakHalfPoints)
+                .thenComparingLong(entry -> entry.getValue().meanReactionNanos())
+                .thenComparing(Map.Entry::getKey));
+        List<BlindtestState.Standing> standings = new ArrayList<>(ranked.size());
+        for (int i = 0; i < ranked.size(); i++) {
+            Score score = ranked.get(i).getValue();
+            long mean = score.meanReactionNanos();
+            standings.add(new BlindtestState.Standing(i + 1, ranked.get(i).getKey(), score.halfPoints / 2.0,
+                    score.tieBreakHalfPoints / 2.0, score.correct, score.wrong,
+                    mean == Long.MAX_VALUE ? null : mean / 1_000_000.0));
+        }
+        return standings;
+    }
+
+    /**
+     * Groupes d'équipes à égalité (mêmes points, même départage), le mieux classé d'abord, équipes triées
+     */
+    private List<List<Long>> tiedGroups() {
+        Map<Long, List<Long>> byKey = new TreeMap<>(Comparator.reverseOrder());
+        scores.forEach((teamId, score) -> byKey.computeIfAbsent(score.rankKey(), k -> new ArrayList<>()).add(teamId));
+        List<List<Long>> groups = new ArrayList<>();
+        for (List<Long> group : byKey.values()) {
+            if (group.size() > 1) {
+                group.sort(null);
+                groups.add(List.copyOf(group));
+            }
+        }
+        return groups;
+    }
+
+    /**
+     * FIRST : l'équipe a la main ; LATE : une autre équipe l'a déjà (holderTeamId) ;
+     * LOCKED_OUT : équipe écartée de cette chanson ; CLOSED : aucune chanson ouverte
+     */
+    public enum Outcome {
+        FIRST, LATE, LOCKED_OUT, CLOSED
+    }
+
+    /**
+     * Réponse à un buzz ; reactionNanos : temps écoulé depuis l'ouverture de la chanson
+     */
+    public record BuzzResult(Outcome outcome, int song, Long holderTeamId, long reactionNanos) {
+    }
+
+    private record Buzz(Long teamId, long reactionNanos) {
+    }
+
+    private static final class Song {
+
+        final int number;
+        final long openedAt;
+        final Set<Long> eligible;
+        final boolean tieBreak;
+        final AtomicReference<Buzz> first = new AtomicReference<>();
+        final Set<Long> lockedOut = ConcurrentHashMap.newKeySet();
+        volatile boolean closed;
+
+        Song(int number, long openedAt, Collection<Long> eligible, boolean tieBreak) {
+            this.number = number;
+            this.openedAt = openedAt;
+            this.eligible = Set.copyOf(eligible);
+            this.tieBreak = tieBreak;
+        }
+    }
+
+    // Modifié et lu sous le verrou de la manche
+    private static final class Score {
+
+        int halfPoints;
+        int tieBreakHalfPoints;
+        int correct;
+        int wrong;
+        long reactionNanos;
+
+        // Points puis départage, en une seule clé ordonnée
+        long rankKey() {
+            return ((long) halfPoints << 32) + tieBreakHalfPoints;
+        }
+
+        long meanReactionNanos() {
+            return correct == 0 ? Long.MAX_VALUE : reactionNanos / correct;
+        }
+    }
+}
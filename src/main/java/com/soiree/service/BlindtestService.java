@@ -0,0 +1,151 @@
+package com.soiree.service;
+
+import com.soiree.dto.BlindtestState;
+import com.soiree.dto.TeamSummary;
+import com.soiree.model.Game;
+import com.soiree.model.ScoringRule;
+import com.soiree.repository.GameRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Blindtest en direct : une manche en mémoire par soirée (BlindtestRound)
+ * - les téléphones buzzent, l'arbitrage se fait sans verrou ni accès à la base
+ * - l'animateur ouvre les chansons et rend les verdicts (+1 / -0,5)
+ * - fin de manche : classement dérivé des points, enregistré par GameService.saveGameResults
+ * Les changements sont poussés sur /api/stream (buzzer-taken, blindtest-updated).
+ * Une manche non terminée est perdue au redémarrage ; recomposer les équipes l'abandonne.
+ */
+@Service
+@RequiredArgsConstructor
+public class BlindtestService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BlindtestService.class);
+
+    private final GameRepository gameRepository;
+    private final GameService gameService;
+    private final TeamService teamService;
+    private final EventService eventService;
+    private final ScoringRules scoringRules;
+    private final LiveUpdateService liveUpdateService;
+
+    // Soirée -> manche en cours
+    private final Map<Long, BlindtestRound> rounds = new ConcurrentHashMap<>();
+
+    /**
+     * Démarrer une manche sur un jeu à classement (une seule manche à la fois par soirée)
+     */
+    public BlindtestState start(Long eventId, Long gameId) {
+        Long id = eventService.resolve(eventId);
+        Game game = gameRepository.findByIdAndEventId(gameId, id)
+                .orElseThrow(() -> new RuntimeException("Jeu non trouvé"));
+        scoringRules.forGame(game).require(ScoringRule.Kind.RANKING);
+        List<Long> teamIds = teamService.getTeamSummaries(id).stream().map(TeamSummary::id).toList();
+        BlindtestRound round = new BlindtestRound(id, gameId, teamIds);
+        BlindtestRound existing = rounds.putIfAbsent(id, round);
+        if (existing != null) {
+            throw new IllegalStateException("Une manche de Blindtest est déjà en cours (jeu " + existing.gameId() + ")");
+        }
+        logger.debug("Soirée {} : manche de Blindtest démarrée sur le jeu {} ({} équipes)", id, gameId, teamIds.size());
+        return updated(round, round.state());
+    }
+
+    /**
+     * Buzz d'une équipe : chemin chaud, aucune requête SQL
+     */
+    @Timed("soiree.blindtest.buzz")
+    public BlindtestRound.BuzzResult buzz(Long eventId, Long gameId, Long teamId) {
+        long arrivedAt = System.nanoTime();
+        BlindtestRound round = round(eventId, gameId);
+        BlindtestRound.BuzzResult result = round.buzz(teamId, arrivedAt);
+        if (result.outcome() == BlindtestRound.Outcome.FIRST) {
+            liveUpdateService.publish(new StateChange.BuzzerTaken(round.eventId(), gameId, result.song(), teamId,
+                    result.reactionNanos() / 1_000_000.0));
+        }
+        return result;
+    }
+
+    /**
+     * Chanson suivante (tieBreak : départage entre les équipes à égalité)
+     */
+    public BlindtestState nextSong(Long eventId, Long gameId, boolean tieBreak) {
+        BlindtestRound round = round(eventId, gameId);
+        return updated(round, round.nextSong(tieBreak));
+    }
+
+    public BlindtestState judge(Long eventId, Long gameId, boolean correct) {
+        BlindtestRound round = round(eventId, gameId);
+        return updated(round, round.judge(correct));
+    }
+
+    public BlindtestState closeSong(Long eventId, Long gameId) {
+        BlindtestRound round = round(eventId, gameId);
+        return updated(round, round.closeSong());
+    }
+
+    public BlindtestState state(Long eventId, Long gameId) {
+        return round(eventId, gameId).state();
+    }
+
+    /**
+     * Terminer la manche : classement enregistré comme une saisie de résultats (points et shots du jeu)
+     * En cas d'échec de l'enregistrement, la manche reste en cours.
+     */
+    public BlindtestState finish(Long eventId, Long gameId) {
+        BlindtestRound round = round(eventId, gameId);
+        if (!rounds.remove(round.eventId(), round)) {
+            throw new IllegalStateException("Manche déjà terminée");
+        }
+        BlindtestState state = round.closeSong();
+        try {
+            gameService.saveGameResults(round.eventId(), gameId, round.positions());
+        } catch (RuntimeException e) {
+            rounds.putIfAbsent(round.eventId(), round);
+            throw e;
+        }
+        return state;
+    }
+
+    /**
+     * Abandonner la manche (aucun résultat enregistré)
+     */
+    public void abandon(Long eventId, Long gameId) {
+        BlindtestRound round = round(eventId, gameId);
+        rounds.remove(round.eventId(), round);
+    }
+
+    /**
+     * Équipes recomposées : la manche en cours ne correspond plus aux équipes de la soirée
+     */
+    @TransactionalEventListener
+    public void onTeamsRecreated(StateChange.TeamsRecreated change) {
+        if (rounds.remove(change.eventId()) != null) {
+            logger.info("Soirée {} : équipes recomposées, manche de Blindtest abandonnée", change.eventId());
+        }
+    }
+
+    private BlindtestRound round(Long eventId, Long gameId) {
+        BlindtestRound round = rounds.get(eventService.resolve(eventId));
+        if (round == null || !round.gameId().equals(gameId)) {
+            throw new IllegalStateException("Aucune manche de Blindtest en cours sur ce jeu");
+        }
+        return round;
+    }
+
+    private BlindtestState updated(BlindtestRound round, BlindtestState state) {
+        Map<Long, Double> points = new LinkedHashMap<>();
+        state.standings().forEach(standing -> points.put(standing.teamId(), standing.points()));
+        liveUpdateService.publish(new StateChange.BlindtestUpdated(round.eventId(), round.gameId(), state.song(),
+                state.songOpen(), points));
+        return state;
+    }
+}
@@ -0,0 +1,184 @@
+package com.soiree.service;
+
+import com.soiree.model.ScoringRule;
+
+import java.util.Arrays;
+
+/**
+ * Règle de score compilée : tables immuables de points et de shots indexées par position
+ * Évaluée sans allocation dans les saisies (lecture de tableau, calcul au-delà de la table)
+ */
+public final class CompiledScoringRule {
+
+    /** Positions précalculées : au-delà, extrapolation (dernière valeur + step par place) */
+    static final int TABLE_SIZE = 16;
+
+    // Indices des tables MISTER_WHITE
+    private static final int TARGET_CAUGHT = 0;
+    private static final int OTHERS_CAUGHT = 1;
+    private static final int TARGET_ESCAPED = 2;
+    private static final int OTHERS_ESCAPED = 3;
+
+    private final String name;
+    private final ScoringRule.Kind kind;
+    private final int[] points;
+    private final int[] shots;
+    private final int pointsStep;
+    private final int shotsStep;
+
+    private CompiledScoringRule(String name, ScoringRule.Kind kind, int[] points, int pointsStep,
+                                int[] shots, int shotsStep) {
+        this.name = name;
+        this.kind = kind;
+        this.points = points;
+        this.pointsStep = pointsStep;
+        this.shots = shots;
+        this.shotsStep = shotsStep;
+    }
+
+    /**
+     * Compiler une règle (IllegalArgumentException si elle est invalide)
+     */
+    public static CompiledScoringRule compile(ScoringRule rule) {
+        if (rule.getName() == null || rule.getName().isBlank()) {
+            throw new IllegalArgumentException("Nom de règle manquant");
+        }
+        if (rule.getKind() == null) {
+            throw new IllegalArgumentException("Type de règle manquant (RANKING, MISTER_WHITE ou BONUS)");
+        }
+        int[] points = parse(rule.getPoints(), "points");
+        int[] shots = parse(rule.getShots(), "shots");
+        for (int value : shots) {
+            if (value < 0) {
+                throw new IllegalArgumentException("Nombre de shots négatif : " + value);
+            }
+        }
+        return switch (rule.getKind()) {
+            case RANKING -> {
+                if (points.length == 0) {
+                    throw new IllegalArgumentException("Table de points vide");
+                }
+                if (rule.getShotsStep() < 0) {
+                    throw new IllegalArgumentException("shotsStep négatif : " + rule.getShotsStep());
+                }
+                yield new CompiledScoringRule(rule.getName(), rule.getKind(),
+                        expand(points, rule.getPointsStep()), rule.getPointsStep(),
+                        expand(shots, rule.getShotsStep()), rule.getShotsStep());
+            }
+            case MISTER_WHITE -> {
+                if (points.length != 4 || (shots.length != 0 && shots.length != 4)) {
+                    throw new IllegalArgumentException("Mister White : 4 valeurs attendues "
+                            + "[Mister White éliminé, autres, Mister White survivant, autres]");
+                }
+                yield new CompiledScoringRule(rule.getName(), rule.getKind(), points, 0,
+                        shots.length == 0 ? new int[4] : shots, 0);
+            }
+            case BONUS -> new CompiledScoringRule(rule.getName(), rule.getKind(), points, 0, new int[0], 0);
+        };
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public ScoringRule.Kind kind() {
+        return kind;
+    }
+
+    /**
+     * Vérifier que la règle convient à la saisie demandée
+     */
+    public CompiledScoringRule require(ScoringRule.Kind expected) {
+        if (kind != expected) {
+            throw new IllegalArgumentException("Ce jeu se score avec la règle '" + name + "' (" + kind
+                    + "), pas " + expected);
+        }
+        return this;
+    }
+
+    // RANKING : position à partir de 1
+
+    public int points(int position) {
+        return lookup(points, pointsStep, position);
+    }
+
+    public int shots(int position) {
+        return Math.max(0, lookup(shots, shotsStep, position));
+    }
+
+    // MISTER_WHITE
+
+    public int misterWhitePoints(boolean misterWhiteTeam, boolean eliminated) {
+        return points[outcome(misterWhiteTeam, eliminated)];
+    }
+
+    public int misterWhiteShots(boolean misterWhiteTeam, boolean eliminated) {
+        return shots[outcome(misterWhiteTeam, eliminated)];
+    }
+
+    // BONUS
+
+    /**
+     * Points bonus acceptés : tous si la table est vide, sinon une des valeurs de la table
+     */
+    public boolean allowsBonus(int value) {
+        if (points.length == 0) {
+            return true;
+        }
+        for (int allowed : points) {
+            if (allowed == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int outcome(boolean misterWhiteTeam, boolean eliminated) {
+        if (eliminated) {
+            return misterWhiteTeam ? TARGET_CAUGHT : OTHERS_CAUGHT;
+        }
+        return misterWhiteTeam ? TARGET_ESCAPED : OTHERS_ESCAPED;
+    }
+
+    private static int lookup(int[] table, int step, int position) {
+        if (table.length == 0 || position < 1) {
+            return 0;
+        }
+        int index = position - 1;
+        if (index < table.length) {
+            return table[index];
+        }
+        int last = table.length - 1;
+        return table[last] + step * (index - last);
+    }
+
+    /**
+     * Table complétée jusqu'à TABLE_SIZE positions : le cas courant est une simple lecture
+     */
+    private static int[] expand(int[] table, int step) {
+        if (table.length == 0 || table.length >= TABLE_SIZE) {
+            return table;
+        }
+        int[] expanded = Arrays.copyOf(table, TABLE_SIZE);
+        for (int i = table.length; i < TABLE_SIZE; i++) {
+            expanded[i] = expanded[i - 1] + step;
+        }
+        return expanded;
+    }
+
+    private static int[] parse(String values, String field) {
+        if (values == null || values.isBlank()) {
+            return new int[0];
+        }
+        String[] parts = values.split(",");
+        int[] table = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            try {
+                table[i] = Integer.parseInt(parts[i].strip());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Valeur invalide dans " + field + " : '" + parts[i].strip() + "'");
+            }
+        }
+        return table;
+    }
+}
@@ -0,0 +1,185 @@
+package com.soiree.service;
+
+import com.soiree.dto.LedgerPosition;
+import com.soiree.model.Event;
+import com.soiree.repository.EventRepository;
+import com.soiree.repository.GameRepository;
+import com.soiree.repository.GameResultRepository;
+import com.soiree.repository.PlayerRepository;
+import com.soiree.repository.ScoreEventRepository;
+import com.soiree.repository.ScoreSnapshotRepository;
+import com.soiree.repository.TeamRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service pour gérer les soirées (multi-soirée sur une même instance)
+ */
+@Service
+public class EventService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventService.class);
+
+    private final EventRepository eventRepository;
+    private final GameRepository gameRepository;
+    private final GameResultRepository gameResultRepository;
+    private final TeamRepository teamRepository;
+    private final PlayerRepository playerRepository;
+    private final ScoreEventRepository scoreEventRepository;
+    private final ScoreSnapshotRepository scoreSnapshotRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate newTransaction;
+
+    // Soirées dont l'existence a déjà été vérifiée (évite une requête par appel)
+    private final Set<Long> knownEvents = ConcurrentHashMap.newKeySet();
+    private volatile Long defaultEventId;
+
+    public EventService(EventRepository eventRepository,
+                        GameRepository gameRepository,
+                        GameResultRepository gameResultRepository,
+                        TeamRepository teamRepository,
+                        PlayerRepository playerRepository,
+                        ScoreEventRepository scoreEventRepository,
+                        ScoreSnapshotRepository scoreSnapshotRepository,
+                        ApplicationEventPublisher eventPublisher,
+                        PlatformTransactionManager transactionManager) {
+        this.eventRepository = eventRepository;
+        this.gameRepository = gameRepository;
+        this.gameResultRepository = gameResultRepository;
+        this.teamRepository = teamRepository;
+        this.playerRepository = playerRepository;
+        this.scoreEventRepository = scoreEventRepository;
+        this.scoreSnapshotRepository = scoreSnapshotRepository;
+        this.eventPublisher = eventPublisher;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Identifiant effectif de la soirée : celle demandée (vérifiée) ou la soirée par défaut
+     */
+    public Long resolve(Long eventId) {
+        if (eventId == null) {
+            return defaultEventId();
+        }
+        if (!knownEvents.contains(eventId)) {
+            if (!eventRepository.existsById(eventId)) {
+                throw new RuntimeException("Soirée non trouvée");
+            }
+            knownEvents.add(eventId);
+        }
+        return eventId;
+    }
+
+    /**
+     * Référence JPA vers la soirée (sans requête) pour rattacher de nouvelles entités
+     */
+    public Event reference(Long eventId) {
+        return eventRepository.getReferenceById(eventId);
+    }
+
+    /**
+     * Journal des scores : réserver count positions (0 : verrouiller seulement), dans la transaction de l'appelant
+     * L'UPDATE verrouille la ligne de la soirée jusqu'au commit : les écritures du journal d'une soirée passent
+     * une à une, et leurs positions suivent l'ordre des commits.
+     */
+    public LedgerPosition reserveLedger(Long eventId, int count) {
+        lockLedger(eventId, count);
+        return eventRepository.findLedgerPosition(eventId);
+    }
+
+    /**
+     * Journal des scores : verrouiller seulement (une requête, position non relue)
+     */
+    public void lockLedger(Long eventId) {
+        lockLedger(eventId, 0);
+    }
+
+    private void lockLedger(Long eventId, int count) {
+        if (eventRepository.reserveLedgerSeq(eventId, count) == 0) {
+            throw new RuntimeException("Soirée non trouvée");
+        }
+    }
+
+    public void markLedgerSnapshot(Long eventId, long seq) {
+        eventRepository.markLedgerSnapshot(eventId, seq);
+    }
+
+    /**
+     * Journal des scores : clore les saisies passées (jeux réinitialisés), sous le verrou de la soirée
+     */
+    public void closeLedgerGames(Long eventId) {
+        if (eventRepository.closeLedgerGames(eventId) == 0) {
+            throw new RuntimeException("Soirée non trouvée");
+        }
+    }
+
+    /**
+     * Soirée créée juste avant celle-ci, s'il y en a une
+     */
+    public Optional<Long> previousEventId(Long eventId) {
+        return eventRepository.findFirstByIdLessThanOrderByIdDesc(eventId).map(Event::getId);
+    }
+
+    public List<Event> getAllEvents() {
+        return eventRepository.findAllByOrderByIdAsc();
+    }
+
+    @Transactional
+    public Event createEvent(String name) {
+        Event event = eventRepository.save(new Event(name == null || name.isBlank() ? Event.DEFAULT_NAME : name));
+        knownEvents.add(event.getId());
+        logger.info("Nouvelle soirée : {} (ID {})", event.getName(), event.getId());
+        return event;
+    }
+
+    /**
+     * Vider une soirée : une requête DELETE par table, limitée aux lignes de la soirée
+     */
+    @Transactional
+    public void resetEvent(Long eventId) {
+        Long id = resolve(eventId);
+        LedgerPosition ledger = reserveLedger(id, 0);
+        scoreSnapshotRepository.deleteByEventId(id);
+        scoreEventRepository.deleteByEventId(id);
+        markLedgerSnapshot(id, ledger.seq());
+        int results = gameResultRepository.deleteByEventId(id);
+        int players = playerRepository.deleteByEventId(id);
+        int teams = teamRepository.deleteByEventId(id);
+        int games = gameRepository.deleteByEventId(id);
+        eventPublisher.publishEvent(StandingsChangedEvent.replaced(id, List.of()));
+        eventPublisher.publishEvent(new StateChange.TeamsRecreated(id, 0));
+        logger.info("Soirée {} vidée : {} résultats, {} joueurs, {} équipes, {} jeux",
+                id, results, players, teams, games);
+    }
+
+    private Long defaultEventId() {
+        Long id = defaultEventId;
+        if (id == null) {
+            synchronized (this) {
+                id = defaultEventId;
+                if (id == null) {
+                    // Transaction séparée : la soirée par défaut existe même si l'appelant échoue
+                    id = newTransaction.execute(status -> eventRepository
+                            .findFirstByNameOrderByIdAsc(Event.DEFAULT_NAME)
+                            .orElseGet(() -> eventRepository.save(new Event(Event.DEFAULT_NAME)))
+                            .getId());
+                    knownEvents.add(id);
+                    defaultEventId = id;
+                }
+            }
+        }
+        return id;
+    }
+}
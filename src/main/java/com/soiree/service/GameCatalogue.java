@@ -0,0 +1,121 @@
+package com.soiree.service;
+
+import com.soiree.model.Game;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.dataformat.yaml.YAMLMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Catalogue des jeux de la soirée : fichier versionné (app.games.catalogue, games/catalogue.yml par défaut),
+ * lu et validé une seule fois au démarrage, immuable ensuite
+ * Un fichier invalide (nom ou ordre en double, type manquant, règles trop longues) empêche le démarrage.
+ */
+@Component
+public class GameCatalogue {
+
+    private static final Logger logger = LoggerFactory.getLogger(GameCatalogue.class);
+
+    // Longueur de la colonne game.description
+    static final int MAX_RULES_LENGTH = 1000;
+
+    private final int version;
+    private final List<Entry> games;
+
+    public GameCatalogue(@Value("${app.games.catalogue:classpath:games/catalogue.yml}") Resource resource) {
+        YAMLMapper mapper = YAMLMapper.builder()
+                .enable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .build();
+        CatalogueFile file;
+        try (InputStream in = resource.getInputStream()) {
+            file = mapper.readValue(in, CatalogueFile.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Catalogue des jeux illisible : " + resource, e);
+        }
+        this.version = file.version();
+        this.games = validate(file);
+        logger.info("Catalogue des jeux v{} : {} jeux ({})", version, games.size(), resource.getDescription());
+    }
+
+    public int version() {
+        return version;
+    }
+
+    /**
+     * Jeux du catalogue, dans l'ordre du fichier
+     */
+    public List<Entry> games() {
+        return games;
+    }
+
+    private static List<Entry> validate(CatalogueFile file) {
+        if (file.version() <= 0 || file.games() == null || file.games().isEmpty()) {
+            throw new IllegalStateException("Catalogue des jeux : version et jeux obligatoires");
+        }
+        Set<String> names = new HashSet<>();
+        Set<Integer> orders = new HashSet<>();
+        for (Entry game : file.games()) {
+            if (game.name() == null || game.name().isBlank() || game.type() == null || game.rules() == null) {
+                throw new IllegalStateException("Catalogue des jeux : name, type et rules obligatoires (" + game.name() + ")");
+            }
+            if (!names.add(game.name()) || !orders.add(game.order())) {
+                throw new IllegalStateException("Catalogue des jeux : nom ou ordre en double (" + game.name() + ")");
+            }
+            if (game.rules().length() > MAX_RULES_LENGTH) {
+                throw new IllegalStateException("Catalogue des jeux : règles de " + game.name()
+                        + " trop longues (" + game.rules().length() + " > " + MAX_RULES_LENGTH + ")");
+            }
+        }
+        return List.copyOf(file.games());
+    }
+
+    /**
+     * Un jeu du catalogue (scoringRule : nom d'une ScoringRule, règle par défaut si absent)
+     */
+    public record Entry(String name, int order, Game.GameType type, String scoringRule, String rules) {
+
+        Game newGame() {
+            return new Game(name, rules, order, type, scoringRule);
+        }
+
+        /**
+         * Aligner un jeu existant sur le catalogue ; un jeu déjà à jour n'est pas modifié (aucune écriture)
+         *
+         * @return true si le jeu a changé
+         */
+        boolean applyTo(Game game) {
+            boolean changed = false;
+            if (!Objects.equals(game.getDescription(), rules)) {
+                game.setDescription(rules);
+                changed = true;
+            }
+            if (game.getOrder() != order) {
+                game.setOrder(order);
+                changed = true;
+            }
+            if (game.getType() != type) {
+                game.setType(type);
+                changed = true;
+            }
+            if (!Objects.equals(game.getScoringRule(), scoringRule)) {
+                game.setScoringRule(scoringRule);
+                changed = true;
+            }
+            return changed;
+        }
+    }
+
+    record CatalogueFile(int version, List<Entry> games) {
+    }
+}
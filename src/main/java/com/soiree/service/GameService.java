@@ -1,24 +1,35 @@
 package com.soiree.service;
 
+import com.soiree.audit.AuditEvent;
+import com.soiree.dto.GameRules;
+import com.soiree.dto.GameSummary;
+import com.soiree.dto.ResultRow;
+import com.soiree.dto.TeamStanding;
 import com.soiree.model.Game;
 import com.soiree.model.GameResult;
 import com.soiree.model.Player;
+import com.soiree.model.ScoreEvent;
+import com.soiree.model.ScoringRule;
 import com.soiree.model.Team;
 import com.soiree.repository.GameRepository;
 import com.soiree.repository.GameResultRepository;
-import com.soiree.repository.PlayerRepository;
 import com.soiree.repository.TeamRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Random;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Set;
 
 /**
  * Service pour gérer la logique des jeux et résultats
@@ -32,133 +43,154 @@ public class GameService {
     private final GameRepository gameRepository;
     private final GameResultRepository gameResultRepository;
     private final TeamRepository teamRepository;
-    private final PlayerRepository playerRepository;
+    private final EventService eventService;
+    private final ScoreLedgerService scoreLedger;
+    private final ShotAllocator shotAllocator;
+    private final ScoringRules scoringRules;
+    private final ApplicationEventPublisher eventPublisher;
+    private final GameCatalogue gameCatalogue;
 
     /**
-     * Initialiser tous les jeux de la soirée
+     * Initialiser tous les jeux de la soirée depuis le catalogue (GameCatalogue)
+     * - anciens résultats supprimés en masse, jeux remis à « non terminé »
+     * - jeux existants conservés (mêmes identifiants) : seuls ceux qui diffèrent du catalogue sont écrits
+     * - jeux du catalogue absents de la soirée créés, jeux retirés du catalogue supprimés
      */
     @Transactional
-    public void initializeGames() {
-        logger.info("═══════════════════════════════════════════════════════════");
-        logger.info("🎮 INITIALISATION DES JEUX - Début de la soirée");
-        logger.info("═══════════════════════════════════════════════════════════");
-        
-        gameRepository.deleteAll();
-        logger.info("🗑️  Anciens jeux supprimés");
-
-        // Soirée anniversaire : 5 jeux uniquement (Blindtest, Mime, Undercover, Speed Dating, Gage)
-        List<Game> games = List.of(
-                new Game("Blindtest",
-                        "🎵 RÈGLES DU BLINDTEST\n\n" +
-                        "🎯 CONCEPT :\n" +
-                        "• Jeu musical : reconnaissance de morceaux d'afrobeat et musiques nigérianes\n" +
-                        "• Environ 15 chansons préparées\n\n" +
-                        "📋 DÉROULEMENT :\n" +
-                        "• Chaque équipe a un buzzer ou lève la main pour répondre\n" +
-                        "• Le modérateur lance une chanson\n" +
-                        "• La première équipe à buzzer répond\n" +
-                        "• Bonne réponse = +1 point | Mauvaise réponse = -0,5 point (les autres peuvent tenter)\n\n" +
-                        "🏆 FIN DE PARTIE :\n" +
-                        "• Classement selon le total des points\n" +
-                        "• En cas d'égalité : manche de départage avec une chanson bonus\n\n" +
-                        "📝 À LA FIN : saisissez le classement des équipes (1re, 2e, 3e, 4e).",
-                        1, Game.GameType.TOUS_ENSEMBLE),
-
-                new Game("Jeu de Mime",
-                        "🎭 RÈGLES DU JEU DE MIME\n\n" +
-                        "👤 PARTICIPANTS :\n" +
-                        "• Chaque équipe désigne un représentant (mimeur)\n" +
-                        "• Les autres membres de l'équipe doivent deviner\n\n" +
-                        "⏱️ DURÉE : 2 minutes par équipe • 3 mots à faire deviner (préparés à l'avance)\n\n" +
-                        "🎮 DÉROULEMENT :\n" +
-                        "• Le mimeur mime les mots sans parler\n" +
-                        "• Son équipe doit deviner • Chaque mot deviné = +1 point\n" +
-                        "• Les autres équipes ne peuvent ni aider ni interférer\n\n" +
-                        "🏆 CLASSEMENT : selon le nombre de mots devinés. En cas d'égalité : mot bonus avec temps limité.\n\n" +
-                        "📝 À LA FIN : saisissez le classement des équipes (1re à la dernière).",
-                        2, Game.GameType.REPRESENTANT),
-
-                new Game("Whisky Undercover",
-                        "🕵️ RÈGLES DU WHISKY UNDERCOVER (MISTER WHITE)\n\n" +
-                        "🎯 CONCEPT :\n" +
-                        "• Un gobelet contient de la vodka, les autres de l'eau\n" +
-                        "• Mister White = le représentant qui a la vodka ; il ne doit pas se faire repérer\n" +
-                        "• Une personne neutre (qui ne joue pas) remplit les gobelets\n\n" +
-                        "📋 PRÉPARATION :\n" +
-                        "• Nombre de gobelets = nombre d'équipes\n" +
-                        "• Un représentant par équipe prend un gobelet (sans savoir qui a quoi)\n\n" +
-                        "🔄 TOURS (ex. 3 max) :\n" +
-                        "• Tout le monde boit/sippe → Conertation (ex. 2 min) → Vote pour suspecter une personne\n" +
-                        "• La personne avec le plus de voix est éliminée et révèle si elle avait la vodka\n\n" +
-                        "🏆 RÉSULTAT :\n" +
-                        "• Si Mister White est éliminé → son équipe 0 pt, les autres 2 pts chacune\n" +
-                        "• Si après 3 tours Mister White n'est pas éliminé → son équipe 3 pts, les autres 0\n\n" +
-                        "📝 À LA FIN : indiquez quelle équipe était Mister White et s'il a été éliminé (et à quel tour).",
-                        3, Game.GameType.TOUS_ENSEMBLE),
-
-                new Game("Speed Dating",
-                        "💕 RÈGLES DU SPEED DATING\n\n" +
-                        "🎯 BUT : désigner le garçon qui fait le meilleur speech de drague devant une fille (éloquence, charisme, humour).\n\n" +
-                        "📋 PHASE 1 – TIRAGE :\n" +
-                        "• Une fille est tirée au sort (fille principale) devant qui les garçons font leur speech\n" +
-                        "• Un garçon est tiré au sort par équipe\n" +
-                        "• Si la fille principale est dans une équipe qui a aussi un garçon : ce garçon performe devant une 2e fille (tirée au sort)\n\n" +
-                        "⚔️ PHASE 2 – PASSAGES :\n" +
-                        "• Chaque garçon fait son speech (1-2 min) devant sa fille désignée\n" +
-                        "• La fille (ou le jury) note ou vote\n" +
-                        "• On sélectionne 2 finalistes\n\n" +
-                        "🏆 PHASE 3 – FINALE :\n" +
-                        "• Les 2 finalistes font chacun un speech devant la même fille (ou les filles)\n" +
-                        "• La fille ou le jury désigne le grand gagnant\n\n" +
-                        "📝 L'app vous guide pour les tirages et enregistre le classement des équipes.",
-                        4, Game.GameType.REPRESENTANT),
-
-                new Game("Gage",
-                        "🎲 RÈGLES DU JEU DE GAGE\n\n" +
-                        "🎯 CONCEPT :\n" +
-                        "• L'équipe dernière du classement actuel est sélectionnée\n" +
-                        "• Un membre de cette équipe est tiré au sort\n" +
-                        "• Il doit réaliser un gage pour faire gagner des points à son équipe\n\n" +
-                        "📋 DÉROULEMENT :\n" +
-                        "• 3 gages proposés : 🟢 Vert (+2 pts), 🟠 Orange (+3 pts), 🔴 Rouge (+5 pts)\n" +
-                        "• Le joueur choisit ; s'il accomplit le gage → l'équipe gagne les points\n" +
-                        "• S'il refuse → tirage d'un autre membre (exclu) ; si tous refusent → 0 point\n\n" +
-                        "💡 Consentement requis pour les actions impliquant d'autres personnes.\n\n" +
-                        "📝 Indiquez l'équipe et si le gage a été accompli (et lequel).",
-                        5, Game.GameType.TOUS_ENSEMBLE)
-        );
-
-        gameRepository.saveAll(games);
-        logger.info("✅ {} jeux initialisés (soirée anniversaire)", games.size());
-        for (Game game : games) {
-            logger.info("   📋 Jeu #{}: {} ({})", game.getOrder(), game.getName(), game.getType());
+    public void initializeGames(Long eventId) {
+        Long id = eventService.resolve(eventId);
+        // Règle de score inconnue : échec avant toute écriture
+        gameCatalogue.games().forEach(entry -> scoringRules.compiled(
+                entry.scoringRule() == null ? ScoringRule.DEFAULT_NAME : entry.scoringRule()));
+
+        // Soirée verrouillée d'abord (même ordre que les saisies), journal clos : les saisies sur les jeux
+        // réinitialisés ne s'annulent plus
+        scoreLedger.closeGames(id);
+        gameResultRepository.deleteByEventId(id);
+
+        Map<String, Game> existing = new LinkedHashMap<>();
+        List<Game> removed = new ArrayList<>();
+        for (Game game : gameRepository.findByEventIdOrderByOrderAsc(id)) {
+            if (existing.putIfAbsent(game.getName(), game) != null) {
+                removed.add(game); // doublon d'un ancien catalogue
+            }
+        }
+        List<Game> created = new ArrayList<>();
+        int updated = 0;
+        for (GameCatalogue.Entry entry : gameCatalogue.games()) {
+            Game game = existing.remove(entry.name());
+            if (game == null) {
+                game = entry.newGame();
+                game.setEvent(eventService.reference(id));
+                created.add(game);
+            } else {
+                boolean changed = entry.applyTo(game);
+                if (changed || game.isCompleted()) {
+                    game.setCompleted(false);
+                    updated++;
+                }
+            }
         }
-        logger.info("═══════════════════════════════════════════════════════════");
+        removed.addAll(existing.values());
+
+        // Entités managées : seules les lignes modifiées sont écrites au flush
+        gameRepository.deleteAll(removed);
+        gameRepository.saveAll(created);
+        int count = gameCatalogue.games().size();
+        eventPublisher.publishEvent(new StateChange.GamesInitialized(id, count));
+        eventPublisher.publishEvent(new AuditEvent.GamesInitialized(Instant.now(), id,
+                gameCatalogue.games().stream().map(GameCatalogue.Entry::name).toList()));
+        logger.debug("Soirée {} : catalogue v{} ({} jeux) : {} créés, {} mis à jour, {} supprimés",
+                id, gameCatalogue.version(), count, created.size(), updated, removed.size());
+    }
+
+    /**
+     * Règles d'un jeu (texte long, servi à part de la liste des jeux)
+     */
+    public GameRules getRules(Long eventId, Long gameId) {
+        Game game = gameRepository.findByIdAndEventId(gameId, eventService.resolve(eventId))
+                .orElseThrow(() -> new RuntimeException("Jeu non trouvé"));
+        return new GameRules(game.getId(), game.getName(), game.getDescription());
     }
 
     /**
      * Récupérer tous les jeux dans l'ordre
      */
-    public List<Game> getAllGames() {
-        return gameRepository.findAllByOrderByOrderAsc();
+    public List<Game> getAllGames(Long eventId) {
+        return gameRepository.findByEventIdOrderByOrderAsc(eventService.resolve(eventId));
+    }
+
+    /**
+     * Récupérer les jeux dans l'ordre, sans leur description (une seule requête)
+     */
+    public List<GameSummary> getGameSummaries(Long eventId) {
+        return gameRepository.findSummariesByEventId(eventService.resolve(eventId));
     }
 
     /**
      * Enregistrer les résultats d'un jeu
      * positions : Map<teamId, position> où position = 1, 2, 3, ou 4
+     * Points et shots de chaque position : règle de score du jeu (RANKING), compilée une fois
+     *
+     * Équipes et joueurs sont chargés une seule fois ; les entités modifiées restent managées
+     * et Hibernate écrit tout en lots JDBC au commit (pas de save() unitaire).
      */
+    @Timed("soiree.games.results")
     @Transactional
-    public void saveGameResults(Long gameId, Map<Long, Integer> positions) {
-        Game game = gameRepository.findById(gameId)
+    public void saveGameResults(Long eventId, Long gameId, Map<Long, Integer> positions) {
+        Long id = eventService.resolve(eventId);
+        Game game = gameRepository.findForResultsByIdAndEventId(gameId, id)
                 .orElseThrow(() -> new RuntimeException("Jeu non trouvé"));
 
-        logger.info("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
-        logger.info("🎯 ENREGISTREMENT DES RÉSULTATS - Jeu: {} (ID: {})", game.getName(), gameId);
-        logger.info("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
+        // Une seule requête : toutes les équipes de la soirée et leurs joueurs
+        Map<Long, Team> teamsById = new LinkedHashMap<>();
+        for (Team team : teamRepository.findAllWithPlayersByEventId(id)) {
+            teamsById.put(team.getId(), team);
+        }
+
+        validatePositions(positions, teamsById.keySet());
+        CompiledScoringRule rule = scoringRules.forGame(game).require(ScoringRule.Kind.RANKING);
+
+        // Marquer le jeu comme complété (entité managée, écrite au flush)
+        game.setCompleted(true);
+
+        // Pour chaque équipe, créer un résultat
+        Instant now = Instant.now();
+        ScoreSubmission submission = scoreLedger.submission(id, ScoreEvent.Kind.GAME_RESULT, gameId);
+        List<GameResult> results = new ArrayList<>(positions.size());
+        List<AuditEvent.Placement> placements = new ArrayList<>(positions.size());
+        positions.forEach((teamId, position) -> {
+            Team team = teamsById.get(teamId);
+
+            // Créer le résultat (plus on est mal classé, plus on boit)
+            int shotsToAdd = rule.shots(position);
+            GameResult result = new GameResult(game, team, position, rule.points(position), shotsToAdd);
+            results.add(result);
+
+            // Mettre à jour les points de l'équipe
+            team.addPoints(result.getPointsEarned());
+            submission.teamPoints(teamId, result.getPointsEarned(), result);
+            eventPublisher.publishEvent(new StateChange.PointsChanged(id, teamId, team.getTotalPoints()));
+            giveShots(id, gameId, team, shotsToAdd, submission, now);
+            placements.add(new AuditEvent.Placement(teamId, team.getName(), position, result.getPointsEarned(),
+                    team.getTotalPoints(), shotsToAdd, team.getShotsCount()));
+        });
 
+        // Les INSERT de résultats partent en un seul lot au flush
+        gameResultRepository.saveAll(results);
+        scoreLedger.append(submission);
+        publishStandings(id, teamsById.values());
+        eventPublisher.publishEvent(new StateChange.GameCompleted(id, gameId));
+        eventPublisher.publishEvent(new AuditEvent.ResultRecorded(now, id, gameId, game.getName(), placements));
+        logger.debug("Soirée {} : résultats du jeu {} enregistrés ({} équipes)", id, gameId, positions.size());
+    }
+
+    /**
+     * Valider un classement : une position par équipe de la soirée, unique, entre 1 et le nombre d'équipes
+     */
+    public static void validatePositions(Map<Long, Integer> positions, Set<Long> teamIds) {
         // VALIDATION : Vérifier que toutes les équipes ont une position
-        List<Team> allTeams = teamRepository.findAll();
-        if (positions.size() != allTeams.size()) {
+        if (positions.size() != teamIds.size()) {
             throw new IllegalArgumentException("Toutes les équipes doivent avoir une position assignée");
         }
 
@@ -169,8 +201,11 @@ public class GameService {
         }
 
         // VALIDATION : Vérifier que les positions sont valides (1 à nombre d'équipes)
-        int maxPosition = allTeams.size();
+        int maxPosition = teamIds.size();
         for (Map.Entry<Long, Integer> entry : positions.entrySet()) {
+            if (!teamIds.contains(entry.getKey())) {
+                throw new RuntimeException("Équipe non trouvée");
+            }
             int position = entry.getValue();
             if (position < 1 || position > maxPosition) {
                 throw new IllegalArgumentException(
@@ -178,218 +213,196 @@ public class GameService {
                 );
             }
         }
-
-        logger.info("✅ Validations passées : {} équipes avec positions uniques", positions.size());
-
-        // Marquer le jeu comme complété
-        game.setCompleted(true);
-        gameRepository.save(game);
-        logger.info("✅ Jeu marqué comme complété");
-
-        // Pour chaque équipe, créer un résultat
-        positions.forEach((teamId, position) -> {
-            Team team = teamRepository.findById(teamId)
-                    .orElseThrow(() -> new RuntimeException("Équipe non trouvée"));
-
-            int pointsAvant = team.getTotalPoints();
-            int shotsAvant = team.getShotsCount();
-
-            // Créer le résultat
-            GameResult result = new GameResult(game, team, position);
-            gameResultRepository.save(result);
-
-            // Mettre à jour les points de l'équipe
-            team.addPoints(result.getPointsEarned());
-
-            // Ajouter les shots selon la position (plus on est mal classé, plus on boit)
-            // 1er = 0 shot, 2ème = 1 shot, 3ème = 2 shots, 4ème = 3 shots, etc.
-            int shotsToAdd = result.getShotsCount();
-            if (shotsToAdd > 0) {
-                team.addShots(shotsToAdd);
-                // Répartir aléatoirement les shots entre les joueurs de l'équipe (max 2 par joueur)
-                distributeShotsToPlayers(team, shotsToAdd);
-            }
-
-            teamRepository.save(team);
-
-            // Log détaillé pour chaque équipe
-            String medal = switch(position) {
-                case 1 -> "🥇";
-                case 2 -> "🥈";
-                case 3 -> "🥉";
-                default -> "4️⃣";
-            };
-            
-            int shotsAdded = team.getShotsCount() - shotsAvant;
-            logger.info("   {} Position {}: {} → {} points (+{}), {} shots (+{})", 
-                medal, position, team.getName(), 
-                team.getTotalPoints(), result.getPointsEarned(),
-                team.getShotsCount(), shotsAdded);
-        });
-
-        // Afficher le classement après ce jeu
-        logger.info("📊 CLASSEMENT APRÈS CE JEU:");
-        List<Team> teamsSorted = teamRepository.findAll();
-        teamsSorted.sort((t1, t2) -> Integer.compare(t2.getTotalPoints(), t1.getTotalPoints()));
-        for (int i = 0; i < teamsSorted.size(); i++) {
-            Team t = teamsSorted.get(i);
-            logger.info("   {}. {} - {} points - {} shots", i + 1, t.getName(), t.getTotalPoints(), t.getShotsCount());
-        }
-        logger.info("━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━━");
     }
 
     /**
      * Récupérer les résultats d'un jeu spécifique
      */
-    public List<GameResult> getGameResults(Long gameId) {
-        return gameResultRepository.findByGameId(gameId);
+    public List<GameResult> getGameResults(Long eventId, Long gameId) {
+        return gameResultRepository.findByEventIdAndGameId(eventService.resolve(eventId), gameId);
+    }
+
+    /**
+     * Résultats d'un jeu à plat, triés par position (une seule requête)
+     */
+    public List<ResultRow> getGameResultRows(Long eventId, Long gameId) {
+        return gameResultRepository.findRowsByGame(eventService.resolve(eventId), gameId);
     }
 
     /**
      * Récupérer l'historique d'une équipe
      */
-    public List<GameResult> getTeamHistory(Long teamId) {
-        return gameResultRepository.findByTeamId(teamId);
+    public List<GameResult> getTeamHistory(Long eventId, Long teamId) {
+        return gameResultRepository.findByEventIdAndTeamId(eventService.resolve(eventId), teamId);
+    }
+
+    /**
+     * Historique d'une équipe à plat (une seule requête)
+     */
+    public List<ResultRow> getTeamHistoryRows(Long eventId, Long teamId) {
+        return gameResultRepository.findRowsByTeam(eventService.resolve(eventId), teamId);
     }
 
     /**
      * Enregistrer les points bonus d'un gage
      * Pour le jeu "Gage", on ajoute directement des points à l'équipe sans créer de classement
+     * (règle BONUS : points libres ou limités aux valeurs de la règle)
      */
+    @Timed("soiree.games.gage")
     @Transactional
-    public void saveGageBonus(Long gameId, Long teamId, int points) {
-        logger.info("═══════════════════════════════════════════════════════════");
-        logger.info("🎲 ENREGISTREMENT POINTS BONUS GAGE");
-        logger.info("═══════════════════════════════════════════════════════════");
-        
-        Game game = gameRepository.findById(gameId)
+    public void saveGageBonus(Long eventId, Long gameId, Long teamId, int points) {
+        Long id = eventService.resolve(eventId);
+        Game game = gameRepository.findForResultsByIdAndEventId(gameId, id)
                 .orElseThrow(() -> new RuntimeException("Jeu non trouvé"));
         
-        Team team = teamRepository.findById(teamId)
+        Team team = teamRepository.findByIdAndEventId(teamId, id)
                 .orElseThrow(() -> new RuntimeException("Équipe non trouvée"));
-        
-        int pointsAvant = team.getTotalPoints();
+        CompiledScoringRule rule = scoringRules.forGame(game).require(ScoringRule.Kind.BONUS);
+        if (!rule.allowsBonus(points)) {
+            throw new IllegalArgumentException("Points non prévus par la règle '" + rule.name() + "' : " + points);
+        }
         
         // Ajouter les points bonus directement à l'équipe
         team.addPoints(points);
         teamRepository.save(team);
+        scoreLedger.append(scoreLedger.submission(id, ScoreEvent.Kind.GAGE_BONUS, gameId)
+                .teamPoints(teamId, points, null));
+        publishStandings(id, List.of(team));
+        eventPublisher.publishEvent(new StateChange.PointsChanged(id, teamId, team.getTotalPoints()));
         
         // Marquer le jeu comme complété
         game.setCompleted(true);
         gameRepository.save(game);
-        
-        logger.info("✅ Points bonus ajoutés: {} → {} points (+{})", 
-            team.getName(), team.getTotalPoints(), points);
-        logger.info("═══════════════════════════════════════════════════════════");
+        eventPublisher.publishEvent(new StateChange.GameCompleted(id, gameId));
+        eventPublisher.publishEvent(new AuditEvent.BonusAwarded(Instant.now(), id, gameId, teamId,
+                points, team.getTotalPoints()));
     }
 
     /**
-     * Enregistrer le résultat Whisky Undercover (Mister White).
-     * Si éliminé : équipe Mister White 0 pt, les autres 2 pts chacune.
-     * Si non éliminé : équipe Mister White 3 pts, les autres 0.
+     * Enregistrer le résultat Whisky Undercover (Mister White), selon la règle MISTER_WHITE du jeu.
+     * Règle par défaut : si éliminé, équipe Mister White 0 pt (dernière), les autres 2 pts chacune ;
+     * si non éliminé, équipe Mister White 3 pts (1re), les autres 0.
      */
+    @Timed("soiree.games.undercover")
     @Transactional
-    public void saveUndercoverOutcome(Long gameId, Long misterWhiteTeamId, Boolean eliminated, Integer eliminatedInRound) {
-        Game game = gameRepository.findById(gameId)
+    public void saveUndercoverOutcome(Long eventId, Long gameId, Long misterWhiteTeamId, Boolean eliminated, Integer eliminatedInRound) {
+        Long id = eventService.resolve(eventId);
+        Game game = gameRepository.findForResultsByIdAndEventId(gameId, id)
                 .orElseThrow(() -> new RuntimeException("Jeu non trouvé"));
-        List<Team> allTeams = teamRepository.findAll();
-        Team misterWhiteTeam = teamRepository.findById(misterWhiteTeamId)
+        List<Team> allTeams = teamRepository.findAllWithPlayersByEventId(id);
+        Team misterWhiteTeam = allTeams.stream()
+                .filter(t -> t.getId().equals(misterWhiteTeamId))
+                .findFirst()
                 .orElseThrow(() -> new IllegalArgumentException("Équipe Mister White non trouvée"));
-        if (!allTeams.stream().anyMatch(t -> t.getId().equals(misterWhiteTeamId))) {
-            throw new IllegalArgumentException("L'équipe Mister White doit faire partie des équipes de la soirée");
-        }
-        if (eliminated == null) {
-            eliminated = false;
-        }
-        if (eliminated && (eliminatedInRound == null || eliminatedInRound < 1 || eliminatedInRound > 3)) {
+        boolean caught = Boolean.TRUE.equals(eliminated);
+        if (caught && (eliminatedInRound == null || eliminatedInRound < 1 || eliminatedInRound > 3)) {
             throw new IllegalArgumentException("Si Mister White est éliminé, indiquez le tour (1, 2 ou 3)");
         }
+        CompiledScoringRule rule = scoringRules.forGame(game).require(ScoringRule.Kind.MISTER_WHITE);
 
         game.setCompleted(true);
-        gameRepository.save(game);
 
-        List<Team> otherTeams = allTeams.stream().filter(t -> !t.getId().equals(misterWhiteTeamId)).toList();
-        int pos = 1;
-        if (Boolean.TRUE.equals(eliminated)) {
-            // Mister White éliminé : son équipe 0 pt (position 4), les autres 2 pts chacune (positions 1,2,3)
-            for (Team t : otherTeams) {
-                GameResult r = new GameResult(game, t, pos, 2);
-                gameResultRepository.save(r);
-                t.addPoints(2);
-                teamRepository.save(t);
-                pos++;
-            }
-            GameResult rWhite = new GameResult(game, misterWhiteTeam, 4, 0);
-            gameResultRepository.save(rWhite);
-            logger.info("🕵️ Whisky Undercover: Mister White (équipe {}) éliminé au tour {} → 0 pt, les autres 2 pts", misterWhiteTeam.getName(), eliminatedInRound);
-        } else {
-            // Mister White survivant : son équipe 3 pts (1re), les autres 0 (2e, 3e, 4e)
-            GameResult rWhite = new GameResult(game, misterWhiteTeam, 1, 3);
-            gameResultRepository.save(rWhite);
-            misterWhiteTeam.addPoints(3);
-            teamRepository.save(misterWhiteTeam);
-            pos = 2;
-            for (Team t : otherTeams) {
-                GameResult r = new GameResult(game, t, pos, 0);
-                gameResultRepository.save(r);
-                pos++;
-            }
-            logger.info("🕵️ Whisky Undercover: Mister White (équipe {}) n'a pas été éliminé → 3 pts, les autres 0", misterWhiteTeam.getName());
+        // Classement : Mister White dernier s'il est éliminé, premier sinon
+        List<Team> ranked = new ArrayList<>(allTeams.size());
+        if (!caught) {
+            ranked.add(misterWhiteTeam);
         }
+        allTeams.stream().filter(t -> !t.getId().equals(misterWhiteTeamId)).forEach(ranked::add);
+        if (caught) {
+            ranked.add(misterWhiteTeam);
+        }
+
+        Instant now = Instant.now();
+        ScoreSubmission submission = scoreLedger.submission(id, ScoreEvent.Kind.UNDERCOVER, gameId);
+        List<GameResult> results = new ArrayList<>(ranked.size());
+        List<AuditEvent.Placement> placements = new ArrayList<>(ranked.size());
+        int position = 1;
+        for (Team team : ranked) {
+            boolean isMisterWhite = team == misterWhiteTeam;
+            int shotsToAdd = rule.misterWhiteShots(isMisterWhite, caught);
+            GameResult result = new GameResult(game, team, position++,
+                    rule.misterWhitePoints(isMisterWhite, caught), shotsToAdd);
+            results.add(result);
+            team.addPoints(result.getPointsEarned());
+            submission.teamPoints(team.getId(), result.getPointsEarned(), result);
+            eventPublisher.publishEvent(new StateChange.PointsChanged(id, team.getId(), team.getTotalPoints()));
+            giveShots(id, gameId, team, shotsToAdd, submission, now);
+            placements.add(new AuditEvent.Placement(team.getId(), team.getName(), result.getPosition(),
+                    result.getPointsEarned(), team.getTotalPoints(), shotsToAdd, team.getShotsCount()));
+        }
+        gameResultRepository.saveAll(results);
+        scoreLedger.append(submission);
+        publishStandings(id, allTeams);
+        eventPublisher.publishEvent(new StateChange.GameCompleted(id, gameId));
+        eventPublisher.publishEvent(new AuditEvent.ResultRecorded(now, id, gameId, game.getName(), placements));
     }
 
     /**
-     * Répartit aléatoirement les shots entre les joueurs d'une équipe
-     * Contrainte : maximum 2 shots par joueur
-     * 
-     * @param team L'équipe concernée
-     * @param totalShots Le nombre total de shots à répartir
+     * Attribuer une règle de score à un jeu (les résultats déjà saisis gardent leurs points et shots)
      */
-    private void distributeShotsToPlayers(Team team, int totalShots) {
-        List<Player> players = new ArrayList<>(team.getPlayers());
-        
-        if (players.isEmpty()) {
-            logger.warn("⚠️  Équipe {} n'a pas de joueurs, les shots ne peuvent pas être répartis", team.getName());
+    @Transactional
+    public void assignScoringRule(Long eventId, Long gameId, String ruleName) {
+        Long id = eventService.resolve(eventId);
+        Game game = gameRepository.findByIdAndEventId(gameId, id)
+                .orElseThrow(() -> new RuntimeException("Jeu non trouvé"));
+        CompiledScoringRule rule = scoringRules.compiled(ruleName);
+        game.setScoringRule(rule.name());
+        eventPublisher.publishEvent(new StateChange.ScoringRuleAssigned(id, gameId, rule.name()));
+    }
+
+    /**
+     * Shots dus par une équipe : répartis entre ses joueurs, inscrits au journal et publiés
+     */
+    private void giveShots(Long eventId, Long gameId, Team team, int shots, ScoreSubmission submission, Instant now) {
+        if (shots <= 0) {
             return;
         }
+        team.addShots(shots);
+        // Répartir les shots entre les joueurs de l'équipe (les moins servis d'abord, plafonnés)
+        Map<Long, Integer> given = distributeShotsToPlayers(gameId, team, shots);
+        submission.teamShots(team.getId(), shots).playerShots(team.getId(), given);
+        eventPublisher.publishEvent(shotsDistributed(eventId, team));
+        eventPublisher.publishEvent(new AuditEvent.ShotsDistributed(now, eventId, gameId, team.getId(), shots,
+                given, shots - given.values().stream().mapToInt(Integer::intValue).sum()));
+    }
 
-        // Mélanger aléatoirement la liste des joueurs pour une distribution aléatoire
-        Collections.shuffle(players, new Random());
-
-        int remainingShots = totalShots;
-        int playerIndex = 0;
-
-        logger.info("   🎲 Répartition aléatoire de {} shots pour l'équipe {}:", totalShots, team.getName());
-
-        // Distribuer les shots en respectant la contrainte (max 2 par joueur)
-        while (remainingShots > 0 && playerIndex < players.size()) {
-            Player player = players.get(playerIndex);
-            
-            // Calculer combien de shots ce joueur peut recevoir (max 2, ou le reste s'il en reste moins)
-            int shotsForThisPlayer = Math.min(2, remainingShots);
-            
-            player.addShots(shotsForThisPlayer);
-            playerRepository.save(player); // Sauvegarder le joueur avec ses shots
-            remainingShots -= shotsForThisPlayer;
-            
-            logger.info("      → {} : {} shot{}", player.getName(), shotsForThisPlayer, shotsForThisPlayer > 1 ? "s" : "");
-            
-            playerIndex++;
-            
-            // Si on a distribué tous les shots, on s'arrête
-            if (remainingShots <= 0) {
-                break;
-            }
-            
-            // Si on a fait le tour de tous les joueurs et qu'il reste des shots,
-            // on recommence depuis le début
-            if (playerIndex >= players.size()) {
-                playerIndex = 0;
-            }
+    /**
+     * Signaler au classement les équipes modifiées (appliqué après commit)
+     */
+    private void publishStandings(Long eventId, Collection<Team> teams) {
+        List<TeamStanding> standings = teams.stream().map(TeamStanding::of).toList();
+        eventPublisher.publishEvent(StandingsChangedEvent.updated(eventId, standings));
+    }
+
+    private static StateChange.ShotsDistributed shotsDistributed(Long eventId, Team team) {
+        Map<Long, Integer> playerShots = new LinkedHashMap<>();
+        for (Player player : team.getPlayers()) {
+            playerShots.put(player.getId(), player.getShotsCount());
         }
+        return new StateChange.ShotsDistributed(eventId, team.getId(), team.getShotsCount(), playerShots);
+    }
 
-        if (remainingShots > 0) {
-            logger.warn("   ⚠️  Il reste {} shots non distribués (tous les joueurs ont déjà 2 shots)", remainingShots);
+    /**
+     * Répartit les shots d'un jeu entre les joueurs d'une équipe (ShotAllocator : les moins servis d'abord,
+     * plafonds par jeu et par soirée) ; joueurs managés, mis à jour en un lot au flush
+     *
+     * @return shots donnés par joueur (playerId -> shots), pour le journal d'audit
+     */
+    private Map<Long, Integer> distributeShotsToPlayers(Long gameId, Team team, int totalShots) {
+        if (team.getPlayers().isEmpty()) {
+            logger.warn("Équipe {} sans joueurs : {} shots non répartis", team.getName(), totalShots);
+            return Map.of();
+        }
+        // Ordre stable (par id) : même graine, même répartition
+        List<Player> players = team.getPlayers().stream()
+                .sorted(Comparator.comparing(Player::getId))
+                .toList();
+        Map<Long, Integer> given = shotAllocator.distribute(players, totalShots,
+                shotAllocator.seedFor(gameId, team.getId()));
+        int remaining = totalShots - given.values().stream().mapToInt(Integer::intValue).sum();
+        if (remaining > 0) {
+            logger.warn("Équipe {} : {} shots non distribués (plafonds atteints)", team.getName(), remaining);
         }
+        return given;
     }
 }
\ No newline at end of file
@@ -0,0 +1,132 @@
+package com.soiree.service;
+
+import com.soiree.dto.TeamStanding;
+import com.soiree.model.Team;
+import com.soiree.repository.TeamRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Classement matérialisé en mémoire, un tableau indépendant par soirée
+ * - écritures : mises à jour incrémentales après commit (StandingsChangedEvent)
+ * - lectures : snapshot immuable déjà trié et classé, sans accès à la base
+ */
+@Service
+@RequiredArgsConstructor
+public class LeaderboardService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeaderboardService.class);
+
+    // Points décroissants, puis moins de shots, puis id (ordre total et stable)
+    static final Comparator<TeamStanding> ORDER = Comparator
+            .comparingInt(TeamStanding::totalPoints).reversed()
+            .thenComparingInt(TeamStanding::shotsCount)
+            .thenComparing(TeamStanding::id);
+
+    private final TeamRepository teamRepository;
+
+    private final Map<Long, Board> boards = new ConcurrentHashMap<>();
+
+    /**
+     * Classement courant d'une soirée (copie immuable, O(1))
+     */
+    @Timed("soiree.leaderboard.read")
+    public List<TeamStanding> standings(Long eventId) {
+        Board board = boards.get(eventId);
+        return board == null ? List.of() : board.snapshot;
+    }
+
+    /**
+     * Reconstruire les classements depuis la base au démarrage
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        Map<Long, List<TeamStanding>> byEvent = new HashMap<>();
+        for (Team team : teamRepository.findAllWithPlayers()) {
+            if (team.getEvent() != null) {
+                byEvent.computeIfAbsent(team.getEvent().getId(), id -> new ArrayList<>()).add(TeamStanding.of(team));
+            }
+        }
+        boards.clear();
+        byEvent.forEach((eventId, teams) -> apply(StandingsChangedEvent.replaced(eventId, teams)));
+        logger.info("Classements reconstruits : {} soirée(s)", byEvent.size());
+    }
+
+    /**
+     * Appliquer un changement une fois la transaction validée
+     */
+    @TransactionalEventListener
+    public void onStandingsChanged(StandingsChangedEvent event) {
+        apply(event);
+    }
+
+    void apply(StandingsChangedEvent event) {
+        boards.computeIfAbsent(event.eventId(), id -> new Board()).apply(event);
+    }
+
+    /**
+     * Rang "compétition" : les équipes à égalité de points partagent le même rang
+     * (équipes déjà triées selon ORDER)
+     */
+    static List<TeamStanding> ranked(Iterable<TeamStanding> sorted) {
+        List<TeamStanding> ranked = new ArrayList<>();
+        int rank = 0;
+        int previousPoints = Integer.MIN_VALUE;
+        for (TeamStanding team : sorted) {
+            if (team.totalPoints() != previousPoints) {
+                rank = ranked.size() + 1;
+                previousPoints = team.totalPoints();
+            }
+            ranked.add(team.withRank(rank));
+        }
+        return List.copyOf(ranked);
+    }
+
+    /**
+     * Classement d'une soirée : verrou propre, aucune contention entre soirées
+     */
+    private static final class Board {
+
+        private final TreeSet<TeamStanding> sorted = new TreeSet<>(ORDER);
+        private final Map<Long, TeamStanding> byId = new HashMap<>();
+        private volatile List<TeamStanding> snapshot = List.of();
+
+        synchronized void apply(StandingsChangedEvent event) {
+            if (event.replaceAll()) {
+                sorted.clear();
+                byId.clear();
+            }
+            for (Long teamId : event.removedTeamIds()) {
+                TeamStanding previous = byId.remove(teamId);
+                if (previous != null) {
+                    sorted.remove(previous);
+                }
+            }
+            for (TeamStanding team : event.teams()) {
+                TeamStanding previous = byId.put(team.id(), team);
+                if (previous != null) {
+                    sorted.remove(previous);
+                }
+                sorted.add(team);
+            }
+            snapshot = ranked(sorted);
+        }
+
+    }
+}
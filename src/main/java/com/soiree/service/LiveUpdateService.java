@@ -0,0 +1,322 @@
+package com.soiree.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Diffusion des changements aux clients connectés en Server-Sent Events
+ * - chaque client a son propre tampon borné, regroupé par clé (la dernière valeur gagne)
+ * - l'envoi se fait sur un pool dédié : un téléphone lent ne bloque pas la transaction qui a publié
+ * - chaque écriture a une échéance (app.stream.write-timeout-ms) : passé ce délai, le client est retiré,
+ *   le thread bloqué est interrompu et le pool d'envoi grandit d'un thread tant qu'il ne rend pas la main.
+ *   Des téléphones figés (Wi-Fi coupé, tampons TCP pleins) ne privent donc jamais les autres de mises à jour.
+ *   Le flux du client bloqué est fermé dès que son écriture rend la main.
+ * - tampon plein : on le vide et on renvoie un snapshot complet au client
+ */
+@Service
+public class LiveUpdateService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LiveUpdateService.class);
+
+    private final LeaderboardService leaderboardService;
+    private final int bufferSize;
+    private final long timeoutMillis;
+    private final long writeTimeoutMillis;
+
+    // Abonnés par soirée : un changement n'est poussé qu'aux clients de sa soirée
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor senders;
+    private final ScheduledExecutorService heartbeat;
+
+    public LiveUpdateService(LeaderboardService leaderboardService,
+                             @Value("${app.stream.buffer-size:64}") int bufferSize,
+                             @Value("${app.stream.timeout-ms:1800000}") long timeoutMillis,
+                             @Value("${app.stream.sender-threads:4}") int senderThreads,
+                             @Value("${app.stream.heartbeat-seconds:20}") long heartbeatSeconds,
+                             @Value("${app.stream.write-timeout-ms:5000}") long writeTimeoutMillis) {
+        this.leaderboardService = leaderboardService;
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeoutMillis;
+        this.writeTimeoutMillis = writeTimeoutMillis;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.senders = new ThreadPoolExecutor(senderThreads, senderThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+            Thread thread = new Thread(r, "sse-sender-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "sse-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
+        heartbeat.scheduleAtFixedRate(this::ping, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Ouvrir un flux pour un nouveau client (le premier message est le classement complet)
+     */
+    public SseEmitter subscribe(Long eventId) {
+        return subscribe(eventId, new SseEmitter(timeoutMillis));
+    }
+
+    SseEmitter subscribe(Long eventId, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(eventId, emitter);
+        subscribers.computeIfAbsent(eventId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+        subscriber.requestSnapshot();
+        schedule(subscriber);
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        Set<Subscriber> eventSubscribers = subscribers.get(subscriber.eventId);
+        if (eventSubscribers != null) {
+            eventSubscribers.remove(subscriber);
+        }
+    }
+
+    private boolean isSubscribed(Subscriber subscriber) {
+        Set<Subscriber> eventSubscribers = subscribers.get(subscriber.eventId);
+        return eventSubscribers != null && eventSubscribers.contains(subscriber);
+    }
+
+    /**
+     * Appelé après commit : empiler le changement chez chaque client, sans jamais écrire ici
+     */
+    @TransactionalEventListener
+    public void onStateChange(StateChange change) {
+        publish(change);
+    }
+
+    /**
+     * Pousser un changement qui ne passe pas par une transaction (état tenu en mémoire : manche de Blindtest)
+     */
+    public void publish(StateChange change) {
+        for (Subscriber subscriber : subscribers.getOrDefault(change.eventId(), Set.of())) {
+            subscriber.offer(change);
+            schedule(subscriber);
+        }
+    }
+
+    private void ping() {
+        for (Set<Subscriber> eventSubscribers : subscribers.values()) {
+            for (Subscriber subscriber : eventSubscribers) {
+                subscriber.requestPing();
+                schedule(subscriber);
+            }
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            Batch batch;
+            while ((batch = subscriber.take()) != null) {
+                send(subscriber, batch);
+            }
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("Client SSE déconnecté : {}", e.getMessage());
+            unsubscribe(subscriber);
+            subscriber.emitter.completeWithError(e);
+        } finally {
+            subscriber.draining.set(false);
+        }
+        // Un changement a pu arriver entre le dernier take() et la remise à false
+        if (isSubscribed(subscriber) && subscriber.hasPending()) {
+            schedule(subscriber);
+        }
+    }
+
+    /**
+     * Écrire un lot sous échéance : si l'écriture dépasse writeTimeoutMillis, expire() libère le client
+     */
+    private void send(Subscriber subscriber, Batch batch) throws IOException {
+        subscriber.startWrite();
+        ScheduledFuture<?> deadline = heartbeat.schedule(() -> expire(subscriber), writeTimeoutMillis, TimeUnit.MILLISECONDS);
+        try {
+            write(subscriber, batch);
+        } finally {
+            deadline.cancel(false);
+            if (subscriber.endWrite()) {
+                Thread.interrupted(); // l'interruption d'expire() ne doit pas toucher la tâche suivante du pool
+                resizeSenders(-1);
+                throw new IOException("Délai d'écriture dépassé (" + writeTimeoutMillis + " ms)");
+            }
+        }
+    }
+
+    /**
+     * Échéance atteinte pendant une écriture : client retiré, thread interrompu, un thread d'envoi de plus
+     * tant que celui-ci reste bloqué
+     */
+    private void expire(Subscriber subscriber) {
+        if (subscriber.expire()) {
+            logger.info("Client SSE bloqué depuis {} ms sur la soirée {} : déconnecté", writeTimeoutMillis, subscriber.eventId);
+            unsubscribe(subscriber);
+            resizeSenders(1);
+        }
+    }
+
+    private void resizeSenders(int delta) {
+        synchronized (senders) {
+            int size = senders.getCorePoolSize() + delta;
+            // Le maximum ne doit jamais passer sous le nombre de threads de base
+            if (delta > 0) {
+                senders.setMaximumPoolSize(size);
+                senders.setCorePoolSize(size);
+            } else {
+                senders.setCorePoolSize(size);
+                senders.setMaximumPoolSize(size);
+            }
+        }
+    }
+
+    private void write(Subscriber subscriber, Batch batch) throws IOException {
+        SseEmitter emitter = subscriber.emitter;
+        if (batch.snapshot()) {
+            emitter.send(SseEmitter.event().name("snapshot")
+                    .data(leaderboardService.standings(subscriber.eventId), MediaType.APPLICATION_JSON));
+        }
+        for (StateChange change : batch.changes()) {
+            emitter.send(SseEmitter.event().name(change.type()).data(change, MediaType.APPLICATION_JSON));
+        }
+        if (batch.ping()) {
+            emitter.send(SseEmitter.event().comment("ping"));
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        heartbeat.shutdownNow();
+        senders.shutdownNow();
+        subscribers.values().forEach(set -> set.forEach(s -> s.emitter.complete()));
+        subscribers.clear();
+    }
+
+    private record Batch(boolean snapshot, List<StateChange> changes, boolean ping) {
+    }
+
+    /**
+     * Tampon d'un client : au plus bufferSize changements distincts en attente
+     */
+    private final class Subscriber {
+
+        private final Long eventId;
+        private final SseEmitter emitter;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final LinkedHashMap<String, StateChange> pending = new LinkedHashMap<>();
+        private boolean snapshot;
+        private boolean ping;
+        // Écriture en cours : thread d'envoi et échéance dépassée, sous writeGuard
+        private final Object writeGuard = new Object();
+        private Thread writer;
+        private boolean expired;
+
+        private Subscriber(Long eventId, SseEmitter emitter) {
+            this.eventId = eventId;
+            this.emitter = emitter;
+        }
+
+        synchronized void offer(StateChange change) {
+            if (change.supersedesAll()) {
+                pending.clear();
+                snapshot = true;
+            }
+            StateChange older = pending.remove(change.key());
+            pending.put(change.key(), older == null ? change : change.mergeWith(older));
+            if (pending.size() > bufferSize) {
+                // Client trop lent : on abandonne le détail, il recevra un snapshot complet
+                pending.clear();
+                snapshot = true;
+            }
+        }
+
+        synchronized void requestSnapshot() {
+            snapshot = true;
+        }
+
+        synchronized void requestPing() {
+            ping = true;
+        }
+
+        synchronized boolean hasPending() {
+            return snapshot || ping || !pending.isEmpty();
+        }
+
+        void startWrite() {
+            synchronized (writeGuard) {
+                writer = Thread.currentThread();
+            }
+        }
+
+        /**
+         * Fin d'écriture : vrai si l'échéance a été dépassée (toute interruption a déjà eu lieu)
+         */
+        boolean endWrite() {
+            synchronized (writeGuard) {
+                writer = null;
+                return expired;
+            }
+        }
+
+        /**
+         * Échéance : faux si l'écriture s'est terminée entre-temps
+         */
+        boolean expire() {
+            synchronized (writeGuard) {
+                if (writer == null) {
+                    return false;
+                }
+                expired = true;
+                writer.interrupt();
+                writer = null;
+                return true;
+            }
+        }
+
+        synchronized Batch take() {
+            if (!hasPending()) {
+                return null;
+            }
+            Batch batch = new Batch(snapshot, new ArrayList<>(pending.values()), ping);
+            pending.clear();
+            snapshot = false;
+            ping = false;
+            return batch;
+        }
+    }
+}
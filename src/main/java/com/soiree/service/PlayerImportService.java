@@ -0,0 +1,345 @@
+package com.soiree.service;
+
+import com.soiree.audit.AuditEvent;
+import com.soiree.dto.ImportReport;
+import com.soiree.model.Event;
+import com.soiree.model.Player;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Import en masse des inscrits d'une soirée (CSV ou JSON) dans le vivier de joueurs
+ *
+ * Le flux est lu ligne à ligne (CSV) ou jeton par jeton (JSON) : mémoire constante quel que soit
+ * le nombre de lignes. Chaque ligne est validée ; les lignes valides sont insérées par lots JDBC
+ * (app.import.batch-size), les autres sont listées dans le bilan.
+ * Les joueurs importés n'ont pas d'équipe : POST /api/teams/create sans "players" les répartit.
+ */
+@Service
+public class PlayerImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlayerImportService.class);
+
+    static final int MAX_NAME_LENGTH = 100;
+    static final int MAX_SKILL = 10;
+
+    public enum Format { CSV, JSON }
+
+    private final EventService eventService;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final int maxErrors;
+
+    public PlayerImportService(EventService eventService,
+                               EntityManager entityManager,
+                               ObjectMapper objectMapper,
+                               ApplicationEventPublisher eventPublisher,
+                               @Value("${app.import.batch-size:500}") int batchSize,
+                               @Value("${app.import.max-errors:1000}") int maxErrors) {
+        this.eventService = eventService;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxErrors = maxErrors;
+    }
+
+    /**
+     * Importer les joueurs du flux dans la soirée (tout ou rien en cas d'erreur de lecture :
+     * un JSON mal formé ou un CSV sans en-tête annule l'import, une ligne invalide est seulement rejetée)
+     */
+    @Timed("soiree.players.import")
+    @Transactional(rollbackFor = IOException.class)
+    public ImportReport importPlayers(Long eventId, InputStream input, Format format) throws IOException {
+        Long id = eventService.resolve(eventId);
+        entityManager.unwrap(Session.class).setJdbcBatchSize(batchSize);
+
+        int imported = 0;
+        int rejected = 0;
+        List<ImportReport.RowError> errors = new ArrayList<>();
+        Event event = eventService.reference(id);
+        try (RowReader reader = format == Format.CSV ? new CsvRowReader(input) : new JsonRowReader(input)) {
+            for (RawRow raw = reader.next(); raw != null; raw = reader.next()) {
+                String error = raw.error() != null ? raw.error() : validate(raw);
+                if (error != null) {
+                    rejected++;
+                    if (errors.size() < maxErrors) {
+                        errors.add(new ImportReport.RowError(raw.row(), error));
+                    }
+                    continue;
+                }
+                Player player = new Player(raw.name().strip(), gender(raw.gender()));
+                player.setSkill(skill(raw.skill()));
+                player.setEvent(event);
+                entityManager.persist(player);
+                if (++imported % batchSize == 0) {
+                    // Lot envoyé, contexte vidé : la mémoire ne grossit pas avec le fichier
+                    entityManager.flush();
+                    entityManager.clear();
+                    event = eventService.reference(id);
+                }
+            }
+        }
+        entityManager.flush();
+
+        eventPublisher.publishEvent(new StateChange.PlayersImported(id, imported));
+        eventPublisher.publishEvent(new AuditEvent.PlayersImported(Instant.now(), id, format.name(), imported, rejected));
+        logger.debug("Soirée {} : {} joueurs importés, {} lignes rejetées", id, imported, rejected);
+        return new ImportReport(imported, rejected, errors, rejected > errors.size());
+    }
+
+    /**
+     * Message d'erreur de la ligne, null si elle est valide
+     */
+    static String validate(RawRow row) {
+        String name = row.name() == null ? "" : row.name().strip();
+        if (name.isEmpty()) {
+            return "Nom manquant";
+        }
+        if (name.length() > MAX_NAME_LENGTH) {
+            return "Nom trop long (" + MAX_NAME_LENGTH + " caractères maximum)";
+        }
+        if (gender(row.gender()) == null) {
+            return "Genre invalide : '" + nullToEmpty(row.gender()) + "' (HOMME ou FEMME attendu)";
+        }
+        String skill = nullToEmpty(row.skill()).strip();
+        if (!skill.isEmpty()) {
+            int value;
+            try {
+                value = Integer.parseInt(skill);
+            } catch (NumberFormatException e) {
+                return "Niveau invalide : '" + skill + "' (entier attendu)";
+            }
+            if (value < 0 || value > MAX_SKILL) {
+                return "Niveau hors limites : " + value + " (0 à " + MAX_SKILL + ")";
+            }
+        }
+        return null;
+    }
+
+    // HOMME/H/M/MALE et FEMME/F/FEMALE/W, insensible à la casse ; null si non reconnu
+    static Player.Gender gender(String value) {
+        return switch (nullToEmpty(value).strip().toUpperCase(Locale.ROOT)) {
+            case "HOMME", "H", "M", "MALE" -> Player.Gender.HOMME;
+            case "FEMME", "F", "W", "FEMALE" -> Player.Gender.FEMME;
+            default -> null;
+        };
+    }
+
+    private static int skill(String value) {
+        String skill = nullToEmpty(value).strip();
+        return skill.isEmpty() ? 0 : Integer.parseInt(skill);
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    /**
+     * Ligne brute telle que lue (error : ligne illisible, rejetée sans validation)
+     */
+    record RawRow(int row, String name, String gender, String skill, String error) {
+    }
+
+    private interface RowReader extends AutoCloseable {
+
+        /** Ligne suivante, null en fin de flux */
+        RawRow next() throws IOException;
+
+        @Override
+        void close() throws IOException;
+    }
+
+    /**
+     * CSV avec en-tête (name/nom, gender/genre/sexe, skill/niveau ; ordre libre),
+     * séparateur ',' ou ';' deviné sur l'en-tête, champs entre guillemets acceptés (sur une seule ligne)
+     */
+    static final class CsvRowReader implements RowReader {
+
+        private final BufferedReader reader;
+        private final char separator;
+        private final int nameColumn;
+        private final int genderColumn;
+        private final int skillColumn;
+        private int line;
+
+        CsvRowReader(InputStream input) throws IOException {
+            this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+            String header = nextNonBlankLine();
+            if (header == null) {
+                throw new IllegalArgumentException("Fichier CSV vide");
+            }
+            if (header.startsWith("\uFEFF")) {
+                header = header.substring(1); // BOM laissé par Excel
+            }
+            this.separator = header.indexOf(';') >= 0 ? ';' : ',';
+            List<String> columns = split(header, separator);
+            int name = -1;
+            int gender = -1;
+            int skill = -1;
+            for (int c = 0; c < columns.size(); c++) {
+                switch (columns.get(c).strip().toLowerCase(Locale.ROOT)) {
+                    case "name", "nom" -> name = c;
+                    case "gender", "genre", "sexe" -> gender = c;
+                    case "skill", "niveau" -> skill = c;
+                    default -> { } // colonne ignorée
+                }
+            }
+            if (name < 0 || gender < 0) {
+                throw new IllegalArgumentException("En-tête CSV invalide : colonnes name et gender attendues");
+            }
+            this.nameColumn = name;
+            this.genderColumn = gender;
+            this.skillColumn = skill;
+        }
+
+        @Override
+        public RawRow next() throws IOException {
+            String text = nextNonBlankLine();
+            if (text == null) {
+                return null;
+            }
+            List<String> fields = split(text, separator);
+            if (fields == null) {
+                return new RawRow(line, null, null, null, "Guillemet non fermé");
+            }
+            return new RawRow(line, field(fields, nameColumn), field(fields, genderColumn),
+                    field(fields, skillColumn), null);
+        }
+
+        private String nextNonBlankLine() throws IOException {
+            String text;
+            do {
+                text = reader.readLine();
+                line++;
+            } while (text != null && text.isBlank());
+            return text;
+        }
+
+        private static String field(List<String> fields, int column) {
+            return column >= 0 && column < fields.size() ? fields.get(column) : null;
+        }
+
+        /**
+         * Découpe d'une ligne ("" = guillemet échappé) ; null si un guillemet n'est pas fermé
+         */
+        static List<String> split(String text, char separator) {
+            List<String> fields = new ArrayList<>();
+            StringBuilder current = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                        current.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        current.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == separator) {
+                    fields.add(current.toString());
+                    current.setLength(0);
+                } else {
+                    current.append(c);
+                }
+            }
+            if (quoted) {
+                return null;
+            }
+            fields.add(current.toString());
+            return fields;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    /**
+     * Tableau JSON d'objets { "name": ..., "gender": ..., "skill": ... } lu jeton par jeton
+     */
+    final class JsonRowReader implements RowReader {
+
+        private final JsonParser parser;
+        private int row;
+
+        JsonRowReader(InputStream input) {
+            this.parser = objectMapper.createParser(input);
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Tableau JSON de joueurs attendu");
+            }
+        }
+
+        @Override
+        public RawRow next() {
+            JsonToken token = parser.nextToken();
+            if (token == null || token == JsonToken.END_ARRAY) {
+                return null;
+            }
+            row++;
+            if (token != JsonToken.START_OBJECT) {
+                parser.skipChildren();
+                return new RawRow(row, null, null, null, "Objet joueur attendu");
+            }
+            String name = null;
+            String gender = null;
+            String skill = null;
+            String error = null;
+            while (parser.nextToken() == JsonToken.PROPERTY_NAME) {
+                String property = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (value.isStructStart()) {
+                    parser.skipChildren();
+                    if (isKnown(property)) {
+                        error = "Valeur invalide pour '" + property + "'";
+                    }
+                    continue;
+                }
+                String text = value == JsonToken.VALUE_NULL ? null : parser.getString();
+                switch (property) {
+                    case "name" -> name = text;
+                    case "gender" -> gender = text;
+                    case "skill" -> skill = text;
+                    default -> { } // champ ignoré
+                }
+            }
+            return new RawRow(row, name, gender, skill, error);
+        }
+
+        private static boolean isKnown(String property) {
+            return "name".equals(property) || "gender".equals(property) || "skill".equals(property);
+        }
+
+        @Override
+        public void close() {
+            parser.close();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.soiree.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.SplittableRandom;
+
+/**
+ * Ancienne répartition : chaque genre est mélangé puis distribué en round-robin
+ * (ignore niveau et anciennes équipes)
+ */
+@Component
+@ConditionalOnProperty(name = "app.teams.balancer", havingValue = "round-robin")
+public class RoundRobinBalancer implements TeamBalancer {
+
+    @Override
+    public int[] assign(Problem problem) {
+        int n = problem.size();
+        int[] men = new int[n];
+        int[] women = new int[n];
+        int menCount = 0;
+        int womenCount = 0;
+        for (int i = 0; i < n; i++) {
+            if (problem.male()[i]) {
+                men[menCount++] = i;
+            } else {
+                women[womenCount++] = i;
+            }
+        }
+        SplittableRandom random = new SplittableRandom(problem.seed());
+        shuffle(men, menCount, random);
+        shuffle(women, womenCount, random);
+
+        int[] team = new int[n];
+        for (int k = 0; k < menCount; k++) {
+            team[men[k]] = k % problem.teamCount();
+        }
+        for (int k = 0; k < womenCount; k++) {
+            team[women[k]] = k % problem.teamCount();
+        }
+        return team;
+    }
+
+    static void shuffle(int[] values, int length, SplittableRandom random) {
+        for (int i = length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = values[i];
+            values[i] = values[j];
+            values[j] = tmp;
+        }
+    }
+}
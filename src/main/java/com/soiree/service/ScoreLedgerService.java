@@ -0,0 +1,312 @@
+package com.soiree.service;
+
+import com.soiree.audit.AuditEvent;
+import com.soiree.dto.LedgerPosition;
+import com.soiree.dto.TeamStanding;
+import com.soiree.dto.UndoneSubmission;
+import com.soiree.model.Event;
+import com.soiree.model.Player;
+import com.soiree.model.ScoreEvent;
+import com.soiree.model.ScoreSnapshot;
+import com.soiree.model.Team;
+import com.soiree.repository.GameRepository;
+import com.soiree.repository.GameResultRepository;
+import com.soiree.repository.ScoreEventRepository;
+import com.soiree.repository.ScoreSnapshotRepository;
+import com.soiree.repository.TeamRepository;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Journal des scores : chaque saisie ajoute des mouvements (ScoreEvent), jamais modifiés.
+ * - rebuild : recalculer les compteurs Team / Player depuis le journal
+ * - standingsAt : classement tel qu'il était à une date donnée
+ * - undoLast : annuler la dernière saisie en appliquant les mouvements inverses
+ * Un snapshot des totaux est pris tous les app.scores.snapshot-every mouvements :
+ * le rejeu ne lit que la queue du journal.
+ *
+ * Ordre du journal : les écritures d'une soirée passent une à une sous le verrou de sa ligne
+ * (EventService.reserveLedger), gardé jusqu'au commit. Chaque mouvement y reçoit sa position seq et sa date :
+ * l'ordre des positions est celui des commits, et un snapshot (pris sous le même verrou) couvre exactement
+ * les positions 1..lastSeq.
+ * La position du dernier snapshot est tenue sur la soirée : annulée avec la transaction, comme les mouvements.
+ * Ordre des verrous : la soirée avant les équipes (TeamService.resetAllScores).
+ */
+@Service
+public class ScoreLedgerService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScoreLedgerService.class);
+
+    private final ScoreEventRepository scoreEventRepository;
+    private final ScoreSnapshotRepository scoreSnapshotRepository;
+    private final TeamRepository teamRepository;
+    private final GameRepository gameRepository;
+    private final GameResultRepository gameResultRepository;
+    private final EventService eventService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int snapshotEvery;
+
+    public ScoreLedgerService(ScoreEventRepository scoreEventRepository,
+                              ScoreSnapshotRepository scoreSnapshotRepository,
+                              TeamRepository teamRepository,
+                              GameRepository gameRepository,
+                              GameResultRepository gameResultRepository,
+                              EventService eventService,
+                              ApplicationEventPublisher eventPublisher,
+                              @Value("${app.scores.snapshot-every:500}") int snapshotEvery) {
+        this.scoreEventRepository = scoreEventRepository;
+        this.scoreSnapshotRepository = scoreSnapshotRepository;
+        this.teamRepository = teamRepository;
+        this.gameRepository = gameRepository;
+        this.gameResultRepository = gameResultRepository;
+        this.eventService = eventService;
+        this.eventPublisher = eventPublisher;
+        this.snapshotEvery = snapshotEvery;
+    }
+
+    /**
+     * Nouvelle saisie pour une soirée (eventId déjà résolu)
+     */
+    public ScoreSubmission submission(Long eventId, ScoreEvent.Kind kind, Long gameId) {
+        return new ScoreSubmission(eventId, kind, gameId);
+    }
+
+    /**
+     * Ajouter les mouvements d'une saisie, dans la transaction de l'appelant
+     * (à appeler après saveAll des résultats : leurs identifiants sont alors connus)
+     * La soirée reste verrouillée jusqu'au commit : les saisies concurrentes s'ajoutent l'une après l'autre.
+     */
+    @Transactional
+    public void append(ScoreSubmission submission) {
+        if (submission.entries.isEmpty()) {
+            return;
+        }
+        LedgerPosition position = eventService.reserveLedger(submission.eventId, submission.entries.size());
+        Event event = eventService.reference(submission.eventId);
+        Instant now = Instant.now();
+        long seq = position.seq() - submission.entries.size();
+        List<ScoreEvent> movements = new ArrayList<>(submission.entries.size());
+        for (ScoreSubmission.Entry entry : submission.entries) {
+            movements.add(new ScoreEvent(null, event, ++seq, submission.id, submission.kind, entry.type(),
+                    submission.gameId, entry.teamId(), entry.playerId(),
+                    entry.result() == null ? null : entry.result().getId(), entry.delta(), null, now));
+        }
+        record(submission.eventId, position, movements);
+    }
+
+    /**
+     * Verrouiller le journal de la soirée avant d'autres lignes (équipes) : même ordre que append et undoLast
+     */
+    @Transactional
+    public void lock(Long eventId) {
+        eventService.lockLedger(eventId);
+    }
+
+    /**
+     * Jeux réinitialisés (résultats supprimés, identifiants conservés) : les saisies déjà journalisées
+     * ne s'annulent plus, ne marquent plus un jeu joué et ne comptent plus dans les shots par jeu.
+     * Les compteurs des équipes et le classement à une date passée n'en dépendent pas.
+     */
+    @Transactional
+    public void closeGames(Long eventId) {
+        eventService.closeLedgerGames(eventId);
+    }
+
+    /**
+     * Recalculer les compteurs des équipes et joueurs de la soirée depuis le journal
+     */
+    @Transactional
+    public List<TeamStanding> rebuild(Long eventId) {
+        Long id = eventService.resolve(eventId);
+        ScoreTotals totals = replay(id, null);
+        List<Team> teams = teamRepository.findAllWithPlayersByEventId(id);
+        int corrected = 0;
+        for (Team team : teams) {
+            if (team.getTotalPoints() != totals.teamPoints(team.getId())
+                    || team.getShotsCount() != totals.teamShots(team.getId())) {
+                corrected++;
+            }
+            team.setTotalPoints(totals.teamPoints(team.getId()));
+            team.setShotsCount(totals.teamShots(team.getId()));
+            for (Player player : team.getPlayers()) {
+                player.setShotsCount(totals.playerShots(player.getId()));
+            }
+        }
+        List<TeamStanding> standings = teams.stream().map(TeamStanding::of).toList();
+        eventPublisher.publishEvent(StandingsChangedEvent.replaced(id, standings));
+        eventPublisher.publishEvent(new StateChange.ScoresRebuilt(id));
+        eventPublisher.publishEvent(new AuditEvent.ScoresRebuilt(Instant.now(), id, corrected));
+        if (corrected > 0) {
+            logger.warn("Soirée {} : {} équipe(s) corrigée(s) depuis le journal des scores", id, corrected);
+        }
+        return sorted(standings);
+    }
+
+    /**
+     * Classement de la soirée à une date donnée (équipes actuelles, totaux rejoués jusqu'à at)
+     */
+    @Timed("soiree.scores.standings.at")
+    @Transactional(readOnly = true)
+    public List<TeamStanding> standingsAt(Long eventId, Instant at) {
+        Long id = eventService.resolve(eventId);
+        ScoreTotals totals = replay(id, at);
+        List<TeamStanding> standings = new ArrayList<>();
+        for (Team team : teamRepository.findAllWithPlayersByEventId(id)) {
+            List<TeamStanding.PlayerStanding> players = team.getPlayers().stream()
+                    .map(p -> new TeamStanding.PlayerStanding(p.getId(), p.getName(), p.getGender(),
+                            totals.playerShots(p.getId())))
+                    .toList();
+            standings.add(new TeamStanding(team.getId(), team.getName(), team.getColor(),
+                    totals.teamPoints(team.getId()), totals.teamShots(team.getId()), 0, players));
+        }
+        return sorted(standings);
+    }
+
+    /**
+     * Annuler la dernière saisie non annulée : mouvements inverses appliqués aux compteurs,
+     * résultats créés par la saisie supprimés (sans rejouer tout le journal)
+     */
+    @Transactional
+    public UndoneSubmission undoLast(Long eventId) {
+        Long id = eventService.resolve(eventId);
+        // Verrou d'abord : deux annulations concurrentes ne visent pas la même saisie
+        eventService.lockLedger(id);
+        UUID submission = scoreEventRepository.findUndoableSubmissions(id, PageRequest.of(0, 1)).stream()
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Aucune saisie à annuler"));
+        List<ScoreEvent> movements = scoreEventRepository.findBySubmissionOrderByIdAsc(submission);
+        ScoreEvent first = movements.get(0);
+
+        Map<Long, Team> teams = new HashMap<>();
+        Map<Long, Player> players = new HashMap<>();
+        for (Team team : teamRepository.findAllWithPlayersByEventId(id)) {
+            teams.put(team.getId(), team);
+            team.getPlayers().forEach(p -> players.put(p.getId(), p));
+        }
+
+        UUID undo = UUID.randomUUID();
+        Instant now = Instant.now();
+        LedgerPosition position = eventService.reserveLedger(id, movements.size());
+        long seq = position.seq() - movements.size();
+        List<ScoreEvent> reverts = new ArrayList<>(movements.size());
+        List<Long> resultIds = new ArrayList<>();
+        Map<Long, Team> touched = new HashMap<>();
+        for (ScoreEvent movement : movements) {
+            reverts.add(movement.revert(undo, ++seq, now));
+            if (movement.getResultId() != null) {
+                resultIds.add(movement.getResultId());
+            }
+            Team team = teams.get(movement.getTeamId());
+            if (team == null) {
+                continue; // équipe supprimée depuis : seul le journal garde la trace
+            }
+            touched.put(team.getId(), team);
+            switch (movement.getType()) {
+                case TEAM_POINTS -> team.addPoints(-movement.getDelta());
+                case TEAM_SHOTS -> team.addShots(-movement.getDelta());
+                case PLAYER_SHOTS -> {
+                    Player player = players.get(movement.getPlayerId());
+                    if (player != null) {
+                        player.addShots(-movement.getDelta());
+                    }
+                }
+            }
+        }
+        record(id, position, reverts);
+        if (!resultIds.isEmpty()) {
+            gameResultRepository.deleteAllByIdInBatch(resultIds);
+        }
+        if (first.getGameId() != null) {
+            boolean stillPlayed = scoreEventRepository.existsActiveForGame(id, first.getGameId(), submission);
+            gameRepository.findByIdAndEventId(first.getGameId(), id).ifPresent(game -> game.setCompleted(stillPlayed));
+        }
+
+        eventPublisher.publishEvent(StandingsChangedEvent.updated(id,
+                touched.values().stream().map(TeamStanding::of).toList()));
+        eventPublisher.publishEvent(new StateChange.SubmissionUndone(id, first.getGameId()));
+        eventPublisher.publishEvent(new AuditEvent.SubmissionUndone(now, id, submission, first.getKind().name(),
+                first.getGameId(), movements.size()));
+        return new UndoneSubmission(submission, first.getKind(), first.getGameId(), movements.size());
+    }
+
+    /**
+     * Totaux depuis le dernier snapshot (antérieur à at si fourni) plus la queue du journal
+     * Sans verrou : toute position couverte par un snapshot validé l'a été avant lui (écritures sérialisées),
+     * et les dates, prises sous le verrou, croissent avec les positions.
+     */
+    ScoreTotals replay(Long eventId, Instant at) {
+        ScoreSnapshot snapshot = (at == null
+                ? scoreSnapshotRepository.findFirstByEventIdOrderByLastSeqDesc(eventId)
+                : scoreSnapshotRepository.findFirstByEventIdAndTakenAtLessThanEqualOrderByLastSeqDesc(eventId, at))
+                .orElse(null);
+        long after = snapshot == null ? 0L : snapshot.getLastSeq();
+        List<ScoreEvent> tail = at == null
+                ? scoreEventRepository.findByEventIdAndSeqGreaterThanOrderBySeqAsc(eventId, after)
+                : scoreEventRepository.findByEventIdAndSeqGreaterThanAndRecordedAtLessThanEqualOrderBySeqAsc(eventId, after, at);
+        ScoreTotals totals = ScoreTotals.of(snapshot);
+        tail.forEach(totals::apply);
+        return totals;
+    }
+
+    /**
+     * Vider le journal d'une soirée (ses équipes sont recréées : l'historique ne s'applique plus)
+     */
+    @Transactional
+    public void clear(Long eventId) {
+        LedgerPosition position = eventService.reserveLedger(eventId, 0);
+        scoreSnapshotRepository.deleteByEventId(eventId);
+        scoreEventRepository.deleteByEventId(eventId);
+        // Prochain snapshot compté à partir d'ici
+        eventService.markLedgerSnapshot(eventId, position.seq());
+    }
+
+    /**
+     * Enregistrer des mouvements numérotés sous le verrou de la soirée, snapshot si le seuil est atteint
+     */
+    private void record(Long eventId, LedgerPosition position, List<ScoreEvent> movements) {
+        scoreEventRepository.saveAll(movements);
+        if (position.seq() - position.snapshotSeq() >= snapshotEvery) {
+            takeSnapshot(eventId, position.seq());
+        }
+    }
+
+    /**
+     * Snapshot jusqu'à la position upTo (verrou de la soirée tenu par l'appelant : aucune position inférieure
+     * ne peut plus être validée)
+     */
+    private void takeSnapshot(Long eventId, long upTo) {
+        ScoreSnapshot previous = scoreSnapshotRepository.findFirstByEventIdOrderByLastSeqDesc(eventId)
+                .orElse(null);
+        long after = previous == null ? 0L : previous.getLastSeq();
+        List<ScoreEvent> tail = scoreEventRepository.findByEventIdAndSeqGreaterThanOrderBySeqAsc(eventId, after);
+        eventService.markLedgerSnapshot(eventId, upTo);
+        if (tail.isEmpty()) {
+            return;
+        }
+        ScoreTotals totals = ScoreTotals.of(previous);
+        tail.forEach(totals::apply);
+        ScoreEvent last = tail.get(tail.size() - 1);
+        scoreSnapshotRepository.save(new ScoreSnapshot(null, eventService.reference(eventId), last.getSeq(),
+                last.getRecordedAt(), totals.toLines()));
+        logger.debug("Soirée {} : snapshot des scores jusqu'à la position {}", eventId, last.getSeq());
+    }
+
+    private static List<TeamStanding> sorted(List<TeamStanding> standings) {
+        List<TeamStanding> sorted = new ArrayList<>(standings);
+        sorted.sort(LeaderboardService.ORDER);
+        return LeaderboardService.ranked(sorted);
+    }
+}
@@ -0,0 +1,60 @@
+package com.soiree.service;
+
+import com.soiree.model.GameResult;
+import com.soiree.model.ScoreEvent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Mouvements d'une saisie, collectés pendant la transaction puis ajoutés
+ * au journal d'un coup (ScoreLedgerService.append)
+ */
+public final class ScoreSubmission {
+
+    final UUID id = UUID.randomUUID();
+    final Long eventId;
+    final ScoreEvent.Kind kind;
+    final Long gameId;
+    final List<Entry> entries = new ArrayList<>();
+
+    ScoreSubmission(Long eventId, ScoreEvent.Kind kind, Long gameId) {
+        this.eventId = eventId;
+        this.kind = kind;
+        this.gameId = gameId;
+    }
+
+    /**
+     * Points d'une équipe ; result : résultat créé par la saisie (son id est lu à l'ajout)
+     */
+    public ScoreSubmission teamPoints(Long teamId, int delta, GameResult result) {
+        if (delta != 0 || result != null) {
+            entries.add(new Entry(ScoreEvent.Type.TEAM_POINTS, teamId, null, delta, result));
+        }
+        return this;
+    }
+
+    public ScoreSubmission teamShots(Long teamId, int delta) {
+        if (delta != 0) {
+            entries.add(new Entry(ScoreEvent.Type.TEAM_SHOTS, teamId, null, delta, null));
+        }
+        return this;
+    }
+
+    /**
+     * shots : playerId -> shots ajoutés
+     */
+    public ScoreSubmission playerShots(Long teamId, Map<Long, Integer> shots) {
+        shots.forEach((playerId, delta) -> {
+            if (delta != 0) {
+                entries.add(new Entry(ScoreEvent.Type.PLAYER_SHOTS, teamId, playerId, delta, null));
+            }
+        });
+        return this;
+    }
+
+    record Entry(ScoreEvent.Type type, Long teamId, Long playerId, int delta, GameResult result) {
+    }
+}
@@ -0,0 +1,66 @@
+package com.soiree.service;
+
+import com.soiree.model.ScoreEvent;
+import com.soiree.model.ScoreSnapshot;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Totaux obtenus en rejouant le journal (à partir d'un snapshot éventuel)
+ * team : [points, shots] ; player : shots
+ */
+final class ScoreTotals {
+
+    private final Map<Long, int[]> teams = new HashMap<>();
+    private final Map<Long, Integer> players = new HashMap<>();
+
+    static ScoreTotals of(ScoreSnapshot snapshot) {
+        ScoreTotals totals = new ScoreTotals();
+        if (snapshot != null) {
+            for (ScoreSnapshot.Line line : snapshot.getLines()) {
+                if (line.getPlayerId() == null) {
+                    totals.teams.put(line.getTeamId(), new int[]{line.getPoints(), line.getShots()});
+                } else {
+                    totals.players.put(line.getPlayerId(), line.getShots());
+                }
+            }
+        }
+        return totals;
+    }
+
+    void apply(ScoreEvent event) {
+        switch (event.getType()) {
+            case TEAM_POINTS -> team(event.getTeamId())[0] += event.getDelta();
+            case TEAM_SHOTS -> team(event.getTeamId())[1] += event.getDelta();
+            case PLAYER_SHOTS -> players.merge(event.getPlayerId(), event.getDelta(), Integer::sum);
+        }
+    }
+
+    int teamPoints(Long teamId) {
+        int[] totals = teams.get(teamId);
+        return totals == null ? 0 : totals[0];
+    }
+
+    int teamShots(Long teamId) {
+        int[] totals = teams.get(teamId);
+        return totals == null ? 0 : totals[1];
+    }
+
+    int playerShots(Long playerId) {
+        return players.getOrDefault(playerId, 0);
+    }
+
+    List<ScoreSnapshot.Line> toLines() {
+        List<ScoreSnapshot.Line> lines = new ArrayList<>(teams.size() + players.size());
+        teams.forEach((teamId, totals) -> lines.add(new ScoreSnapshot.Line(teamId, null, totals[0], totals[1])));
+        players.forEach((playerId, shots) -> lines.add(new ScoreSnapshot.Line(null, playerId, 0, shots)));
+        return lines;
+    }
+
+    private int[] team(Long teamId) {
+        return teams.computeIfAbsent(teamId, id -> new int[2]);
+    }
+}
@@ -0,0 +1,97 @@
+package com.soiree.service;
+
+import com.soiree.model.Game;
+import com.soiree.model.ScoringRule;
+import com.soiree.repository.ScoringRuleRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Règles de score : définitions en base (table scoring_rule), compilées une seule fois par instance
+ *
+ * Une règle n'est jamais modifiée après sa création (nouvelle règle = nouveau nom) :
+ * la version compilée reste valable sans invalidation, y compris avec plusieurs instances.
+ */
+@Service
+@RequiredArgsConstructor
+public class ScoringRules {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScoringRules.class);
+
+    private static final Pattern NAME = Pattern.compile("[a-z0-9][a-z0-9-]{0,99}");
+
+    // Colonnes description, points et shots en varchar(255)
+    private static final int MAX_TEXT_LENGTH = 255;
+
+    private final ScoringRuleRepository scoringRuleRepository;
+
+    private final Map<String, CompiledScoringRule> compiled = new ConcurrentHashMap<>();
+
+    /**
+     * Règle compilée d'un jeu (règle par défaut si le jeu n'en a pas)
+     */
+    public CompiledScoringRule forGame(Game game) {
+        return compiled(game.getScoringRule() == null ? ScoringRule.DEFAULT_NAME : game.getScoringRule());
+    }
+
+    /**
+     * Règle compilée par nom (IllegalArgumentException si elle n'existe pas)
+     */
+    public CompiledScoringRule compiled(String name) {
+        CompiledScoringRule rule = compiled.get(name);
+        if (rule == null) {
+            rule = compiled.computeIfAbsent(name, n -> CompiledScoringRule.compile(scoringRuleRepository.findById(n)
+                    .orElseThrow(() -> new IllegalArgumentException("Règle de score inconnue : " + n))));
+        }
+        return rule;
+    }
+
+    public List<ScoringRule> getAll() {
+        return scoringRuleRepository.findAllByOrderByNameAsc();
+    }
+
+    public ScoringRule get(String name) {
+        return scoringRuleRepository.findById(name)
+                .orElseThrow(() -> new IllegalArgumentException("Règle de score inconnue : " + name));
+    }
+
+    /**
+     * Créer une règle (longueurs vérifiées, validée en la compilant) ; IllegalStateException si le nom est déjà pris
+     */
+    @Transactional
+    public ScoringRule create(ScoringRule rule) {
+        String name = rule.getName() == null ? "" : rule.getName().strip();
+        if (!NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("Nom de règle invalide : '" + name
+                    + "' (minuscules, chiffres et tirets, 100 caractères maximum)");
+        }
+        rule.setName(name);
+        checkLength("description", rule.getDescription());
+        checkLength("points", rule.getPoints());
+        checkLength("shots", rule.getShots());
+        CompiledScoringRule.compile(rule);
+        if (scoringRuleRepository.existsById(name)) {
+            throw new IllegalStateException("La règle '" + name + "' existe déjà (une règle ne se modifie pas)");
+        }
+        // Compilée à la première utilisation, une fois la création validée
+        ScoringRule saved = scoringRuleRepository.save(rule);
+        logger.debug("Règle de score {} créée ({})", name, rule.getKind());
+        return saved;
+    }
+
+    // Refusée ici plutôt qu'à l'insertion (DataIntegrityViolationException, donc 500)
+    private static void checkLength(String field, String value) {
+        if (value != null && value.length() > MAX_TEXT_LENGTH) {
+            throw new IllegalArgumentException("Champ " + field + " trop long : " + value.length()
+                    + " caractères (" + MAX_TEXT_LENGTH + " maximum)");
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.soiree.service;
+
+import com.soiree.model.Player;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Éviction explicite des régions du cache de second niveau (hibernate-cache.conf)
+ *
+ * Hibernate invalide déjà les entrées touchées par les écritures de la session et, pour les suppressions
+ * en masse (delete ... where event.id), les régions entières. Les opérations qui recomposent les équipes vident
+ * en plus explicitement leurs régions : aucune entrée d'une soirée précédente ne survit.
+ * Le catalogue des jeux est mis à jour jeu par jeu dans la session (initializeGames) : rien à vider.
+ *
+ * Éviction après le commit de la transaction en cours : avant, elle retirerait les verrous (soft locks) posés
+ * par Hibernate sur ces entrées (HHH90001005 au déverrouillage), et un lecteur concurrent pourrait remettre
+ * en cache l'ancienne composition avant le commit.
+ */
+@Component
+public class SecondLevelCache {
+
+    static final String TEAM_PLAYERS_ROLE = "com.soiree.model.Team.players";
+
+    private final Cache cache;
+
+    public SecondLevelCache(EntityManagerFactory entityManagerFactory) {
+        this.cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+    }
+
+    /**
+     * Équipes recomposées : toutes les compositions et les joueurs
+     */
+    public void evictRosters() {
+        afterCommit(() -> {
+            cache.evictCollectionData(TEAM_PLAYERS_ROLE);
+            cache.evictEntityData(Player.class);
+        });
+    }
+
+    /**
+     * Un joueur ajouté ou retiré : composition de son équipe seulement
+     */
+    public void evictRoster(Long teamId) {
+        afterCommit(() -> cache.evictCollectionData(TEAM_PLAYERS_ROLE, teamId));
+    }
+
+    // Hors transaction : tout de suite
+    private static void afterCommit(Runnable eviction) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eviction.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eviction.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,128 @@
+package com.soiree.service;
+
+import com.soiree.model.Player;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Répartition des shots d'une équipe entre ses joueurs
+ *
+ * Chaque shot va au joueur qui en a le moins sur la soirée (tirage au sort entre ex æquo), dans la limite de :
+ * - app.shots.max-per-game (2) : shots reçus par un joueur sur un même jeu
+ * - app.shots.max-per-player (6) : total d'un joueur sur la soirée
+ * Les shots qui dépasseraient les plafonds de tous les joueurs ne sont pas répartis (signalés à l'appelant).
+ * app.shots.seed : graine fixe (répartition reproductible par jeu et par équipe), aléatoire si absente.
+ */
+@Component
+public class ShotAllocator {
+
+    public static final int DEFAULT_MAX_PER_GAME = 2;
+    public static final int DEFAULT_MAX_PER_PLAYER = 6;
+
+    private final int maxPerGame;
+    private final int maxPerPlayer;
+    private final Long seed;
+
+    public ShotAllocator(@Value("${app.shots.max-per-game:2}") int maxPerGame,
+                         @Value("${app.shots.max-per-player:6}") int maxPerPlayer,
+                         @Value("${app.shots.seed:#{null}}") Long seed) {
+        this.maxPerGame = maxPerGame;
+        this.maxPerPlayer = maxPerPlayer;
+        this.seed = seed;
+    }
+
+    public static ShotAllocator withDefaults() {
+        return new ShotAllocator(DEFAULT_MAX_PER_GAME, DEFAULT_MAX_PER_PLAYER, null);
+    }
+
+    /**
+     * Répartir les shots entre les joueurs (entités modifiées sur place : écrites en un lot au flush)
+     *
+     * @return shots donnés par joueur (playerId -> shots), joueurs servis uniquement
+     */
+    public Map<Long, Integer> distribute(List<Player> players, int shots, long seed) {
+        int[] current = new int[players.size()];
+        for (int i = 0; i < current.length; i++) {
+            current[i] = players.get(i).getShotsCount();
+        }
+        Allocation allocation = allocate(current, shots, seed);
+        Map<Long, Integer> given = new LinkedHashMap<>();
+        for (int i = 0; i < current.length; i++) {
+            if (allocation.given()[i] > 0) {
+                Player player = players.get(i);
+                player.addShots(allocation.given()[i]);
+                given.put(player.getId(), allocation.given()[i]);
+            }
+        }
+        return given;
+    }
+
+    /**
+     * current : shots déjà bus sur la soirée, par joueur ; aucun tableau modifié
+     */
+    public Allocation allocate(int[] current, int shots, long seed) {
+        int n = current.length;
+        int[] given = new int[n];
+        SplittableRandom random = new SplittableRandom(seed);
+        int remaining = shots;
+        while (remaining > 0) {
+            int best = -1;
+            int bestTotal = Integer.MAX_VALUE;
+            int ties = 0;
+            for (int i = 0; i < n; i++) {
+                int total = current[i] + given[i];
+                if (given[i] >= maxPerGame || total >= maxPerPlayer) {
+                    continue;
+                }
+                if (total < bestTotal) {
+                    best = i;
+                    bestTotal = total;
+                    ties = 1;
+                } else if (total == bestTotal && random.nextInt(++ties) == 0) {
+                    // Tirage uniforme entre ex æquo, en un seul passage
+                    best = i;
+                }
+            }
+            if (best < 0) {
+                break; // tous les joueurs ont atteint un plafond
+            }
+            given[best]++;
+            remaining--;
+        }
+        return new Allocation(given, remaining);
+    }
+
+    /**
+     * Graine d'une répartition : fixe pour (jeu, équipe) si app.shots.seed est défini
+     */
+    public long seedFor(Long gameId, Long teamId) {
+        if (seed == null) {
+            return ThreadLocalRandom.current().nextLong();
+        }
+        return new SplittableRandom(seed ^ (31 * hash(gameId) + hash(teamId))).nextLong();
+    }
+
+    private static long hash(Long value) {
+        return value == null ? 0 : value * 0x9E3779B97F4A7C15L;
+    }
+
+    public int maxPerGame() {
+        return maxPerGame;
+    }
+
+    public int maxPerPlayer() {
+        return maxPerPlayer;
+    }
+
+    /**
+     * given : shots donnés par joueur (même ordre que current) ; undistributed : shots restés sans preneur
+     */
+    public record Allocation(int[] given, int undistributed) {
+    }
+}
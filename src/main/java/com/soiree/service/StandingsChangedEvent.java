@@ -0,0 +1,20 @@
+package com.soiree.service;
+
+import com.soiree.dto.TeamStanding;
+
+import java.util.List;
+
+/**
+ * Publié par les services quand des équipes d'une soirée changent (points, shots, joueurs).
+ * replaceAll = true : la liste remplace tout le classement de la soirée (équipes recréées, reset).
+ */
+public record StandingsChangedEvent(Long eventId, List<TeamStanding> teams, List<Long> removedTeamIds, boolean replaceAll) {
+
+    public static StandingsChangedEvent updated(Long eventId, List<TeamStanding> teams) {
+        return new StandingsChangedEvent(eventId, teams, List.of(), false);
+    }
+
+    public static StandingsChangedEvent replaced(Long eventId, List<TeamStanding> teams) {
+        return new StandingsChangedEvent(eventId, teams, List.of(), true);
+    }
+}
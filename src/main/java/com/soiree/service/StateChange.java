@@ -0,0 +1,119 @@
+package com.soiree.service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Changement d'état publié après commit (poussé aux clients via /api/stream).
+ * Les valeurs sont absolues : un changement plus récent sur la même clé remplace l'ancien.
+ * Exception : la manche de Blindtest, en mémoire, pousse ses changements directement (LiveUpdateService.publish).
+ */
+public sealed interface StateChange {
+
+    /** Soirée concernée */
+    Long eventId();
+
+    /** Nom de l'événement SSE */
+    String type();
+
+    /** Clé de regroupement : deux changements de même clé n'en forment qu'un */
+    String key();
+
+    /** Vrai si ce changement rend obsolètes tous les changements en attente */
+    default boolean supersedesAll() {
+        return false;
+    }
+
+    /** Fusionner avec un changement plus ancien de même clé */
+    default StateChange mergeWith(StateChange older) {
+        return this;
+    }
+
+    record PointsChanged(Long eventId, Long teamId, int totalPoints) implements StateChange {
+        public String type() { return "points-changed"; }
+        public String key() { return "points:" + teamId; }
+    }
+
+    /** playerShots : playerId -> total de shots du joueur */
+    record ShotsDistributed(Long eventId, Long teamId, int teamShots, Map<Long, Integer> playerShots) implements StateChange {
+        public String type() { return "shots-distributed"; }
+        public String key() { return "shots:" + teamId; }
+
+        @Override
+        public StateChange mergeWith(StateChange older) {
+            Map<Long, Integer> merged = new LinkedHashMap<>(((ShotsDistributed) older).playerShots());
+            merged.putAll(playerShots);
+            return new ShotsDistributed(eventId, teamId, teamShots, merged);
+        }
+    }
+
+    record GameCompleted(Long eventId, Long gameId) implements StateChange {
+        public String type() { return "game-completed"; }
+        public String key() { return "game:" + gameId; }
+    }
+
+    /** rule : nom de la règle de score désormais appliquée au jeu */
+    record ScoringRuleAssigned(Long eventId, Long gameId, String rule) implements StateChange {
+        public String type() { return "scoring-rule-assigned"; }
+        public String key() { return "rule:" + gameId; }
+    }
+
+    record GamesInitialized(Long eventId, int gameCount) implements StateChange {
+        public String type() { return "games-initialized"; }
+        public String key() { return "games"; }
+    }
+
+    record RosterChanged(Long eventId, Long teamId, int playerCount) implements StateChange {
+        public String type() { return "roster-changed"; }
+        public String key() { return "roster:" + teamId; }
+    }
+
+    record TeamsRecreated(Long eventId, int teamCount) implements StateChange {
+        public String type() { return "teams-recreated"; }
+        public String key() { return "teams"; }
+        @Override
+        public boolean supersedesAll() { return true; }
+    }
+
+    record ScoresReset(Long eventId) implements StateChange {
+        public String type() { return "scores-reset"; }
+        public String key() { return "reset"; }
+        @Override
+        public boolean supersedesAll() { return true; }
+    }
+
+    /** gameId : jeu concerné par la saisie annulée (null pour une remise à zéro) */
+    record SubmissionUndone(Long eventId, Long gameId) implements StateChange {
+        public String type() { return "submission-undone"; }
+        public String key() { return "undo"; }
+        @Override
+        public boolean supersedesAll() { return true; }
+    }
+
+    /** Compteurs recalculés depuis le journal des scores */
+    record ScoresRebuilt(Long eventId) implements StateChange {
+        public String type() { return "scores-rebuilt"; }
+        public String key() { return "rebuild"; }
+        @Override
+        public boolean supersedesAll() { return true; }
+    }
+
+    /** Joueurs ajoutés au vivier de la soirée (sans équipe) */
+    record PlayersImported(Long eventId, int imported) implements StateChange {
+        public String type() { return "players-imported"; }
+        public String key() { return "pool"; }
+    }
+
+    /** Blindtest : une équipe a la main sur la chanson (reactionMillis : depuis l'ouverture de la chanson) */
+    record BuzzerTaken(Long eventId, Long gameId, int song, Long teamId, double reactionMillis) implements StateChange {
+        public String type() { return "buzzer-taken"; }
+        public String key() { return "buzzer:" + gameId; }
+    }
+
+    /** Blindtest : chanson ouverte ou fermée, verdict rendu (points : teamId -> points de la manche) */
+    record BlindtestUpdated(Long eventId, Long gameId, int song, boolean songOpen, Map<Long, Double> points)
+            implements StateChange {
+        public String type() { return "blindtest-updated"; }
+        public String key() { return "blindtest:" + gameId; }
+    }
+}
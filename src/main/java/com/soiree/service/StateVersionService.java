@@ -0,0 +1,41 @@
+package com.soiree.service;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version de l'état de chaque soirée : incrémentée après le commit de toute écriture
+ * (chaque écriture des services publie au moins un StateChange).
+ * Sert d'ETag aux endpoints de lecture : même version = mêmes données.
+ */
+@Service
+public class StateVersionService {
+
+    // Distingue les redémarrages : les compteurs repartent de 0 mais pas les ETags
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final Map<Long, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    public long current(Long eventId) {
+        AtomicLong version = versions.get(eventId);
+        return version == null ? 0 : version.get();
+    }
+
+    /**
+     * ETag fort pour une version donnée d'une soirée
+     * (variant : format de sérialisation, "" pour la représentation par défaut)
+     */
+    public String etag(Long eventId, long version, String variant) {
+        String suffix = variant == null || variant.isEmpty() ? "" : "-" + variant;
+        return "\"" + epoch + "-" + eventId + "-" + version + suffix + "\"";
+    }
+
+    @TransactionalEventListener
+    public void onStateChange(StateChange change) {
+        versions.computeIfAbsent(change.eventId(), id -> new AtomicLong()).incrementAndGet();
+    }
+}
@@ -0,0 +1,264 @@
+package com.soiree.service;
+
+import com.soiree.audit.AuditEvent;
+import com.soiree.dto.GameSummary;
+import com.soiree.dto.PlayerStats;
+import com.soiree.dto.ResultRow;
+import com.soiree.dto.ShotTotal;
+import com.soiree.dto.TeamStats;
+import com.soiree.model.Game;
+import com.soiree.model.Player;
+import com.soiree.model.Team;
+import com.soiree.repository.GameRepository;
+import com.soiree.repository.GameResultRepository;
+import com.soiree.repository.PlayerRepository;
+import com.soiree.repository.ScoreEventRepository;
+import com.soiree.repository.TeamRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Statistiques par équipe et par joueur, matérialisées en mémoire (un tableau par soirée)
+ * - écritures : mises à jour incrémentales après commit (résultats, shots, mouvements de joueurs)
+ * - lectures : O(1), sans accès à la base une fois la soirée chargée
+ * - recomposition des équipes, annulation, réinitialisation des jeux : tableau recalculé depuis la base
+ * - contrôle périodique (app.stats.check-interval) : recalcul depuis GameResult et le journal des scores,
+ *   le tableau en mémoire est remplacé s'il a divergé
+ */
+@Service
+public class StatisticsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatisticsService.class);
+
+    private final GameRepository gameRepository;
+    private final GameResultRepository gameResultRepository;
+    private final TeamRepository teamRepository;
+    private final PlayerRepository playerRepository;
+    private final ScoreEventRepository scoreEventRepository;
+    private final EventService eventService;
+    private final TransactionTemplate readTransaction;
+
+    private final Map<Long, Board> boards = new ConcurrentHashMap<>();
+
+    public StatisticsService(GameRepository gameRepository,
+                             GameResultRepository gameResultRepository,
+                             TeamRepository teamRepository,
+                             PlayerRepository playerRepository,
+                             ScoreEventRepository scoreEventRepository,
+                             EventService eventService,
+                             PlatformTransactionManager transactionManager) {
+        this.gameRepository = gameRepository;
+        this.gameResultRepository = gameResultRepository;
+        this.teamRepository = teamRepository;
+        this.playerRepository = playerRepository;
+        this.scoreEventRepository = scoreEventRepository;
+        this.eventService = eventService;
+        // Lecture dans une transaction à part : appelée aussi après commit, hors de toute transaction active
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Statistiques d'une équipe de la soirée
+     */
+    public TeamStats teamStats(Long eventId, Long teamId) {
+        TeamStats stats = board(eventService.resolve(eventId)).teams.get(teamId);
+        if (stats == null) {
+            throw new RuntimeException("Équipe non trouvée");
+        }
+        return stats;
+    }
+
+    /**
+     * Statistiques d'un joueur de la soirée (inscrit sans équipe : statistiques vides)
+     */
+    public PlayerStats playerStats(Long eventId, Long playerId) {
+        Long id = eventService.resolve(eventId);
+        Board board = board(id);
+        PlayerLine line = board.players.get(playerId);
+        if (line == null) {
+            // Joueur du vivier (sans équipe) ou inconnu : seul cas qui interroge la base
+            playerRepository.findByIdAndEventId(playerId, id)
+                    .orElseThrow(() -> new RuntimeException("Joueur non trouvé"));
+            return new PlayerStats(playerId, null, 0, Map.of(), 0, 0, 0);
+        }
+        TeamStats team = line.teamId() == null ? null : board.teams.get(line.teamId());
+        int shots = line.shotsByGameType().values().stream().mapToInt(Integer::intValue).sum();
+        int games = team == null ? 0 : team.gamesPlayed();
+        return new PlayerStats(playerId, line.teamId(), shots, line.shotsByGameType(), games,
+                team == null ? 0 : team.meanPosition(), games == 0 ? 0 : (double) shots / games);
+    }
+
+    /**
+     * Contrôle de cohérence : recalculer les soirées chargées et corriger celles qui ont divergé
+     * (retourne le nombre de soirées corrigées)
+     */
+    @Scheduled(fixedDelayString = "${app.stats.check-interval:PT5M}", initialDelayString = "${app.stats.check-interval:PT5M}")
+    public int checkConsistency() {
+        int corrected = 0;
+        for (Long eventId : List.copyOf(boards.keySet())) {
+            Board expected = load(eventId);
+            Board current = boards.get(eventId);
+            if (current != null && !current.sameAs(expected)) {
+                boards.put(eventId, expected);
+                corrected++;
+                logger.warn("Soirée {} : statistiques divergentes, recalculées depuis la base", eventId);
+            }
+        }
+        return corrected;
+    }
+
+    /**
+     * Résultat enregistré (y compris Whisky Undercover)
+     */
+    @TransactionalEventListener
+    public void onResultRecorded(AuditEvent.ResultRecorded event) {
+        Board board = boards.get(event.eventId());
+        if (board != null) {
+            board.applyResult(event);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onShotsDistributed(AuditEvent.ShotsDistributed event) {
+        Board board = boards.get(event.eventId());
+        if (board != null) {
+            board.applyShots(event);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onRosterChanged(AuditEvent.RosterChanged event) {
+        Board board = boards.get(event.eventId());
+        if (board != null) {
+            board.applyRoster(event);
+        }
+    }
+
+    /**
+     * Changements qui réécrivent l'historique : le tableau est recalculé à la prochaine lecture
+     */
+    @TransactionalEventListener
+    public void onStateChange(StateChange change) {
+        if (change instanceof StateChange.TeamsRecreated
+                || change instanceof StateChange.GamesInitialized
+                || change instanceof StateChange.SubmissionUndone
+                || change instanceof StateChange.ScoresRebuilt) {
+            boards.remove(change.eventId());
+        }
+    }
+
+    private Board board(Long eventId) {
+        Board board = boards.get(eventId);
+        if (board == null) {
+            // Une écriture validée pendant le chargement peut manquer : le contrôle périodique la rattrape
+            board = boards.computeIfAbsent(eventId, this::load);
+        }
+        return board;
+    }
+
+    /**
+     * Recalcul complet d'une soirée depuis GameResult (positions, points) et le journal des scores (shots)
+     */
+    Board load(Long eventId) {
+        return readTransaction.execute(status -> {
+            Board board = new Board();
+            for (GameSummary game : gameRepository.findSummariesByEventId(eventId)) {
+                board.gameTypes.put(game.id(), game.type());
+            }
+            for (Team team : teamRepository.findAllWithPlayersByEventId(eventId)) {
+                board.teams.put(team.getId(), TeamStats.empty(team.getId()));
+                for (Player player : team.getPlayers()) {
+                    board.players.put(player.getId(), PlayerLine.empty(team.getId()));
+                }
+            }
+            for (ResultRow row : gameResultRepository.findRowsByEvent(eventId)) {
+                board.teams.computeIfPresent(row.teamId(),
+                        (teamId, stats) -> stats.withResult(row.position(), row.pointsEarned()));
+            }
+            for (ShotTotal total : scoreEventRepository.sumShotsByGame(eventId)) {
+                board.addShots(total.teamId(), total.playerId(), total.gameId(), (int) total.shots());
+            }
+            return board;
+        });
+    }
+
+    /**
+     * Shots d'un joueur par type de jeu (équipe actuelle)
+     */
+    record PlayerLine(Long teamId, Map<Game.GameType, Integer> shotsByGameType) {
+
+        static PlayerLine empty(Long teamId) {
+            return new PlayerLine(teamId, Map.of());
+        }
+
+        PlayerLine withShots(Game.GameType type, int count) {
+            EnumMap<Game.GameType, Integer> byType = new EnumMap<>(Game.GameType.class);
+            byType.putAll(shotsByGameType);
+            byType.merge(type, count, Integer::sum);
+            byType.values().removeIf(value -> value == 0);
+            return new PlayerLine(teamId, Collections.unmodifiableMap(byType));
+        }
+    }
+
+    /**
+     * Statistiques d'une soirée : valeurs immuables remplacées à chaque écriture,
+     * les lectures n'ont pas besoin du verrou
+     */
+    static final class Board {
+
+        final Map<Long, Game.GameType> gameTypes = new ConcurrentHashMap<>();
+        final Map<Long, TeamStats> teams = new ConcurrentHashMap<>();
+        final Map<Long, PlayerLine> players = new ConcurrentHashMap<>();
+
+        synchronized void applyResult(AuditEvent.ResultRecorded event) {
+            for (AuditEvent.Placement placement : event.placements()) {
+                teams.compute(placement.teamId(), (teamId, stats) -> (stats == null ? TeamStats.empty(teamId) : stats)
+                        .withResult(placement.position(), placement.points()));
+            }
+        }
+
+        synchronized void applyShots(AuditEvent.ShotsDistributed event) {
+            event.shots().forEach((playerId, count) -> addShots(event.teamId(), playerId, event.gameId(), count));
+            // Shots de l'équipe : y compris ceux restés non répartis
+            addShots(event.teamId(), null, event.gameId(), event.totalShots());
+        }
+
+        synchronized void applyRoster(AuditEvent.RosterChanged event) {
+            if (event.added()) {
+                players.putIfAbsent(event.playerId(), PlayerLine.empty(event.teamId()));
+            } else {
+                players.remove(event.playerId());
+            }
+        }
+
+        void addShots(Long teamId, Long playerId, Long gameId, int count) {
+            Game.GameType type = gameTypes.get(gameId);
+            if (type == null) {
+                return;
+            }
+            if (playerId == null) {
+                teams.computeIfPresent(teamId, (id, stats) -> stats.withShots(type, count));
+            } else {
+                players.computeIfPresent(playerId, (id, line) -> line.withShots(type, count));
+            }
+        }
+
+        boolean sameAs(Board other) {
+            return teams.equals(other.teams) && players.equals(other.players);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.soiree.service;
+
+import com.soiree.model.Player;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Stratégie de répartition des joueurs en équipes (app.teams.balancer)
+ * - annealing (défaut) : glouton puis recuit simulé sur un objectif pondéré
+ * - round-robin : ancien comportement, hommes et femmes mélangés puis distribués
+ * Même problème et même graine : même répartition.
+ */
+public interface TeamBalancer {
+
+    /**
+     * @return pour chaque joueur (même ordre que le problème), l'index de son équipe
+     */
+    int[] assign(Problem problem);
+
+    /**
+     * Problème à plat, en tableaux primitifs
+     * previousTeam : équipe de la dernière composition connue (-1 si aucune)
+     */
+    record Problem(int teamCount, boolean[] male, int[] skill, int[] previousTeam, long seed) {
+
+        public Problem {
+            if (teamCount < 1) {
+                throw new IllegalArgumentException("Il faut au moins une équipe");
+            }
+        }
+
+        public int size() {
+            return male.length;
+        }
+
+        /**
+         * previousTeamByName : nom du joueur (voir key) -> index de son ancienne équipe
+         */
+        public static Problem of(List<Player> players, int teamCount, Map<String, Integer> previousTeamByName,
+                                 long seed) {
+            int n = players.size();
+            boolean[] male = new boolean[n];
+            int[] skill = new int[n];
+            int[] previousTeam = new int[n];
+            for (int i = 0; i < n; i++) {
+                Player player = players.get(i);
+                male[i] = player.getGender() == Player.Gender.HOMME;
+                skill[i] = Math.max(0, player.getSkill());
+                previousTeam[i] = previousTeamByName.getOrDefault(key(player.getName()), -1);
+            }
+            return new Problem(teamCount, male, skill, previousTeam, seed);
+        }
+
+        /** Les joueurs sont recréés à chaque soirée : on les reconnaît à leur nom */
+        public static String key(String name) {
+            return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+        }
+    }
+}
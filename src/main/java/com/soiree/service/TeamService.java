@@ -1,17 +1,26 @@
 package com.soiree.service;
 
+import com.soiree.audit.AuditEvent;
+import com.soiree.dto.TeamStanding;
+import com.soiree.dto.TeamSummary;
+import com.soiree.model.Event;
 import com.soiree.model.Player;
+import com.soiree.model.ScoreEvent;
 import com.soiree.model.Team;
+import com.soiree.repository.GameResultRepository;
 import com.soiree.repository.PlayerRepository;
 import com.soiree.repository.TeamRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Service pour gérer la logique métier des équipes
@@ -25,6 +34,13 @@ public class TeamService {
     
     private final TeamRepository teamRepository;
     private final PlayerRepository playerRepository;
+    private final GameResultRepository gameResultRepository;
+    private final EventService eventService;
+    private final LeaderboardService leaderboardService;
+    private final ScoreLedgerService scoreLedger;
+    private final TeamBalancer teamBalancer;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SecondLevelCache secondLevelCache;
 
     // Couleurs prédéfinies pour les équipes
     private static final String[] TEAM_COLORS = {
@@ -34,105 +50,151 @@ public class TeamService {
 
     /**
      * Créer des équipes automatiquement à partir d'une liste de joueurs
-     * Cette méthode équilibre hommes/femmes dans chaque équipe
+     * La répartition est confiée au TeamBalancer configuré (genre, taille, niveau, anciens coéquipiers)
      */
+    @Timed("soiree.teams.create")
     @Transactional
-    public List<Team> createBalancedTeams(List<Player> players, int numberOfTeams) {
-        logger.info("═══════════════════════════════════════════════════════════");
-        logger.info("👥 CRÉATION DES ÉQUIPES - {} joueurs pour {} équipes", players.size(), numberOfTeams);
-        logger.info("═══════════════════════════════════════════════════════════");
-        
-        // Supprimer les anciennes équipes et joueurs
-        teamRepository.deleteAll();
-        playerRepository.deleteAll();
-        logger.info("🗑️  Anciennes équipes et joueurs supprimés");
-
-        // Séparer hommes et femmes
-        List<Player> men = players.stream()
-                .filter(p -> p.getGender() == Player.Gender.HOMME)
-                .collect(Collectors.toList());
-
-        List<Player> women = players.stream()
-                .filter(p -> p.getGender() == Player.Gender.FEMME)
-                .collect(Collectors.toList());
-        
-        logger.info("📊 Répartition: {} hommes, {} femmes", men.size(), women.size());
-
-        // Mélanger aléatoirement
-        Collections.shuffle(men);
-        Collections.shuffle(women);
+    public List<Team> createBalancedTeams(Long eventId, List<Player> players, int numberOfTeams) {
+        return createBalancedTeams(eventId, players, numberOfTeams, null);
+    }
+
+    /**
+     * seed : graine de la répartition (null = tirée au hasard) ; même graine et mêmes joueurs = mêmes équipes
+     */
+    @Timed("soiree.teams.create")
+    @Transactional
+    public List<Team> createBalancedTeams(Long eventId, List<Player> players, int numberOfTeams, Long seed) {
+        Long id = eventService.resolve(eventId);
+        Map<String, Integer> previous = lastComposition(id);
+
+        // Supprimer les anciennes équipes et joueurs de la soirée (les résultats les référencent)
+        // Le journal des scores porte sur ces équipes : il repart de zéro lui aussi
+        scoreLedger.clear(id);
+        gameResultRepository.deleteByEventId(id);
+        playerRepository.deleteByEventId(id);
+        teamRepository.deleteByEventId(id);
+        secondLevelCache.evictRosters();
+
+        return buildTeams(id, players, numberOfTeams, previous, seed);
+    }
+
+    /**
+     * Répartir tous les inscrits de la soirée (vivier importé via /api/players/import, joueurs des
+     * équipes actuelles compris) dans de nouvelles équipes ; les joueurs sont conservés, pas recréés
+     */
+    @Timed("soiree.teams.create.pool")
+    @Transactional
+    public List<Team> createTeamsFromPool(Long eventId, int numberOfTeams, Long seed) {
+        Long id = eventService.resolve(eventId);
+        Map<String, Integer> previous = lastComposition(id);
+
+        scoreLedger.clear(id);
+        gameResultRepository.deleteByEventId(id);
+        // Remise au vivier par les entités, pas par un UPDATE en masse : celui-ci viderait la région
+        // "player" en fin de transaction, avant le déverrouillage des joueurs réaffectés (HHH90001005)
+        for (Player player : playerRepository.findByEventIdOrderByIdAsc(id)) {
+            player.setTeam(null);
+            player.setShotsCount(0);
+        }
+        teamRepository.deleteByEventId(id);
+        secondLevelCache.evictRosters();
+
+        return buildTeams(id, playerRepository.findByEventIdOrderByIdAsc(id), numberOfTeams, previous, seed);
+    }
+
+    private List<Team> buildTeams(Long id, List<Player> players, int numberOfTeams,
+                                  Map<String, Integer> previous, Long seed) {
+        long effectiveSeed = seed != null ? seed : ThreadLocalRandom.current().nextLong();
+        TeamBalancer.Problem problem = TeamBalancer.Problem.of(players, numberOfTeams, previous, effectiveSeed);
 
         // Créer les équipes
+        Event event = eventService.reference(id);
         List<Team> teams = new ArrayList<>();
         for (int i = 0; i < numberOfTeams; i++) {
             Team team = new Team(
                     "Équipe " + (i + 1),
                     TEAM_COLORS[i % TEAM_COLORS.length]
             );
+            team.setEvent(event);
             teams.add(team);
         }
 
-        // Répartir les hommes
-        for (int i = 0; i < men.size(); i++) {
-            Team team = teams.get(i % numberOfTeams);
-            Player player = men.get(i);
-            playerRepository.save(player);
-            team.addPlayer(player);
+        int[] assignment = teamBalancer.assign(problem);
+        for (int i = 0; i < assignment.length; i++) {
+            teams.get(assignment[i]).addPlayer(players.get(i));
         }
 
-        // Répartir les femmes
-        for (int i = 0; i < women.size(); i++) {
-            Team team = teams.get(i % numberOfTeams);
-            Player player = women.get(i);
-            playerRepository.save(player);
-            team.addPlayer(player);
-        }
-
-        // Sauvegarder toutes les équipes
+        // Sauvegarder toutes les équipes (les joueurs suivent par cascade, en lots)
         List<Team> savedTeams = teamRepository.saveAll(teams);
-        
-        logger.info("✅ {} équipes créées avec succès:", savedTeams.size());
-        for (Team team : savedTeams) {
-            long hommes = team.getPlayers().stream().filter(p -> p.getGender() == Player.Gender.HOMME).count();
-            long femmes = team.getPlayers().stream().filter(p -> p.getGender() == Player.Gender.FEMME).count();
-            logger.info("   🎨 {} ({}): {} joueurs ({}H/{}F) - Points: {} - Shots: {}", 
-                team.getName(), team.getColor(), 
-                team.getPlayers().size(), hommes, femmes,
-                team.getTotalPoints(), team.getShotsCount());
-            for (Player player : team.getPlayers()) {
-                logger.info("      • {} ({})", player.getName(), player.getGender());
+
+        eventPublisher.publishEvent(StandingsChangedEvent.replaced(id,
+                savedTeams.stream().map(TeamStanding::of).toList()));
+        eventPublisher.publishEvent(new StateChange.TeamsRecreated(id, savedTeams.size()));
+        eventPublisher.publishEvent(new AuditEvent.TeamsCreated(Instant.now(), id, effectiveSeed,
+                savedTeams.stream().map(TeamService::composition).toList()));
+        logger.debug("Soirée {} : {} équipes créées pour {} joueurs (graine {})",
+                id, savedTeams.size(), players.size(), effectiveSeed);
+        return savedTeams;
+    }
+
+    /**
+     * Dernière composition connue : équipes actuelles de la soirée, sinon celles de la soirée précédente
+     * (nom du joueur -> index de son équipe)
+     */
+    private Map<String, Integer> lastComposition(Long eventId) {
+        List<Team> previous = teamRepository.findAllWithPlayersByEventId(eventId);
+        if (previous.isEmpty()) {
+            previous = eventService.previousEventId(eventId)
+                    .map(teamRepository::findAllWithPlayersByEventId)
+                    .orElse(List.of());
+        }
+        Map<String, Integer> teamByName = new HashMap<>();
+        for (int t = 0; t < previous.size(); t++) {
+            for (Player player : previous.get(t).getPlayers()) {
+                teamByName.put(TeamBalancer.Problem.key(player.getName()), t);
             }
         }
-        logger.info("═══════════════════════════════════════════════════════════");
-        
-        return savedTeams;
+        return teamByName;
+    }
+
+    private static AuditEvent.TeamComposition composition(Team team) {
+        int men = (int) team.getPlayers().stream().filter(p -> p.getGender() == Player.Gender.HOMME).count();
+        return new AuditEvent.TeamComposition(team.getId(), team.getName(),
+                team.getPlayers().stream().map(Player::getId).toList(), men, team.getPlayers().size() - men);
+    }
+
+    /**
+     * Récupérer toutes les équipes triées par points (classement en mémoire, sans requête)
+     */
+    public List<TeamStanding> getAllTeamsSortedByPoints(Long eventId) {
+        return leaderboardService.standings(eventService.resolve(eventId));
     }
 
     /**
-     * Récupérer toutes les équipes triées par points
+     * Classement compact (sans les joueurs), lui aussi servi depuis la mémoire
      */
-    public List<Team> getAllTeamsSortedByPoints() {
-        List<Team> teams = teamRepository.findAll();
-        teams.sort((t1, t2) -> Integer.compare(t2.getTotalPoints(), t1.getTotalPoints()));
-        return teams;
+    public List<TeamSummary> getTeamSummaries(Long eventId) {
+        return getAllTeamsSortedByPoints(eventId).stream().map(TeamSummary::of).toList();
     }
 
     /**
      * Ajouter un joueur à une équipe existante
      */
     @Transactional
-    public Team addPlayerToTeam(Long teamId, Player player) {
-        Team team = teamRepository.findById(teamId)
+    public Team addPlayerToTeam(Long eventId, Long teamId, Player player) {
+        Long id = eventService.resolve(eventId);
+        Team team = teamRepository.findByIdAndEventId(teamId, id)
                 .orElseThrow(() -> new RuntimeException("Équipe non trouvée"));
 
-        logger.info("➕ AJOUT DE JOUEUR: {} ({}) → {}", player.getName(), player.getGender(), team.getName());
-        
-        playerRepository.save(player);
         team.addPlayer(player);
+        playerRepository.save(player);
         Team savedTeam = teamRepository.save(team);
-        
-        logger.info("   ✅ {} a maintenant {} joueurs", savedTeam.getName(), savedTeam.getPlayers().size());
-        
+        secondLevelCache.evictRoster(teamId);
+        eventPublisher.publishEvent(StandingsChangedEvent.updated(id, List.of(TeamStanding.of(savedTeam))));
+        eventPublisher.publishEvent(new StateChange.RosterChanged(id, teamId, savedTeam.getPlayers().size()));
+        eventPublisher.publishEvent(new AuditEvent.RosterChanged(Instant.now(), id, teamId,
+                player.getId(), player.getName(), true));
+
         return savedTeam;
     }
 
@@ -140,36 +202,58 @@ public class TeamService {
      * Retirer un joueur d'une équipe
      */
     @Transactional
-    public void removePlayerFromTeam(Long teamId, Long playerId) {
-        Team team = teamRepository.findById(teamId)
+    public void removePlayerFromTeam(Long eventId, Long teamId, Long playerId) {
+        Long id = eventService.resolve(eventId);
+        Team team = teamRepository.findByIdAndEventId(teamId, id)
                 .orElseThrow(() -> new RuntimeException("Équipe non trouvée"));
 
-        Player player = playerRepository.findById(playerId)
+        Player player = playerRepository.findByIdAndEventId(playerId, id)
                 .orElseThrow(() -> new RuntimeException("Joueur non trouvé"));
 
-        logger.info("➖ RETRAIT DE JOUEUR: {} → retiré de {}", player.getName(), team.getName());
-
         team.removePlayer(player);
         teamRepository.save(team);
         playerRepository.delete(player);
-        
-        logger.info("   ✅ {} a maintenant {} joueurs", team.getName(), team.getPlayers().size());
+        secondLevelCache.evictRoster(teamId);
+        eventPublisher.publishEvent(StandingsChangedEvent.updated(id, List.of(TeamStanding.of(team))));
+        eventPublisher.publishEvent(new StateChange.RosterChanged(id, teamId, team.getPlayers().size()));
+        eventPublisher.publishEvent(new AuditEvent.RosterChanged(Instant.now(), id, teamId,
+                playerId, player.getName(), false));
     }
 
     /**
-     * Réinitialiser tous les scores
+     * Réinitialiser tous les scores (points et shots des équipes, shots des joueurs)
+     *
+     * Deux UPDATE en masse (équipes, joueurs) quel que soit le nombre de joueurs ; les valeurs
+     * remises à zéro sont lues avant, sous verrou, pour le journal (remise à zéro annulable)
      */
     @Transactional
-    public void resetAllScores() {
-        logger.info("🔄 RÉINITIALISATION DES SCORES");
-        List<Team> teams = teamRepository.findAll();
-        teams.forEach(team -> {
-            logger.info("   🔄 {}: {} points → 0, {} shots → 0", 
-                team.getName(), team.getTotalPoints(), team.getShotsCount());
-            team.setTotalPoints(0);
-            team.setShotsCount(0);
-        });
-        teamRepository.saveAll(teams);
-        logger.info("✅ Tous les scores ont été réinitialisés");
+    public void resetAllScores(Long eventId) {
+        Long id = eventService.resolve(eventId);
+        // Journal verrouillé avant les équipes, dans le même ordre qu'une annulation : pas d'interblocage
+        scoreLedger.lock(id);
+        teamRepository.lockAllByEventId(id);
+        List<TeamStanding> before = teamRepository.findAllWithPlayersByEventId(id).stream()
+                .map(TeamStanding::of)
+                .toList();
+
+        // Remise à zéro = mouvements inverses dans le journal (annulable comme une saisie)
+        ScoreSubmission submission = scoreLedger.submission(id, ScoreEvent.Kind.RESET, null);
+        for (TeamStanding team : before) {
+            Map<Long, Integer> playerShots = new LinkedHashMap<>();
+            team.players().forEach(p -> playerShots.put(p.id(), -p.shotsCount()));
+            submission.teamPoints(team.id(), -team.totalPoints(), null)
+                    .teamShots(team.id(), -team.shotsCount())
+                    .playerShots(team.id(), playerShots);
+        }
+        // Contexte vidé par les UPDATE : aucune entité chargée plus haut n'est réécrite au flush
+        teamRepository.resetScoresByEventId(id);
+        playerRepository.resetShotsByEventId(id);
+        secondLevelCache.evictRosters();
+        scoreLedger.append(submission);
+
+        eventPublisher.publishEvent(StandingsChangedEvent.replaced(id,
+                before.stream().map(TeamStanding::withoutScores).toList()));
+        eventPublisher.publishEvent(new StateChange.ScoresReset(id));
+        eventPublisher.publishEvent(new AuditEvent.ScoresReset(Instant.now(), id, before.size()));
     }
 }
\ No newline at end of file
@@ -0,0 +1,114 @@
+-- Schéma initial (celui que créait hibernate.ddl-auto) : PostgreSQL en production, H2 en local et en test
+-- Une base déjà créée par Hibernate est marquée en V1 sans rejouer ce script (spring.flyway.baseline-on-migrate)
+
+create sequence game_result_seq start with 1 increment by 50;
+create sequence game_seq start with 1 increment by 50;
+create sequence player_seq start with 1 increment by 50;
+create sequence score_event_seq start with 1 increment by 50;
+create sequence score_snapshot_seq start with 1 increment by 1;
+create sequence soiree_event_seq start with 1 increment by 1;
+create sequence team_seq start with 1 increment by 50;
+
+create table soiree_event (
+    id bigint not null,
+    name varchar(255),
+    created_at timestamp(6) with time zone,
+    primary key (id)
+);
+
+create table game (
+    id bigint not null,
+    event_id bigint,
+    name varchar(255),
+    description varchar(1000),
+    "order" integer,
+    type varchar(255) check (type in ('TOUS_ENSEMBLE', 'REPRESENTANT', 'DUO', 'UN_VS_UN')),
+    completed boolean not null,
+    version bigint,
+    primary key (id)
+);
+
+create table team (
+    id bigint not null,
+    event_id bigint,
+    name varchar(255),
+    color varchar(255),
+    total_points integer not null,
+    shots_count integer not null,
+    version bigint,
+    primary key (id)
+);
+
+create table player (
+    id bigint not null,
+    event_id bigint,
+    team_id bigint,
+    name varchar(255),
+    gender varchar(255) check (gender in ('HOMME', 'FEMME')),
+    shots_count integer not null,
+    skill integer not null,
+    primary key (id)
+);
+
+create table game_result (
+    id bigint not null,
+    event_id bigint,
+    game_id bigint,
+    team_id bigint,
+    position integer not null,
+    points_earned integer not null,
+    drank_shot boolean not null,
+    primary key (id)
+);
+
+create table score_event (
+    id bigint not null,
+    event_id bigint,
+    submission uuid,
+    kind varchar(255) check (kind in ('GAME_RESULT', 'UNDERCOVER', 'GAGE_BONUS', 'RESET', 'UNDO')),
+    type varchar(255) check (type in ('TEAM_POINTS', 'TEAM_SHOTS', 'PLAYER_SHOTS')),
+    game_id bigint,
+    team_id bigint,
+    player_id bigint,
+    result_id bigint,
+    delta integer not null,
+    reverts uuid,
+    recorded_at timestamp(6) with time zone,
+    primary key (id)
+);
+
+create table score_snapshot (
+    id bigint not null,
+    event_id bigint,
+    last_score_event_id bigint,
+    taken_at timestamp(6) with time zone,
+    primary key (id)
+);
+
+create table score_snapshot_line (
+    snapshot_id bigint not null,
+    team_id bigint,
+    player_id bigint,
+    points integer,
+    shots integer
+);
+
+create index idx_game_event on game (event_id);
+create index idx_team_event on team (event_id);
+create index idx_player_event on player (event_id);
+create index idx_game_result_event on game_result (event_id);
+create index idx_score_event_event on score_event (event_id, id);
+create index idx_score_event_submission on score_event (submission);
+create index idx_score_event_reverts on score_event (reverts);
+create index idx_score_snapshot_event on score_snapshot (event_id, last_score_event_id);
+
+alter table game add constraint fk_game_event foreign key (event_id) references soiree_event;
+alter table team add constraint fk_team_event foreign key (event_id) references soiree_event;
+alter table player add constraint fk_player_event foreign key (event_id) references soiree_event;
+alter table player add constraint fk_player_team foreign key (team_id) references team;
+alter table game_result add constraint fk_game_result_event foreign key (event_id) references soiree_event;
+alter table game_result add constraint fk_game_result_game foreign key (game_id) references game;
+alter table game_result add constraint fk_game_result_team foreign key (team_id) references team;
+alter table score_event add constraint fk_score_event_event foreign key (event_id) references soiree_event;
+alter table score_snapshot add constraint fk_score_snapshot_event foreign key (event_id) references soiree_event;
+alter table score_snapshot_line add constraint fk_score_snapshot_line_snapshot foreign key (snapshot_id) references score_snapshot;
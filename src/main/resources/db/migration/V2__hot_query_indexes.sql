@@ -0,0 +1,11 @@
+-- Index des requêtes fréquentes (vérifiés par QueryPlanTest)
+-- "if not exists" : une base de production mise à jour par Hibernate peut déjà en avoir certains
+
+-- Résultats d'un jeu triés par position (GET /api/games/{id}/results)
+create index if not exists idx_game_result_game_position on game_result (game_id, position);
+-- Historique d'une équipe, jeu par jeu (GET /api/games/teams/{id}/history)
+create index if not exists idx_game_result_team_game on game_result (team_id, game_id);
+-- Joueurs d'une équipe (fetch join équipes + joueurs à chaque saisie)
+create index if not exists idx_player_team on player (team_id);
+-- Journal des scores d'un jeu (annulation : autre saisie active sur ce jeu ?)
+create index if not exists idx_score_event_game on score_event (event_id, game_id);
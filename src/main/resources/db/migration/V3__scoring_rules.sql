@@ -0,0 +1,34 @@
+-- Règles de score : tables de points et de shots par position, en données plutôt qu'en code
+-- Une règle ne change plus une fois créée (compilée une seule fois par instance)
+
+create table scoring_rule (
+    name varchar(100) not null,
+    kind varchar(255) check (kind in ('RANKING', 'MISTER_WHITE', 'BONUS')),
+    description varchar(255),
+    points varchar(255),
+    points_step integer not null,
+    shots varchar(255),
+    shots_step integer not null,
+    primary key (name)
+);
+
+-- Règles des jeux existants
+-- classement : 1er = 4, 2e = 3, 3e = 2, 4e = 1, 5e+ = 0 ; shots : 1er = 0, 2e = 1, 3e = 2... (+1 par place au-delà)
+insert into scoring_rule (name, kind, description, points, points_step, shots, shots_step)
+values ('classement', 'RANKING', 'Points et shots selon la place', '4,3,2,1,0', 0, '0,1,2,3', 1);
+-- Mister White : [équipe de Mister White si éliminé, autres si éliminé, équipe de Mister White sinon, autres sinon]
+insert into scoring_rule (name, kind, description, points, points_step, shots, shots_step)
+values ('mister-white', 'MISTER_WHITE', 'Whisky Undercover', '0,2,3,0', 0, '0,0,0,0', 0);
+-- Gage : points libres (table vide : toute valeur acceptée), pas de shots
+insert into scoring_rule (name, kind, description, points, points_step, shots, shots_step)
+values ('gage', 'BONUS', 'Points bonus d''un gage', '', 0, '', 0);
+
+alter table game add column scoring_rule varchar(100);
+update game set scoring_rule = 'mister-white' where name = 'Whisky Undercover';
+update game set scoring_rule = 'gage' where name = 'Gage';
+update game set scoring_rule = 'classement' where scoring_rule is null;
+
+-- Shots dus par chaque résultat, figés à la saisie (la règle du jeu peut changer ensuite)
+alter table game_result add column shots_count integer default 0 not null;
+update game_result set shots_count = position - 1
+where position > 1 and game_id in (select id from game where scoring_rule = 'classement');
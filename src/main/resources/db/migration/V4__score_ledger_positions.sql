@@ -0,0 +1,25 @@
+-- Journal des scores : position par soirée (seq), attribuée sous le verrou de la ligne soiree_event.
+-- Les identifiants viennent d'une séquence réservée par blocs de 50 : ils ne suivent pas l'ordre des commits,
+-- et un snapshot borné par identifiant pouvait laisser de côté un mouvement validé après lui.
+
+alter table soiree_event add column ledger_seq bigint default 0 not null;
+alter table soiree_event add column ledger_snapshot_seq bigint default 0 not null;
+alter table score_event add column seq bigint default 0 not null;
+
+-- Mouvements existants numérotés dans l'ordre de leurs identifiants
+update score_event set seq = (select count(*) from score_event o
+    where o.event_id = score_event.event_id and o.id <= score_event.id);
+update soiree_event set ledger_seq = (select coalesce(max(e.seq), 0) from score_event e
+    where e.event_id = soiree_event.id);
+
+drop index idx_score_event_event;
+create index idx_score_event_event on score_event (event_id, seq);
+
+-- Snapshots bornés par identifiant : peut-être incomplets, supprimés (ledger_snapshot_seq = 0 :
+-- la prochaine saisie de chaque soirée en reprend un depuis le journal complet)
+delete from score_snapshot_line;
+delete from score_snapshot;
+drop index idx_score_snapshot_event;
+alter table score_snapshot drop column last_score_event_id;
+alter table score_snapshot add column last_seq bigint default 0 not null;
+create index idx_score_snapshot_event on score_snapshot (event_id, last_seq);
@@ -0,0 +1,3 @@
+-- Journal des scores : position à la dernière initialisation des jeux (identifiants des jeux conservés).
+-- Les saisies antérieures ne s'annulent plus, ne marquent plus un jeu joué et ne comptent plus par jeu.
+alter table soiree_event add column ledger_games_seq bigint default 0 not null;
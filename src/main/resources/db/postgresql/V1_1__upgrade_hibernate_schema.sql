@@ -0,0 +1,130 @@
+-- Production (PostgreSQL) : mise à niveau d'une base créée par l'ancien ddl-auto=update, marquée en V1 sans
+-- avoir reçu V1__initial_schema.sql. Ses tables game, team, player, game_result ont des identifiants IDENTITY,
+-- sans soirée (event_id), sans version ni journal des scores : ce script les amène au schéma de V1.
+-- Idempotent : sur une base créée par V1 (ou déjà mise à niveau), seules les séquences sont repositionnées.
+
+-- Identifiants : séquences de V1 (blocs de 50 côté Hibernate), reprises au-delà des identifiants existants
+alter table game alter column id drop identity if exists;
+alter table team alter column id drop identity if exists;
+alter table player alter column id drop identity if exists;
+alter table game_result alter column id drop identity if exists;
+
+create sequence if not exists game_result_seq start with 1 increment by 50;
+create sequence if not exists game_seq start with 1 increment by 50;
+create sequence if not exists player_seq start with 1 increment by 50;
+create sequence if not exists score_event_seq start with 1 increment by 50;
+create sequence if not exists score_snapshot_seq start with 1 increment by 1;
+create sequence if not exists soiree_event_seq start with 1 increment by 1;
+create sequence if not exists team_seq start with 1 increment by 50;
+
+-- Tables absentes de l'ancien schéma
+create table if not exists soiree_event (
+    id bigint not null,
+    name varchar(255),
+    created_at timestamp(6) with time zone,
+    primary key (id)
+);
+
+create table if not exists score_event (
+    id bigint not null,
+    event_id bigint,
+    submission uuid,
+    kind varchar(255) check (kind in ('GAME_RESULT', 'UNDERCOVER', 'GAGE_BONUS', 'RESET', 'UNDO')),
+    type varchar(255) check (type in ('TEAM_POINTS', 'TEAM_SHOTS', 'PLAYER_SHOTS')),
+    game_id bigint,
+    team_id bigint,
+    player_id bigint,
+    result_id bigint,
+    delta integer not null,
+    reverts uuid,
+    recorded_at timestamp(6) with time zone,
+    primary key (id)
+);
+
+create table if not exists score_snapshot (
+    id bigint not null,
+    event_id bigint,
+    last_score_event_id bigint,
+    taken_at timestamp(6) with time zone,
+    primary key (id)
+);
+
+create table if not exists score_snapshot_line (
+    snapshot_id bigint not null,
+    team_id bigint,
+    player_id bigint,
+    points integer,
+    shots integer
+);
+
+-- Colonnes absentes de l'ancien schéma
+alter table game add column if not exists event_id bigint;
+alter table game add column if not exists version bigint;
+alter table team add column if not exists event_id bigint;
+alter table team add column if not exists version bigint;
+alter table player add column if not exists event_id bigint;
+alter table player add column if not exists skill integer default 0 not null;
+alter table game_result add column if not exists event_id bigint;
+
+-- Lignes existantes : rattachées à la soirée par défaut (créée si besoin), versions à 0
+do $$
+declare
+    default_event bigint;
+begin
+    if exists (select 1 from game where event_id is null)
+            or exists (select 1 from team where event_id is null)
+            or exists (select 1 from player where event_id is null)
+            or exists (select 1 from game_result where event_id is null) then
+        select min(id) into default_event from soiree_event where name = 'Soirée';
+        if default_event is null then
+            default_event := nextval('soiree_event_seq');
+            insert into soiree_event (id, name, created_at) values (default_event, 'Soirée', now());
+        end if;
+        update game set event_id = default_event where event_id is null;
+        update team set event_id = default_event where event_id is null;
+        update player set event_id = default_event where event_id is null;
+        update game_result set event_id = default_event where event_id is null;
+    end if;
+    update game set version = 0 where version is null;
+    update team set version = 0 where version is null;
+end
+$$;
+
+select setval('game_seq', (select coalesce(max(id), 0) + 50 from game));
+select setval('team_seq', (select coalesce(max(id), 0) + 50 from team));
+select setval('player_seq', (select coalesce(max(id), 0) + 50 from player));
+select setval('game_result_seq', (select coalesce(max(id), 0) + 50 from game_result));
+select setval('score_event_seq', (select coalesce(max(id), 0) + 50 from score_event));
+select setval('score_snapshot_seq', (select coalesce(max(id), 0) + 1 from score_snapshot));
+select setval('soiree_event_seq', (select coalesce(max(id), 0) + 1 from soiree_event));
+
+-- Index et clés étrangères de V1 (les clés game / team déjà posées par Hibernate gardent leur nom)
+create index if not exists idx_game_event on game (event_id);
+create index if not exists idx_team_event on team (event_id);
+create index if not exists idx_player_event on player (event_id);
+create index if not exists idx_game_result_event on game_result (event_id);
+create index if not exists idx_score_event_event on score_event (event_id, id);
+create index if not exists idx_score_event_submission on score_event (submission);
+create index if not exists idx_score_event_reverts on score_event (reverts);
+create index if not exists idx_score_snapshot_event on score_snapshot (event_id, last_score_event_id);
+
+do $$
+declare
+    fk record;
+begin
+    for fk in select * from (values
+            ('game', 'fk_game_event', 'event_id', 'soiree_event'),
+            ('team', 'fk_team_event', 'event_id', 'soiree_event'),
+            ('player', 'fk_player_event', 'event_id', 'soiree_event'),
+            ('game_result', 'fk_game_result_event', 'event_id', 'soiree_event'),
+            ('score_event', 'fk_score_event_event', 'event_id', 'soiree_event'),
+            ('score_snapshot', 'fk_score_snapshot_event', 'event_id', 'soiree_event'),
+            ('score_snapshot_line', 'fk_score_snapshot_line_snapshot', 'snapshot_id', 'score_snapshot'))
+            as t(tbl, name, col, target) loop
+        if not exists (select 1 from pg_constraint where conname = fk.name) then
+            execute format('alter table %I add constraint %I foreign key (%I) references %I',
+                    fk.tbl, fk.name, fk.col, fk.target);
+        end if;
+    end loop;
+end
+$$;
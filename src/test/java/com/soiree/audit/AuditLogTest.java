@@ -0,0 +1,45 @@
+package com.soiree.audit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Le journal écrit une ligne JSON UTF-8 par événement et se relit avec le type d'origine
+ */
+class AuditLogTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void writesOneJsonLinePerEvent() throws Exception {
+        JsonMapper mapper = JsonMapper.builder().build();
+        Path file = dir.resolve("audit.jsonl");
+        AuditLog auditLog = new AuditLog(mapper, file.toString(), 100, 10);
+
+        for (int i = 0; i < 25; i++) {
+            auditLog.onAuditEvent(new AuditEvent.ShotsDistributed(Instant.now(), 1L, 2L, 3L, 2,
+                    Map.of(10L + i, 2), 0));
+        }
+        auditLog.onAuditEvent(new AuditEvent.ResultRecorded(Instant.now(), 1L, 2L, "Jeu de Mime", List.of(
+                new AuditEvent.Placement(3L, "Équipe 1", 1, 4, 4, 0, 0))));
+        auditLog.shutdown();
+
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertThat(lines).hasSize(26);
+        assertThat(lines.get(25)).contains("\"type\":\"ResultRecorded\"", "Équipe 1");
+        AuditEvent last = mapper.readValue(lines.get(25), AuditEvent.class);
+        assertThat(last).isInstanceOf(AuditEvent.ResultRecorded.class);
+        assertThat(auditLog.droppedCount()).isZero();
+    }
+}
@@ -0,0 +1,142 @@
+package com.soiree.config;
+
+import com.soiree.model.Player;
+import com.soiree.model.Team;
+import com.soiree.service.EventService;
+import com.soiree.service.GameService;
+import com.soiree.service.TeamService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Une saisie renvoyée avec la même Idempotency-Key n'est appliquée qu'une fois
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class IdempotencyFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Test
+    void sameKeyIsAppliedOnceThenReplayed() throws Exception {
+        List<Long> teams = teamService.createBalancedTeams(null, List.of(
+                        new Player("Alice", Player.Gender.FEMME),
+                        new Player("Bob", Player.Gender.HOMME)), 2)
+                .stream().map(Team::getId).toList();
+        gameService.initializeGames(null);
+        Long gameId = gameService.getAllGames(null).get(0).getId();
+        String body = "{\"positions\":{\"" + teams.get(0) + "\":1,\"" + teams.get(1) + "\":2}}";
+
+        for (int attempt = 0; attempt < 3; attempt++) {
+            mockMvc.perform(post("/api/games/" + gameId + "/results")
+                            .header(IdempotencyFilter.KEY_HEADER, "saisie-1")
+                            .contentType("application/json")
+                            .content(body))
+                    .andExpect(status().isOk())
+                    .andExpect(attempt == 0
+                            ? header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER)
+                            : header().string(IdempotencyFilter.REPLAYED_HEADER, "true"));
+        }
+
+        assertThat(teamService.getAllTeamsSortedByPoints(null).get(0).totalPoints()).isEqualTo(4);
+    }
+
+    @Test
+    void sameKeyOnAnotherEventSelectedByParameterIsApplied() throws Exception {
+        Long[] games = new Long[2];
+        String[] bodies = new String[2];
+        Long[] events = new Long[2];
+        for (int i = 0; i < 2; i++) {
+            events[i] = eventService.createEvent("Soirée " + i).getId();
+            List<Long> teams = teamService.createBalancedTeams(events[i], List.of(
+                            new Player("Alice", Player.Gender.FEMME),
+                            new Player("Bob", Player.Gender.HOMME)), 2)
+                    .stream().map(Team::getId).toList();
+            gameService.initializeGames(events[i]);
+            games[i] = gameService.getAllGames(events[i]).get(0).getId();
+            bodies[i] = "{\"positions\":{\"" + teams.get(0) + "\":1,\"" + teams.get(1) + "\":2}}";
+        }
+
+        // Même chemin et même clé, soirée choisie par ?eventId= : deux saisies distinctes
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/games/" + games[i] + "/results")
+                            .param("eventId", events[i].toString())
+                            .header(IdempotencyFilter.KEY_HEADER, "saisie-partagee")
+                            .contentType("application/json")
+                            .content(bodies[i]))
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER));
+        }
+
+        for (Long event : events) {
+            assertThat(teamService.getAllTeamsSortedByPoints(event).get(0).totalPoints()).isEqualTo(4);
+        }
+    }
+
+    @Test
+    void sameKeyWithAnotherBodyIsRejected() throws Exception {
+        Long eventId = eventService.createEvent("Clé réutilisée").getId();
+        List<Long> teams = teamService.createBalancedTeams(eventId, List.of(
+                        new Player("Alice", Player.Gender.FEMME),
+                        new Player("Bob", Player.Gender.HOMME)), 2)
+                .stream().map(Team::getId).toList();
+        gameService.initializeGames(eventId);
+        Long gameId = gameService.getAllGames(eventId).get(0).getId();
+
+        for (int winner = 0; winner < 2; winner++) {
+            mockMvc.perform(post("/api/games/" + gameId + "/results")
+                            .header(CurrentEventArgumentResolver.EVENT_HEADER, eventId)
+                            .header(IdempotencyFilter.KEY_HEADER, "saisie-modifiee")
+                            .contentType("application/json")
+                            .content("{\"positions\":{\"" + teams.get(winner) + "\":1,\""
+                                    + teams.get(1 - winner) + "\":2}}"))
+                    .andExpect(winner == 0 ? status().isOk() : status().isUnprocessableContent())
+                    .andExpect(header().doesNotExist(IdempotencyFilter.REPLAYED_HEADER));
+        }
+
+        // Seule la première saisie est appliquée
+        assertThat(teamService.getAllTeamsSortedByPoints(eventId).get(0).id()).isEqualTo(teams.get(0));
+        assertThat(teamService.getAllTeamsSortedByPoints(eventId).get(0).totalPoints()).isEqualTo(4);
+    }
+
+    @Test
+    void storeIsBoundedAndExpires() {
+        IdempotencyStore store = new IdempotencyStore(1, 2);
+        IdempotencyStore.StoredResponse ok = new IdempotencyStore.StoredResponse(200, Map.of(), new byte[0]);
+
+        assertThat(store.begin("a", 0)).isNull();
+        assertThat(store.begin("a", 10).inFlight()).isTrue();
+        store.complete("a", "h", ok, 10);
+        assertThat(store.begin("a", 20).response()).isSameAs(ok);
+
+        assertThat(store.begin("b", 20)).isNull();
+        assertThat(store.begin("c", 20)).isNull();
+        assertThat(store.size()).isEqualTo(2);
+
+        // Au-delà de la durée de vie, la clé est de nouveau libre
+        assertThat(store.begin("c", 5_000)).isNull();
+    }
+}
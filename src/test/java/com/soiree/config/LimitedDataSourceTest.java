@@ -0,0 +1,54 @@
+package com.soiree.config;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Concurrence bornée : pas plus de connexions empruntées que de jetons, jeton rendu une seule fois à la fermeture
+ */
+class LimitedDataSourceTest {
+
+    private static JdbcDataSource h2() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:limited;DB_CLOSE_DELAY=-1");
+        return dataSource;
+    }
+
+    @Test
+    void waitsForAPermitThenFailsFast() throws Exception {
+        LimitedDataSource dataSource = new LimitedDataSource(h2(), 2, Duration.ofMillis(100), Duration.ZERO);
+
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+        assertThat(dataSource.inUse()).isEqualTo(2);
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+
+        first.close();
+        first.close(); // deuxième fermeture : aucun jeton rendu en trop
+        assertThat(dataSource.inUse()).isEqualTo(1);
+        try (Connection third = dataSource.getConnection()) {
+            assertThat(dataSource.inUse()).isEqualTo(2);
+        }
+        second.close();
+        assertThat(dataSource.inUse()).isZero();
+    }
+
+    @Test
+    void simulatedLatencyDelaysEachStatement() throws Exception {
+        LimitedDataSource dataSource = new LimitedDataSource(h2(), 1, Duration.ofSeconds(1), Duration.ofMillis(50));
+
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            long start = System.nanoTime();
+            statement.execute("select 1");
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(50));
+        }
+    }
+}
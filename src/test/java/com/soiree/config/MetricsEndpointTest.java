@@ -0,0 +1,64 @@
+package com.soiree.config;
+
+import com.soiree.model.Player;
+import com.soiree.model.Team;
+import com.soiree.service.GameService;
+import com.soiree.service.TeamService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * /actuator/prometheus expose les durées par endpoint et par opération, les requêtes SQL par opération,
+ * le pool Hikari et les statistiques Hibernate
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Test
+    void hotPathsAreTimedAndCounted() throws Exception {
+        List<Long> teams = teamService.createBalancedTeams(null, List.of(
+                        new Player("Alice", Player.Gender.FEMME),
+                        new Player("Bob", Player.Gender.HOMME)), 2)
+                .stream().map(Team::getId).toList();
+        gameService.initializeGames(null);
+        Long gameId = gameService.getAllGames(null).get(0).getId();
+        gameService.saveGameResults(null, gameId, Map.of(teams.get(0), 1, teams.get(1), 2));
+        mockMvc.perform(get("/api/teams")).andExpect(status().isOk());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(scrape)
+                .contains("soiree_games_results_seconds_count")
+                .contains("soiree_teams_create_seconds_count")
+                .contains("soiree_leaderboard_read_seconds_count")
+                .containsPattern("soiree_sql_statements_sum\\{.*operation=\"soiree.games.results\".*} [1-9]")
+                .containsPattern("http_server_requests_seconds_bucket\\{.*uri=\"/api/teams\"")
+                .contains("hikaricp_connections_max")
+                .contains("hibernate_statements_total")
+                .contains("hibernate_entities_loads_total");
+    }
+}
@@ -0,0 +1,219 @@
+package com.soiree.controller;
+
+import com.soiree.config.CurrentEventArgumentResolver;
+import com.soiree.model.Player;
+import com.soiree.service.EventService;
+import com.soiree.service.GameService;
+import com.soiree.service.TeamService;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Lectures conditionnelles : 304 sur If-None-Match, ETag qui suit les écritures validées,
+ * négociation du format (JSON, CBOR, Smile), corps pré-compressés, règles des jeux servies à part
+ */
+@SpringBootTest(properties = "app.http.body-cache.max-entries=" + ConditionalResponsesTest.MAX_BODIES)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ConditionalResponsesTest {
+
+    static final int MAX_BODIES = 20;
+
+    private static final String CATALOGUE = "/api/games?expand=description";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private ConditionalResponses conditionalResponses;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Long eventId;
+
+    @BeforeAll
+    void seed() {
+        eventId = eventService.createEvent("Formats").getId();
+        gameService.initializeGames(eventId);
+    }
+
+    @Test
+    void unchangedStateAnswersNotModifiedAndCommittedWriteChangesTheEtag() throws Exception {
+        String etag = fetch(null, null).getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(fetch(null, null).getResponse().getHeader(HttpHeaders.ETAG)).isEqualTo(etag);
+        mockMvc.perform(get(CATALOGUE)
+                        .header(CurrentEventArgumentResolver.EVENT_HEADER, eventId)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        // Écriture validée : nouvelle version, l'ancienne copie n'est plus valable
+        Long gameId = gameService.getGameSummaries(eventId).get(0).id();
+        gameService.assignScoringRule(eventId, gameId, gameService.getAllGames(eventId).get(0).getScoringRule());
+        MvcResult fresh = mockMvc.perform(get(CATALOGUE)
+                        .header(CurrentEventArgumentResolver.EVENT_HEADER, eventId)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertThat(fresh.getResponse().getHeader(HttpHeaders.ETAG)).isNotEqualTo(etag);
+    }
+
+    @Test
+    void binaryFormatsCarryTheSameCatalogueInFewerBytes() throws Exception {
+        byte[] json = fetch("application/json", null).getResponse().getContentAsByteArray();
+        MvcResult cbor = fetch("application/cbor", null);
+        MvcResult smile = fetch("application/x-jackson-smile;q=0.9, application/json;q=0.5", null);
+
+        assertThat(cbor.getResponse().getContentType()).isEqualTo("application/cbor");
+        assertThat(smile.getResponse().getContentType()).isEqualTo("application/x-jackson-smile");
+        JsonNode expected = objectMapper.readTree(json);
+        assertThat(CBORMapper.builder().build().readTree(cbor.getResponse().getContentAsByteArray())).isEqualTo(expected);
+        assertThat(SmileMapper.builder().build().readTree(smile.getResponse().getContentAsByteArray())).isEqualTo(expected);
+        assertThat(cbor.getResponse().getContentAsByteArray().length).isLessThan(json.length);
+        assertThat(smile.getResponse().getContentAsByteArray().length).isLessThan(json.length);
+    }
+
+    @Test
+    void etagIsPerFormat() throws Exception {
+        String jsonEtag = fetch(null, null).getResponse().getHeader(HttpHeaders.ETAG);
+        String cborEtag = fetch("application/cbor", null).getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(cborEtag).isNotEqualTo(jsonEtag);
+
+        mockMvc.perform(get(CATALOGUE)
+                        .header(CurrentEventArgumentResolver.EVENT_HEADER, eventId)
+                        .header(HttpHeaders.ACCEPT, "application/cbor")
+                        .header(HttpHeaders.IF_NONE_MATCH, cborEtag))
+                .andExpect(status().isNotModified());
+        // Même version, autre format : l'ETag CBOR ne valide pas la copie JSON
+        MvcResult json = mockMvc.perform(get(CATALOGUE)
+                        .header(CurrentEventArgumentResolver.EVENT_HEADER, eventId)
+                        .header(HttpHeaders.IF_NONE_MATCH, cborEtag))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertThat(String.join(",", json.getResponse().getHeaders(HttpHeaders.VARY)))
+                .contains(HttpHeaders.ACCEPT).contains(HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    @Test
+    void largeBodiesAreServedPreCompressed() throws Exception {
+        byte[] plain = fetch(null, null).getResponse().getContentAsByteArray();
+        MvcResult gzipped = fetch(null, "gzip, deflate");
+
+        assertThat(plain.length).isGreaterThanOrEqualTo(ConditionalResponses.MIN_GZIP_SIZE);
+        assertThat(gzipped.getResponse().getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        byte[] compressed = gzipped.getResponse().getContentAsByteArray();
+        assertThat(compressed.length).isLessThan(plain.length);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            assertThat(in.readAllBytes()).isEqualTo(plain);
+        }
+        assertThat(fetch(null, "gzip;q=0").getResponse().getHeader(HttpHeaders.CONTENT_ENCODING)).isNull();
+
+        // Autre codage, autre représentation : ETag distinct, chacun valide sa propre copie
+        String plainEtag = fetch(null, null).getResponse().getHeader(HttpHeaders.ETAG);
+        String gzipEtag = gzipped.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(gzipEtag).isNotEqualTo(plainEtag).endsWith("-gz\"");
+        mockMvc.perform(get(CATALOGUE)
+                        .header(CurrentEventArgumentResolver.EVENT_HEADER, eventId)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, gzipEtag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, gzipEtag));
+        mockMvc.perform(get(CATALOGUE)
+                        .header(CurrentEventArgumentResolver.EVENT_HEADER, eventId)
+                        .header(HttpHeaders.IF_NONE_MATCH, gzipEtag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void rulesAreServedSeparatelyWithLongLivedCaching() throws Exception {
+        Long gameId = gameService.getGameSummaries(eventId).get(0).id();
+        MvcResult rules = mockMvc.perform(get("/api/games/" + gameId + "/rules")
+                        .header(CurrentEventArgumentResolver.EVENT_HEADER, eventId))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertThat(objectMapper.readTree(rules.getResponse().getContentAsByteArray()).get("rules").asString())
+                .isEqualTo(gameService.getAllGames(eventId).get(0).getDescription());
+        assertThat(rules.getResponse().getHeader(HttpHeaders.CACHE_CONTROL))
+                .isEqualTo("max-age=" + GameController.RULES_MAX_AGE.toSeconds());
+        mockMvc.perform(get("/api/games/" + gameId + "/rules")
+                        .header(CurrentEventArgumentResolver.EVENT_HEADER, eventId)
+                        .header(HttpHeaders.IF_NONE_MATCH, rules.getResponse().getHeader(HttpHeaders.ETAG)))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/games/" + gameId + "/rules"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void cachedBodiesStayBoundedAndAreDroppedWhenTeamsAreRecreated() throws Exception {
+        // Identifiants arbitraires (résultats vides, pas d'erreur), trois formats : trois corps par identifiant
+        for (long gameId = 1_000_000; gameId < 1_000_100; gameId++) {
+            for (String accept : List.of("application/json", "application/cbor", "application/x-jackson-smile")) {
+                mockMvc.perform(get("/api/games/" + gameId + "/results")
+                                .header(CurrentEventArgumentResolver.EVENT_HEADER, eventId)
+                                .header(HttpHeaders.ACCEPT, accept))
+                        .andExpect(status().isOk());
+            }
+        }
+        assertThat(conditionalResponses.cachedBodies()).isLessThanOrEqualTo(MAX_BODIES);
+
+        // Équipes recréées : plus aucun corps de la soirée en mémoire
+        fetch(null, null);
+        assertThat(conditionalResponses.cachedBodies()).isPositive();
+        teamService.createBalancedTeams(eventId, List.of(
+                new Player("Alice", Player.Gender.FEMME), new Player("Bob", Player.Gender.HOMME)), 2);
+        assertThat(conditionalResponses.cachedBodies()).isZero();
+    }
+
+    @Test
+    void negotiationFallsBackToJson() {
+        assertThat(WireFormat.negotiate(null)).isEqualTo(WireFormat.JSON);
+        assertThat(WireFormat.negotiate("*/*")).isEqualTo(WireFormat.JSON);
+        assertThat(WireFormat.negotiate("text/html, application/*;q=0.8")).isEqualTo(WireFormat.JSON);
+        assertThat(WireFormat.negotiate("application/cbor;q=0, application/json")).isEqualTo(WireFormat.JSON);
+        assertThat(WireFormat.negotiate("pas un type")).isEqualTo(WireFormat.JSON);
+        assertThat(WireFormat.negotiate("application/json;q=0.5, application/cbor")).isEqualTo(WireFormat.CBOR);
+    }
+
+    private MvcResult fetch(String accept, String acceptEncoding) throws Exception {
+        var request = get(CATALOGUE).header(CurrentEventArgumentResolver.EVENT_HEADER, eventId);
+        if (accept != null) {
+            request.header(HttpHeaders.ACCEPT, accept);
+        }
+        if (acceptEncoding != null) {
+            request.header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        return mockMvc.perform(request).andExpect(status().isOk()).andReturn();
+    }
+}
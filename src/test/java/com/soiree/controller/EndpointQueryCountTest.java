@@ -0,0 +1,117 @@
+package com.soiree.controller;
+
+import com.soiree.config.CurrentEventArgumentResolver;
+import com.soiree.model.Player;
+import com.soiree.model.Team;
+import com.soiree.service.EventService;
+import com.soiree.service.GameService;
+import com.soiree.service.TeamService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Nombre de requêtes SQL par endpoint de lecture, borné quel que soit le nombre d'équipes :
+ * une association parcourue une ligne à la fois (N+1) fait échouer le test
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EndpointQueryCountTest {
+
+    private static final int TEAMS = 100;
+    private static final int PLAYERS_PER_TEAM = 5;
+    private static final long MAX_STATEMENTS = 6;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long eventId;
+    private Long gameId;
+    private Long teamId;
+    private Long playerId;
+
+    @BeforeAll
+    void seed() {
+        eventId = eventService.createEvent("100 équipes").getId();
+        gameService.initializeGames(eventId);
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < TEAMS * PLAYERS_PER_TEAM; i++) {
+            players.add(new Player("Joueur " + i, i % 2 == 0 ? Player.Gender.HOMME : Player.Gender.FEMME));
+        }
+        List<Team> teams = teamService.createBalancedTeams(eventId, players, TEAMS, 42L);
+        gameId = gameService.getAllGames(eventId).get(0).getId();
+        Map<Long, Integer> positions = new LinkedHashMap<>();
+        for (int i = 0; i < teams.size(); i++) {
+            positions.put(teams.get(i).getId(), i + 1);
+        }
+        gameService.saveGameResults(eventId, gameId, positions);
+        teamId = teams.get(TEAMS - 1).getId();
+        playerId = teams.get(TEAMS - 1).getPlayers().get(0).getId();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "/api/teams",
+            "/api/teams?expand=players",
+            "/api/games",
+            "/api/games?expand=description",
+            "/api/games/{game}/results",
+            "/api/games/{game}/results?expand=team",
+            "/api/games/teams/{team}/history",
+            "/api/games/teams/{team}/history?expand=team",
+            "/api/stats/teams/{team}",
+            "/api/stats/players/{player}",
+            "/api/scores/standings",
+            "/api/scores/standings?at={now}",
+            "/api/events",
+            "/api/scoring-rules"
+    })
+    void readEndpointIssuesBoundedStatementCount(String path) throws Exception {
+        String uri = path.replace("{game}", gameId.toString())
+                .replace("{team}", teamId.toString())
+                .replace("{player}", playerId.toString())
+                .replace("{now}", Instant.now().toString());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(get(uri).header(CurrentEventArgumentResolver.EVENT_HEADER, eventId))
+                .andExpect(status().isOk());
+
+        assertThat(statistics.getPrepareStatementCount())
+                .as("requêtes SQL pour GET %s (%d équipes)", path, TEAMS)
+                .isLessThanOrEqualTo(MAX_STATEMENTS);
+    }
+}
@@ -0,0 +1,154 @@
+package com.soiree.controller;
+
+import com.soiree.config.CurrentEventArgumentResolver;
+import com.soiree.model.Player;
+import com.soiree.model.Team;
+import com.soiree.service.EventService;
+import com.soiree.service.GameService;
+import com.soiree.service.TeamService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Vues compactes (com.soiree.dto) : mêmes valeurs que les entités complètes (?expand=),
+ * sans description, sans joueurs, et sans charger aucune entité
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ProjectionEndpointTest {
+
+    private static final JsonMapper JSON = JsonMapper.builder().build();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long eventId;
+    private Long gameId;
+    private Long teamId;
+    private Map<Long, Integer> positions;
+
+    @BeforeAll
+    void seed() {
+        eventId = eventService.createEvent("Vues compactes").getId();
+        gameService.initializeGames(eventId);
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            players.add(new Player("Joueur " + i, i % 2 == 0 ? Player.Gender.HOMME : Player.Gender.FEMME));
+        }
+        List<Team> teams = teamService.createBalancedTeams(eventId, players, 4, 42L);
+        gameId = gameService.getAllGames(eventId).get(0).getId();
+        positions = new LinkedHashMap<>();
+        for (int i = 0; i < teams.size(); i++) {
+            positions.put(teams.get(i).getId(), i + 1);
+        }
+        gameService.saveGameResults(eventId, gameId, positions);
+        teamId = teams.get(0).getId();
+    }
+
+    @Test
+    void gameSummariesMatchGamesWithoutDescription() throws Exception {
+        JsonNode compact = read("/api/games");
+        JsonNode full = read("/api/games?expand=description");
+
+        assertThat(compact.size()).isEqualTo(full.size()).isPositive();
+        for (int i = 0; i < compact.size(); i++) {
+            assertSameFields(compact.get(i), full.get(i), "id", "name", "order", "type", "completed", "scoringRule");
+            assertThat(compact.get(i).has("description")).isFalse();
+            assertThat(compact.get(i).has("results")).isFalse();
+            assertThat(full.get(i).get("description").asString()).isNotBlank();
+        }
+    }
+
+    @Test
+    void teamSummariesMatchTeamsWithoutPlayers() throws Exception {
+        JsonNode compact = read("/api/teams");
+        JsonNode full = read("/api/teams?expand=players");
+
+        assertThat(compact.size()).isEqualTo(full.size()).isEqualTo(4);
+        for (int i = 0; i < compact.size(); i++) {
+            assertSameFields(compact.get(i), full.get(i), "id", "name", "color", "totalPoints", "shotsCount");
+            assertThat(compact.get(i).get("playerCount").asInt()).isEqualTo(full.get(i).get("players").size());
+            assertThat(compact.get(i).has("players")).isFalse();
+        }
+    }
+
+    @Test
+    void resultRowsMatchResultsWithoutTeamPlayers() throws Exception {
+        for (String path : List.of("/api/games/" + gameId + "/results", "/api/games/teams/" + teamId + "/history")) {
+            JsonNode compact = read(path);
+            JsonNode full = read(path + "?expand=team");
+
+            assertThat(compact.size()).as(path).isEqualTo(full.size()).isPositive();
+            for (int i = 0; i < compact.size(); i++) {
+                JsonNode row = compact.get(i);
+                JsonNode result = full.get(i);
+                assertSameFields(row, result, "id", "position", "pointsEarned", "drankShot");
+                assertThat(row.get("teamId").asLong()).isEqualTo(result.get("team").get("id").asLong());
+                assertThat(row.get("teamName").asString()).isEqualTo(result.get("team").get("name").asString());
+                assertThat(row.get("teamColor").asString()).isEqualTo(result.get("team").get("color").asString());
+                assertThat(row.has("team")).isFalse();
+            }
+        }
+    }
+
+    @Test
+    void compactViewsLoadNoEntity() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        // Réponses hors cache de ConditionalResponses : nouvelle version de la soirée
+        gameService.saveGameResults(eventId, gameService.getAllGames(eventId).get(1).getId(), positions);
+        for (String path : List.of("/api/games", "/api/teams", "/api/games/" + gameId + "/results",
+                "/api/games/teams/" + teamId + "/history")) {
+            statistics.clear();
+            read(path);
+            assertThat(statistics.getEntityLoadCount()).as("entités chargées par GET %s", path).isZero();
+            assertThat(statistics.getCollectionLoadCount()).as("collections chargées par GET %s", path).isZero();
+        }
+    }
+
+    private JsonNode read(String path) throws Exception {
+        String body = mockMvc.perform(get(path).header(CurrentEventArgumentResolver.EVENT_HEADER, eventId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return JSON.readTree(body);
+    }
+
+    private static void assertSameFields(JsonNode compact, JsonNode full, String... fields) {
+        for (String field : fields) {
+            assertThat(compact.get(field)).as(field).isEqualTo(full.get(field));
+        }
+    }
+}
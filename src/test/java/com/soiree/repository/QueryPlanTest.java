@@ -0,0 +1,92 @@
+package com.soiree.repository;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Plans d'exécution des requêtes fréquentes (H2 en mode PostgreSQL, schéma issu des migrations Flyway)
+ * Chaque requête doit accéder à sa table par un index sur la colonne la plus sélective
+ * (index des migrations, ou index qu'H2 crée lui-même sur les clés étrangères) :
+ * un parcours complet de table fait échouer le build.
+ * Le SQL reprend celui généré par Hibernate pour les méthodes des repositories.
+ * Données représentatives (10 soirées de 5 jeux et 10 équipes) puis ANALYZE : l'optimiseur choisit
+ * selon la sélectivité réelle des colonnes, comme PostgreSQL avec ses statistiques.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanTest {
+
+    // Identifiants hors de portée des séquences : aucune collision avec les autres tests
+    private static final long BASE = 10_000_000L;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        jdbcTemplate.update("insert into soiree_event (id, name) select x, 'Plan ' || x from system_range(?, ?) s(x)",
+                BASE + 1, BASE + 10);
+        jdbcTemplate.update("insert into game (id, event_id, name, \"order\", type, completed) "
+                + "select x, ? + (x - ? - 1) / 5 + 1, 'Jeu', mod(x, 5), 'TOUS_ENSEMBLE', true from system_range(?, ?) s(x)",
+                BASE, BASE, BASE + 1, BASE + 50);
+        jdbcTemplate.update("insert into team (id, event_id, name, total_points, shots_count) "
+                + "select x, ? + (x - ? - 1) / 10 + 1, 'Équipe', 0, 0 from system_range(?, ?) s(x)",
+                BASE, BASE, BASE + 1, BASE + 100);
+        jdbcTemplate.update("insert into player (id, event_id, team_id, name, gender, shots_count, skill) "
+                + "select x, ? + (x - ? - 1) / 80 + 1, ? + (x - ? - 1) / 8 + 1, 'Joueur', 'HOMME', 0, 0 "
+                + "from system_range(?, ?) s(x)", BASE, BASE, BASE, BASE, BASE + 1, BASE + 800);
+        // Chaque jeu : un résultat par équipe de sa soirée
+        jdbcTemplate.update("insert into game_result (id, event_id, game_id, team_id, position, points_earned, drank_shot) "
+                + "select ? + (g.id - ? - 1) * 10 + mod(t.id, 10) + 1, g.event_id, g.id, t.id, mod(t.id, 10) + 1, 0, false "
+                + "from game g join team t on t.event_id = g.event_id where g.id > ?", BASE, BASE, BASE);
+        jdbcTemplate.update("insert into score_event (id, event_id, seq, submission, kind, type, game_id, team_id, delta) "
+                + "select x, ? + mod(x, 10) + 1, x, random_uuid(), 'GAME_RESULT', 'TEAM_POINTS', ? + mod(x, 50) + 1, "
+                + "? + mod(x, 100) + 1, 1 from system_range(?, ?) s(x)", BASE, BASE, BASE, BASE + 1, BASE + 2000);
+        jdbcTemplate.update("insert into score_snapshot (id, event_id, last_seq) "
+                + "select x, ? + mod(x, 10) + 1, x from system_range(?, ?) s(x)", BASE, BASE + 1, BASE + 20);
+        jdbcTemplate.execute("analyze");
+    }
+
+    @AfterAll
+    void cleanUp() {
+        for (String table : new String[]{"score_snapshot", "score_event", "game_result", "player", "team", "game"}) {
+            jdbcTemplate.update("delete from " + table + " where event_id > ?", BASE);
+        }
+        jdbcTemplate.update("delete from soiree_event where id > ?", BASE);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @CsvSource(delimiter = '|', textBlock = """
+            GameResultRepository.findRowsByGame                  | game_id =        | select r.id, r.game_id, t.id, t.name, t.color, r.position, r.points_earned, r.drank_shot from game_result r join team t on t.id = r.team_id where r.event_id = 10000001 and r.game_id = 10000001 order by r.position
+            GameResultRepository.findRowsByTeam                  | team_id =        | select r.id, r.game_id, t.id, t.name, t.color, r.position, r.points_earned, r.drank_shot from game_result r join team t on t.id = r.team_id where r.event_id = 10000001 and r.team_id = 10000001 order by r.id
+            GameResultRepository.findRowsByEvent                 | event_id =       | select r.id, r.game_id, r.team_id, r.position, r.points_earned from game_result r where r.event_id = 10000001 order by r.id
+            TeamRepository.findAllWithPlayersByEventId           | team_id = t.id   | select t.id, p.id, p.name from team t left join player p on t.id = p.team_id where t.event_id = 10000001
+            TeamRepository.findByEventId                         | event_id =       | select t.id from team t where t.event_id = 10000001
+            PlayerRepository.findByEventIdOrderByIdAsc           | event_id =       | select p.id, p.name from player p where p.event_id = 10000001 order by p.id
+            GameRepository.findByEventIdOrderByOrderAsc          | event_id =       | select g.id, g.name from game g where g.event_id = 10000001 order by g."order"
+            ScoreEventRepository.findByEventIdAndSeqGreaterThan  | event_id =       | select e.id, e.delta from score_event e where e.event_id = 10000001 and e.seq > 100 order by e.seq
+            ScoreEventRepository.findBySubmission                | submission =     | select e.id from score_event e where e.submission = '00000000-0000-0000-0000-000000000001' order by e.id
+            ScoreEventRepository.existsActiveForGame             | event_id =       | select count(e.id) from score_event e where e.event_id = 10000001 and e.game_id = 10000001 and e.kind <> 'UNDO'
+            ScoreSnapshotRepository.findFirstByEventId           | event_id =       | select s.id from score_snapshot s where s.event_id = 10000001 order by s.last_seq desc limit 1
+            """)
+    void hotQueryUsesIndex(String query, String lookup, String sql) {
+        String plan = jdbcTemplate.queryForObject("explain " + sql, String.class).toLowerCase();
+
+        // H2 annonce l'accès choisi en commentaire : /* public.<index>: <condition> */
+        assertThat(plan).as("plan de %s :%n%s", query, plan)
+                .containsPattern("/\\* public\\.[a-z0-9_]+: " + Pattern.quote(lookup))
+                .doesNotContain("tablescan");
+    }
+}
@@ -0,0 +1,96 @@
+package com.soiree.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Qualité, reproductibilité et coût de la répartition par recuit simulé
+ */
+class AnnealingBalancerTest {
+
+    private final AnnealingBalancer balancer = AnnealingBalancer.withDefaults();
+
+    @Test
+    void sameSeedSameTeams() {
+        TeamBalancer.Problem problem = party(200, 10, 7L, true);
+
+        assertThat(balancer.assign(problem)).isEqualTo(balancer.assign(problem));
+        assertThat(balancer.assign(party(200, 10, 8L, true))).isNotEqualTo(balancer.assign(problem));
+    }
+
+    @Test
+    void teamsAreBalancedOnSizeGenderAndSkill() {
+        int teams = 8;
+        TeamBalancer.Problem problem = party(203, teams, 1L, false);
+        int[] assignment = balancer.assign(problem);
+
+        int[] size = new int[teams];
+        int[] men = new int[teams];
+        int[] skill = new int[teams];
+        for (int i = 0; i < assignment.length; i++) {
+            size[assignment[i]]++;
+            men[assignment[i]] += problem.male()[i] ? 1 : 0;
+            skill[assignment[i]] += problem.skill()[i];
+        }
+        assertThat(spread(size)).isLessThanOrEqualTo(1);
+        assertThat(spread(men)).isLessThanOrEqualTo(1);
+        // 25 joueurs de niveau 0 à 10 par équipe : écart de niveau total très faible
+        assertThat(spread(skill)).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void lastPartyTeammatesAreSplit() {
+        int teams = 4;
+        TeamBalancer.Problem problem = party(40, teams, 3L, true);
+        int[] assignment = balancer.assign(problem);
+
+        int repeatedPairs = 0;
+        for (int i = 0; i < assignment.length; i++) {
+            for (int j = i + 1; j < assignment.length; j++) {
+                if (assignment[i] == assignment[j] && problem.previousTeam()[i] == problem.previousTeam()[j]) {
+                    repeatedPairs++;
+                }
+            }
+        }
+        // 4 anciennes équipes de 10, chacune éclatée au mieux en 3-3-2-2 : 8 paires chacune, 32 au total
+        // (une répartition au hasard en garde ~41)
+        assertThat(repeatedPairs).isLessThanOrEqualTo(32);
+    }
+
+    @Test
+    void largePartyStaysFast() {
+        TeamBalancer.Problem problem = party(10_000, 200, 42L, true);
+        for (int warmup = 0; warmup < 5; warmup++) {
+            balancer.assign(problem);
+        }
+        long start = System.nanoTime();
+        int[] assignment = balancer.assign(problem);
+        long millis = (System.nanoTime() - start) / 1_000_000;
+
+        assertThat(assignment).hasSize(10_000);
+        assertThat(Arrays.stream(assignment).max().orElseThrow()).isLessThan(200);
+        // Objectif 50 ms (voir TeamBalancingBenchmark) ; marge pour les machines de CI chargées
+        assertThat(millis).isLessThan(500);
+    }
+
+    private static TeamBalancer.Problem party(int players, int teams, long seed, boolean withHistory) {
+        SplittableRandom random = new SplittableRandom(seed * 31 + players);
+        boolean[] male = new boolean[players];
+        int[] skill = new int[players];
+        int[] previous = new int[players];
+        for (int i = 0; i < players; i++) {
+            male[i] = random.nextBoolean();
+            skill[i] = random.nextInt(11);
+            previous[i] = withHistory ? i % teams : -1;
+        }
+        return new TeamBalancer.Problem(teams, male, skill, previous, seed);
+    }
+
+    private static int spread(int[] values) {
+        return Arrays.stream(values).max().orElse(0) - Arrays.stream(values).min().orElse(0);
+    }
+}
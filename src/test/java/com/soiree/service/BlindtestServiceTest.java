@@ -0,0 +1,239 @@
+package com.soiree.service;
+
+import com.soiree.dto.BlindtestState;
+import com.soiree.dto.ResultRow;
+import com.soiree.model.Player;
+import com.soiree.model.Team;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Blindtest en direct : arbitrage des buzzers, points +1 / -0,5, départage et classement enregistré
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class BlindtestServiceTest {
+
+    private static final int BUZZERS = 300;
+
+    @Autowired
+    private BlindtestService blindtestService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private TeamService teamService;
+
+    private Long eventId;
+    private Long gameId;
+    private List<Long> teams;
+
+    @BeforeEach
+    void setUp() {
+        eventId = eventService.createEvent("Blindtest").getId();
+        gameService.initializeGames(eventId);
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            players.add(new Player("Joueur " + i, i % 2 == 0 ? Player.Gender.HOMME : Player.Gender.FEMME));
+        }
+        teams = teamService.createBalancedTeams(eventId, players, 4, 7L).stream().map(Team::getId).toList();
+        gameId = gameService.getGameSummaries(eventId).get(0).id();
+        blindtestService.start(eventId, gameId);
+    }
+
+    @Test
+    void wrongAnswerReopensTheSongAndFinalRankingIsSaved() {
+        blindtestService.nextSong(eventId, gameId, false);
+        assertThat(buzz(teams.get(0)).outcome()).isEqualTo(BlindtestRound.Outcome.FIRST);
+        BlindtestRound.BuzzResult late = buzz(teams.get(1));
+        assertThat(late.outcome()).isEqualTo(BlindtestRound.Outcome.LATE);
+        assertThat(late.holderTeamId()).isEqualTo(teams.get(0));
+
+        // Mauvaise réponse : -0,5, l'équipe ne peut plus buzzer sur cette chanson, les autres si
+        blindtestService.judge(eventId, gameId, false);
+        assertThat(buzz(teams.get(0)).outcome()).isEqualTo(BlindtestRound.Outcome.LOCKED_OUT);
+        assertThat(buzz(teams.get(1)).outcome()).isEqualTo(BlindtestRound.Outcome.FIRST);
+        BlindtestState afterFirstSong = blindtestService.judge(eventId, gameId, true);
+        assertThat(afterFirstSong.songOpen()).isFalse();
+        assertThat(buzz(teams.get(2)).outcome()).isEqualTo(BlindtestRound.Outcome.CLOSED);
+
+        blindtestService.nextSong(eventId, gameId, false);
+        buzz(teams.get(2));
+        blindtestService.judge(eventId, gameId, true);
+        blindtestService.nextSong(eventId, gameId, false);
+        buzz(teams.get(2));
+        BlindtestState state = blindtestService.judge(eventId, gameId, true);
+
+        assertThat(state.standings()).extracting(BlindtestState.Standing::teamId)
+                .containsExactly(teams.get(2), teams.get(1), teams.get(3), teams.get(0));
+        assertThat(state.standings()).extracting(BlindtestState.Standing::points).containsExactly(2.0, 1.0, 0.0, -0.5);
+
+        blindtestService.finish(eventId, gameId);
+        assertThat(gameService.getGameResultRows(eventId, gameId)).extracting(ResultRow::teamId)
+                .containsExactly(teams.get(2), teams.get(1), teams.get(3), teams.get(0));
+        assertThat(gameService.getGameResultRows(eventId, gameId)).extracting(ResultRow::pointsEarned)
+                .containsExactly(4, 3, 2, 1);
+        assertThatThrownBy(() -> blindtestService.state(eventId, gameId)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void exactlyOneOfManyConcurrentBuzzersGetsTheHand() throws Exception {
+        blindtestService.nextSong(eventId, gameId, false);
+        CountDownLatch go = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(64);
+        List<Future<BlindtestRound.BuzzResult>> buzzes = new ArrayList<>();
+        try {
+            for (int i = 0; i < BUZZERS; i++) {
+                Long teamId = teams.get(i % teams.size());
+                buzzes.add(pool.submit(() -> {
+                    go.await();
+                    return buzz(teamId);
+                }));
+            }
+            go.countDown();
+            List<BlindtestRound.BuzzResult> results = new ArrayList<>();
+            for (Future<BlindtestRound.BuzzResult> buzz : buzzes) {
+                results.add(buzz.get());
+            }
+
+            List<BlindtestRound.BuzzResult> winners = results.stream()
+                    .filter(result -> result.outcome() == BlindtestRound.Outcome.FIRST).toList();
+            assertThat(winners).hasSize(1);
+            Long holder = winners.get(0).holderTeamId();
+            assertThat(results).allSatisfy(result -> assertThat(result.holderTeamId()).isEqualTo(holder));
+            assertThat(blindtestService.state(eventId, gameId).holderTeamId()).isEqualTo(holder);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void lockedOutTeamNeverTakesTheHandBackDuringTheVerdict() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            for (int i = 0; i < 5_000; i++) {
+                BlindtestRound round = new BlindtestRound(eventId, gameId, List.of(1L, 2L));
+                round.nextSong(false);
+                assertThat(round.buzz(1L, System.nanoTime()).outcome()).isEqualTo(BlindtestRound.Outcome.FIRST);
+
+                // Mauvaise réponse jugée pendant que l'équipe fautive rebuzze sans arrêt
+                CountDownLatch go = new CountDownLatch(1);
+                AtomicBoolean judged = new AtomicBoolean();
+                Future<?> verdict = pool.submit(() -> {
+                    go.await();
+                    round.judge(false);
+                    judged.set(true);
+                    return null;
+                });
+                Future<?> presses = pool.submit(() -> {
+                    go.await();
+                    while (!judged.get()) {
+                        round.buzz(1L, System.nanoTime());
+                    }
+                    return null;
+                });
+                go.countDown();
+                verdict.get();
+                presses.get();
+
+                assertThat(round.state().holderTeamId()).as("essai %d", i).isNull();
+                assertThat(round.buzz(2L, System.nanoTime()).outcome()).isEqualTo(BlindtestRound.Outcome.FIRST);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void tieBreakSongIsLimitedToTiedTeams() {
+        blindtestService.nextSong(eventId, gameId, false);
+        buzz(teams.get(0));
+        blindtestService.judge(eventId, gameId, true);
+        blindtestService.nextSong(eventId, gameId, false);
+        buzz(teams.get(1));
+        BlindtestState tied = blindtestService.judge(eventId, gameId, true);
+        assertThat(tied.tied()).hasSize(2);
+        assertThat(tied.tied().get(0)).containsExactlyInAnyOrder(teams.get(0), teams.get(1));
+        assertThat(tied.tied().get(1)).containsExactlyInAnyOrder(teams.get(2), teams.get(3));
+
+        blindtestService.nextSong(eventId, gameId, true);
+        buzz(teams.get(0));
+        blindtestService.judge(eventId, gameId, true);
+        BlindtestState tieBreak = blindtestService.nextSong(eventId, gameId, true);
+        assertThat(tieBreak.tieBreak()).isTrue();
+        // Seules les deux équipes à 0 point restent à départager
+        assertThat(buzz(teams.get(1)).outcome()).isEqualTo(BlindtestRound.Outcome.LOCKED_OUT);
+        assertThat(buzz(teams.get(2)).outcome()).isEqualTo(BlindtestRound.Outcome.FIRST);
+        blindtestService.judge(eventId, gameId, false);
+
+        assertThat(blindtestService.state(eventId, gameId).tied()).isEmpty();
+        assertThatThrownBy(() -> blindtestService.nextSong(eventId, gameId, true))
+                .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> blindtestService.start(eventId, gameId)).isInstanceOf(IllegalStateException.class);
+        blindtestService.abandon(eventId, gameId);
+    }
+
+    @Test
+    void tieBreaksOrderEachTiedGroupWithoutChangingPoints() {
+        // Trois niveaux : équipes 1 et 2 à 1 point, 3 et 4 à 0, 5 à -0,5
+        BlindtestRound round = new BlindtestRound(eventId, gameId, List.of(1L, 2L, 3L, 4L, 5L));
+        for (long winner = 1; winner <= 2; winner++) {
+            round.nextSong(false);
+            round.buzz(winner, System.nanoTime());
+            round.judge(true);
+        }
+        round.nextSong(false);
+        round.buzz(5L, System.nanoTime());
+        round.judge(false);
+        assertThat(round.closeSong().tied()).containsExactly(List.of(1L, 2L), List.of(3L, 4L));
+
+        // Un groupe à la fois, le mieux classé d'abord
+        round.nextSong(true);
+        assertThat(round.buzz(3L, System.nanoTime()).outcome()).isEqualTo(BlindtestRound.Outcome.LOCKED_OUT);
+        assertThat(round.buzz(2L, System.nanoTime()).outcome()).isEqualTo(BlindtestRound.Outcome.FIRST);
+        BlindtestState firstGroup = round.judge(true);
+        assertThat(firstGroup.tied()).containsExactly(List.of(3L, 4L));
+
+        round.nextSong(true);
+        assertThat(round.buzz(1L, System.nanoTime()).outcome()).isEqualTo(BlindtestRound.Outcome.LOCKED_OUT);
+        assertThat(round.buzz(3L, System.nanoTime()).outcome()).isEqualTo(BlindtestRound.Outcome.FIRST);
+        round.judge(false);
+        BlindtestState state = round.closeSong();
+
+        // Le départage ne fait que classer l'intérieur de chaque groupe : aucun niveau rejoint ni dépassé
+        assertThat(state.tied()).isEmpty();
+        assertThat(state.standings()).extracting(BlindtestState.Standing::teamId).containsExactly(2L, 1L, 4L, 3L, 5L);
+        assertThat(state.standings()).extracting(BlindtestState.Standing::points)
+                .containsExactly(1.0, 1.0, 0.0, 0.0, -0.5);
+        assertThat(state.standings()).extracting(BlindtestState.Standing::tieBreakPoints)
+                .containsExactly(1.0, 0.0, 0.0, -0.5, 0.0);
+        assertThatThrownBy(() -> round.nextSong(true)).isInstanceOf(IllegalStateException.class);
+
+        // Chanson normale jugée ensuite (5 passe à 0,5) : départages annulés, les égalités reviennent
+        round.nextSong(false);
+        round.buzz(5L, System.nanoTime());
+        assertThat(round.judge(true).tied()).containsExactly(List.of(1L, 2L), List.of(3L, 4L));
+    }
+
+    private BlindtestRound.BuzzResult buzz(Long teamId) {
+        return blindtestService.buzz(eventId, gameId, teamId);
+    }
+}
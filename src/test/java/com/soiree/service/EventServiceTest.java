@@ -0,0 +1,56 @@
+package com.soiree.service;
+
+import com.soiree.model.Event;
+import com.soiree.model.Player;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Deux soirées sur la même instance ne s'écrasent pas
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class EventServiceTest {
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Test
+    void eventsAreIsolated() {
+        Long first = eventService.createEvent("Soirée A").getId();
+        Long second = eventService.createEvent("Soirée B").getId();
+
+        for (Long eventId : List.of(first, second)) {
+            gameService.initializeGames(eventId);
+            teamService.createBalancedTeams(eventId, List.of(
+                    new Player("Alice", Player.Gender.FEMME),
+                    new Player("Bob", Player.Gender.HOMME)), 2);
+        }
+
+        // Recréer les équipes de la première soirée ne touche pas la seconde
+        teamService.createBalancedTeams(first, List.of(new Player("Chloé", Player.Gender.FEMME)), 1);
+
+        assertThat(teamService.getAllTeamsSortedByPoints(first)).hasSize(1);
+        assertThat(teamService.getAllTeamsSortedByPoints(second)).hasSize(2);
+        assertThat(gameService.getAllGames(second)).hasSize(5);
+
+        eventService.resetEvent(first);
+
+        assertThat(gameService.getAllGames(first)).isEmpty();
+        assertThat(teamService.getAllTeamsSortedByPoints(first)).isEmpty();
+        assertThat(gameService.getAllGames(second)).hasSize(5);
+        assertThat(eventService.getAllEvents()).extracting(Event::getName).contains("Soirée A", "Soirée B");
+    }
+}
@@ -0,0 +1,156 @@
+package com.soiree.service;
+
+import com.soiree.dto.ShotTotal;
+import com.soiree.model.Game;
+import com.soiree.model.Player;
+import com.soiree.model.Team;
+import com.soiree.repository.GameRepository;
+import com.soiree.repository.ScoreEventRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Catalogue des jeux : fichier lu au démarrage, réinitialisation qui n'écrit que les jeux modifiés
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class GameCatalogueTest {
+
+    @Autowired
+    private GameCatalogue gameCatalogue;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private ScoreLedgerService scoreLedger;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private ScoreEventRepository scoreEventRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void catalogueFileDefinesTheFiveGames() {
+        assertThat(gameCatalogue.version()).isPositive();
+        assertThat(gameCatalogue.games()).extracting(GameCatalogue.Entry::name)
+                .containsExactly("Blindtest", "Jeu de Mime", "Whisky Undercover", "Speed Dating", "Gage");
+        assertThat(gameCatalogue.games()).extracting(GameCatalogue.Entry::scoringRule)
+                .containsExactly("classement", "classement", "mister-white", "classement", "gage");
+        GameCatalogue.Entry blindtest = gameCatalogue.games().get(0);
+        assertThat(blindtest.rules()).startsWith("🎵 RÈGLES DU BLINDTEST\n\n🎯 CONCEPT :\n")
+                .endsWith("(1re, 2e, 3e, 4e).");
+    }
+
+    @Test
+    void reinitializationOnlyWritesChangedGames() {
+        Long eventId = eventService.createEvent("Catalogue").getId();
+        gameService.initializeGames(eventId);
+        List<Long> ids = gameService.getAllGames(eventId).stream().map(Game::getId).toList();
+
+        // Règles d'un ancien catalogue sur un jeu, un autre jeu terminé
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Game> games = gameRepository.findByEventIdOrderByOrderAsc(eventId);
+            games.get(0).setDescription("Anciennes règles");
+            games.get(3).setCompleted(true);
+        });
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        gameService.initializeGames(eventId);
+
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(2);
+        assertThat(statistics.getEntityInsertCount()).isZero();
+        assertThat(statistics.getEntityDeleteCount()).isZero();
+        List<Game> games = gameService.getAllGames(eventId);
+        assertThat(games).extracting(Game::getId).isEqualTo(ids);
+        assertThat(games.get(0).getDescription()).isEqualTo(gameCatalogue.games().get(0).rules());
+        assertThat(games).noneMatch(Game::isCompleted);
+
+        // Rien à changer : aucune écriture
+        statistics.clear();
+        gameService.initializeGames(eventId);
+        assertThat(statistics.getEntityUpdateCount()).isZero();
+    }
+
+    @Test
+    void reinitializationClosesTheLedgerOfResetGames() {
+        Long eventId = eventService.createEvent("Catalogue rejoué").getId();
+        gameService.initializeGames(eventId);
+        List<Long> teams = teamService.createBalancedTeams(eventId, List.of(
+                        new Player("Alice", Player.Gender.FEMME),
+                        new Player("Bob", Player.Gender.HOMME)), 2)
+                .stream().map(Team::getId).toList();
+        Long gameId = gameService.getAllGames(eventId).get(0).getId();
+        Map<Long, Integer> positions = Map.of(teams.get(0), 1, teams.get(1), 2);
+        gameService.saveGameResults(eventId, gameId, positions);
+
+        // Nouvelle partie sur les mêmes jeux (identifiants conservés), même jeu rejoué
+        gameService.initializeGames(eventId);
+        gameService.saveGameResults(eventId, gameId, positions);
+        assertThat(scoreEventRepository.sumShotsByGame(eventId))
+                .filteredOn(total -> total.playerId() == null)
+                .extracting(ShotTotal::shots).containsExactly(1L);
+
+        scoreLedger.undoLast(eventId);
+
+        // La saisie d'avant la réinitialisation ne garde pas le jeu joué et ne s'annule plus
+        assertThat(gameRepository.findById(gameId).orElseThrow().isCompleted()).isFalse();
+        assertThat(gameService.getGameResults(eventId, gameId)).isEmpty();
+        assertThatThrownBy(() -> scoreLedger.undoLast(eventId)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void invalidCatalogueIsRejected() {
+        assertThatThrownBy(() -> catalogue("""
+                version: 1
+                games:
+                  - {name: Mime, order: 1, type: REPRESENTANT, rules: a}
+                  - {name: Mime, order: 2, type: REPRESENTANT, rules: b}
+                """)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> catalogue("""
+                version: 1
+                games:
+                  - {name: Mime, order: 1, rules: a}
+                """)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> catalogue("version: 1\ngames:\n  - {name: Mime, order: 1, type: DUO, rules: "
+                + "x".repeat(GameCatalogue.MAX_RULES_LENGTH + 1) + "}\n"))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(catalogue("""
+                version: 3
+                games:
+                  - {name: Mime, order: 1, type: DUO, rules: a}
+                """).games()).hasSize(1);
+    }
+
+    private static GameCatalogue catalogue(String yaml) {
+        return new GameCatalogue(new ByteArrayResource(yaml.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,116 @@
+package com.soiree.service;
+
+import com.soiree.dto.TeamStanding;
+import com.soiree.model.Game;
+import com.soiree.model.GameResult;
+import com.soiree.model.Player;
+import com.soiree.model.Team;
+import com.soiree.repository.TeamRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Vérifie que l'enregistrement des résultats reste en un nombre borné de requêtes SQL,
+ * quel que soit le nombre d'équipes et de joueurs.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class GameServiceBatchTest {
+
+    private static final int TEAMS = 12;
+    private static final int PLAYERS_PER_TEAM = 8;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private List<Team> teams;
+    private Game game;
+
+    @BeforeEach
+    void setUp() {
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < TEAMS * PLAYERS_PER_TEAM; i++) {
+            players.add(new Player("Joueur " + i, i % 2 == 0 ? Player.Gender.HOMME : Player.Gender.FEMME));
+        }
+        // Même ordre que l'application : jeux (et anciens résultats) d'abord, puis équipes
+        gameService.initializeGames(null);
+        teams = teamService.createBalancedTeams(null, players, TEAMS);
+        game = gameService.getAllGames(null).get(0);
+    }
+
+    @Test
+    void saveGameResultsIssuesBoundedStatementCount() {
+        Map<Long, Integer> positions = new LinkedHashMap<>();
+        for (int i = 0; i < teams.size(); i++) {
+            positions.put(teams.get(i).getId(), i + 1);
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        gameService.saveGameResults(null, game.getId(), positions);
+
+        // select jeu + select équipes/joueurs + séquences + lots (résultats, journal, équipes, joueurs, jeu)
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(14);
+        assertThat(statistics.getEntityStatistics(GameResult.class.getName()).getInsertCount()).isEqualTo(TEAMS);
+    }
+
+    @Test
+    void leaderboardReflectsCommittedResultsWithoutQueries() {
+        Map<Long, Integer> positions = new LinkedHashMap<>();
+        for (int i = 0; i < teams.size(); i++) {
+            positions.put(teams.get(i).getId(), teams.size() - i);
+        }
+        gameService.saveGameResults(null, game.getId(), positions);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<TeamStanding> standings = teamService.getAllTeamsSortedByPoints(null);
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(standings).hasSize(TEAMS);
+        assertThat(standings.get(0).id()).isEqualTo(teams.get(TEAMS - 1).getId());
+        assertThat(standings.get(0).totalPoints()).isEqualTo(4);
+        assertThat(standings.get(0).rank()).isEqualTo(1);
+    }
+
+    @Test
+    void staleTeamWriteIsRejected() {
+        Team stale = teams.get(0); // copie détachée, version lue avant la saisie
+        Map<Long, Integer> positions = new LinkedHashMap<>();
+        for (int i = 0; i < teams.size(); i++) {
+            positions.put(teams.get(i).getId(), i + 1);
+        }
+        gameService.saveGameResults(null, game.getId(), positions);
+
+        stale.setTotalPoints(0);
+        assertThatThrownBy(() -> teamRepository.save(stale))
+                .isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(teamRepository.findById(stale.getId()).orElseThrow().getTotalPoints()).isEqualTo(4);
+    }
+}
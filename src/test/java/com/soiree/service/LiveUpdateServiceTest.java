@@ -0,0 +1,200 @@
+package com.soiree.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Flux SSE : regroupement par clé, tampon plein -> snapshot, client figé isolé des autres
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class LiveUpdateServiceTest {
+
+    private static final String SNAPSHOT = "snapshot";
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private EventService eventService;
+
+    private Long eventId;
+    private LiveUpdateService service;
+
+    @BeforeEach
+    void setUp() {
+        eventId = eventService.createEvent("Flux").getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void changesOnTheSameKeyAreCoalescedWhileTheClientIsBusy() throws Exception {
+        service = new LiveUpdateService(leaderboardService, 64, 60_000, 1, 3600, 5_000);
+        RecordingEmitter phone = new RecordingEmitter(true);
+        service.subscribe(eventId, phone);
+        phone.awaitFirstWrite();
+
+        service.publish(new StateChange.PointsChanged(eventId, 1L, 3));
+        service.publish(new StateChange.ShotsDistributed(eventId, 1L, 2, Map.of(10L, 2)));
+        service.publish(new StateChange.PointsChanged(eventId, 1L, 5));
+        service.publish(new StateChange.ShotsDistributed(eventId, 1L, 3, Map.of(11L, 1)));
+        service.publish(new StateChange.PointsChanged(eventId, 2L, 1));
+        phone.release();
+
+        awaitUntil(() -> phone.received.size() == 4);
+        assertThat(phone.received).containsExactly(SNAPSHOT,
+                new StateChange.PointsChanged(eventId, 1L, 5),
+                new StateChange.ShotsDistributed(eventId, 1L, 3, Map.of(10L, 2, 11L, 1)),
+                new StateChange.PointsChanged(eventId, 2L, 1));
+    }
+
+    @Test
+    void overflowingBufferIsReplacedBySnapshot() throws Exception {
+        service = new LiveUpdateService(leaderboardService, 2, 60_000, 1, 3600, 5_000);
+        RecordingEmitter phone = new RecordingEmitter(true);
+        service.subscribe(eventId, phone);
+        phone.awaitFirstWrite();
+
+        // Troisième clé distincte pour un tampon de 2 : le détail est abandonné au profit d'un snapshot
+        for (long team = 1; team <= 3; team++) {
+            service.publish(new StateChange.PointsChanged(eventId, team, (int) team));
+        }
+        phone.release();
+
+        awaitUntil(() -> phone.received.size() == 2);
+        assertThat(phone.received).containsExactly(SNAPSHOT, SNAPSHOT);
+    }
+
+    @Test
+    void frozenClientsDoNotStarveOthers() throws Exception {
+        // Un seul thread d'envoi, pris par un téléphone qui ignore même les interruptions
+        service = new LiveUpdateService(leaderboardService, 64, 60_000, 1, 3600, 200);
+        FrozenEmitter frozen = new FrozenEmitter();
+        service.subscribe(eventId, frozen);
+        frozen.entered.await(5, TimeUnit.SECONDS);
+
+        RecordingEmitter phone = new RecordingEmitter(false);
+        service.subscribe(eventId, phone);
+        service.publish(new StateChange.PointsChanged(eventId, 1L, 4));
+
+        awaitUntil(() -> phone.received.size() == 2);
+        assertThat(phone.received).containsExactly(SNAPSHOT, new StateChange.PointsChanged(eventId, 1L, 4));
+        assertThat(service.subscriberCount()).isEqualTo(1);
+
+        // Dès que l'écriture bloquée rend la main, son flux est fermé en erreur
+        frozen.unfreeze.countDown();
+        awaitUntil(() -> frozen.failure != null);
+        assertThat(frozen.failure).isInstanceOf(IOException.class);
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("délai d'attente dépassé").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Nom de l'événement ("snapshot") ou changement poussé
+     */
+    private static Object describe(SseEmitter.SseEventBuilder builder) {
+        for (ResponseBodyEmitter.DataWithMediaType item : builder.build()) {
+            if (item.getData() instanceof StateChange change) {
+                return change;
+            }
+            if (item.getData() instanceof String text && text.contains("event:" + SNAPSHOT)) {
+                return SNAPSHOT;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Téléphone qui enregistre ce qu'il reçoit ; bloqué sur sa première écriture tant que release() n'est pas appelé
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        final List<Object> received = new CopyOnWriteArrayList<>();
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch gate;
+
+        RecordingEmitter(boolean gated) {
+            this.gate = new CountDownLatch(gated ? 1 : 0);
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            entered.countDown();
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            Object event = describe(builder);
+            if (event != null) {
+                received.add(event);
+            }
+        }
+
+        void awaitFirstWrite() throws InterruptedException {
+            assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+
+        void release() {
+            gate.countDown();
+        }
+    }
+
+    /**
+     * Téléphone figé : l'écriture ne rend la main qu'à unfreeze, interruptions comprises
+     */
+    private static final class FrozenEmitter extends SseEmitter {
+
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch unfreeze = new CountDownLatch(1);
+        volatile Throwable failure;
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            entered.countDown();
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    unfreeze.await();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void completeWithError(Throwable ex) {
+            failure = ex;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.soiree.service;
+
+import com.soiree.dto.ImportReport;
+import com.soiree.model.Player;
+import com.soiree.model.Team;
+import com.soiree.repository.PlayerRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Import des inscrits : validation ligne à ligne, insertion par lots, équipes formées depuis le vivier
+ */
+@SpringBootTest(properties = "app.import.batch-size=10")
+@ActiveProfiles("test")
+class PlayerImportServiceTest {
+
+    @Autowired
+    private PlayerImportService playerImportService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void csvRowsAreValidatedAndReported() throws Exception {
+        Long eventId = eventService.createEvent("Import CSV").getId();
+        String csv = """
+                nom;genre;niveau
+                Alice;FEMME;7
+                "Dupont; Bob";h;
+                ;F;3
+                Chloé;X;2
+                David;HOMME;11
+                "Eve;F
+                Fanny;femme;douze
+                """;
+
+        ImportReport report = playerImportService.importPlayers(eventId, stream(csv), PlayerImportService.Format.CSV);
+
+        assertThat(report.imported()).isEqualTo(2);
+        assertThat(report.rejected()).isEqualTo(5);
+        assertThat(report.errors()).extracting(ImportReport.RowError::row).containsExactly(4, 5, 6, 7, 8);
+        assertThat(playerRepository.findByEventIdOrderByIdAsc(eventId))
+                .extracting(Player::getName, Player::getGender, Player::getSkill)
+                .containsExactly(
+                        tuple("Alice", Player.Gender.FEMME, 7),
+                        tuple("Dupont; Bob", Player.Gender.HOMME, 0));
+    }
+
+    @Test
+    void jsonImportIsBatchedAndFeedsTeams() throws Exception {
+        Long eventId = eventService.createEvent("Import JSON").getId();
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < 100; i++) {
+            json.append(i == 0 ? "" : ",")
+                    .append("{\"name\":\"Joueur ").append(i)
+                    .append("\",\"gender\":\"").append(i % 2 == 0 ? "HOMME" : "FEMME")
+                    .append("\",\"skill\":").append(i % 11)
+                    .append(",\"email\":\"j").append(i).append("@exemple.fr\"}");
+        }
+        json.append(",{\"name\":[\"?\"],\"gender\":\"F\"}]");
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        ImportReport report = playerImportService.importPlayers(eventId, stream(json.toString()),
+                PlayerImportService.Format.JSON);
+
+        assertThat(report.imported()).isEqualTo(100);
+        assertThat(report.errors()).containsExactly(new ImportReport.RowError(101, "Valeur invalide pour 'name'"));
+        // 10 lots de 10 INSERT + 2 appels de séquence (allocation par 50)
+        assertThat(statistics.getEntityStatistics(Player.class.getName()).getInsertCount()).isEqualTo(100);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(14);
+
+        List<Team> teams = teamService.createTeamsFromPool(eventId, 4, 42L);
+        assertThat(teams).allSatisfy(team -> assertThat(team.getPlayers()).hasSize(25));
+        // Les inscrits sont conservés, pas recréés
+        assertThat(playerRepository.findByEventIdOrderByIdAsc(eventId)).hasSize(100)
+                .allSatisfy(player -> assertThat(player.getTeam()).isNotNull());
+    }
+
+    @Test
+    void malformedJsonRollsBackTheImport() {
+        Long eventId = eventService.createEvent("Import JSON invalide").getId();
+        String json = "[{\"name\":\"Alice\",\"gender\":\"F\"},{\"name\":";
+
+        assertThatThrownBy(() -> playerImportService.importPlayers(eventId, stream(json),
+                PlayerImportService.Format.JSON)).isInstanceOf(RuntimeException.class);
+        assertThat(playerRepository.findByEventIdOrderByIdAsc(eventId)).isEmpty();
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,264 @@
+package com.soiree.service;
+
+import com.soiree.dto.TeamStanding;
+import com.soiree.dto.UndoneSubmission;
+import com.soiree.model.Game;
+import com.soiree.model.Player;
+import com.soiree.model.ScoreEvent;
+import com.soiree.model.Team;
+import com.soiree.dto.LedgerPosition;
+import com.soiree.repository.EventRepository;
+import com.soiree.repository.GameRepository;
+import com.soiree.repository.PlayerRepository;
+import com.soiree.repository.ScoreEventRepository;
+import com.soiree.repository.ScoreSnapshotRepository;
+import com.soiree.repository.TeamRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Journal des scores : annulation, reconstruction et classement à une date passée
+ */
+@SpringBootTest(properties = "app.scores.snapshot-every=5")
+@ActiveProfiles("test")
+class ScoreLedgerServiceTest {
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private ScoreLedgerService scoreLedger;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private ScoreSnapshotRepository scoreSnapshotRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private ScoreEventRepository scoreEventRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long eventId;
+    private List<Team> teams;
+    private List<Game> games;
+
+    @BeforeEach
+    void setUp() {
+        eventId = eventService.createEvent("Journal").getId();
+        gameService.initializeGames(eventId);
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            players.add(new Player("Joueur " + i, i % 2 == 0 ? Player.Gender.HOMME : Player.Gender.FEMME));
+        }
+        teams = teamService.createBalancedTeams(eventId, players, 2);
+        games = gameService.getAllGames(eventId);
+    }
+
+    @Test
+    void undoRevertsLastSubmissionOnly() {
+        Long first = teams.get(0).getId();
+        Long second = teams.get(1).getId();
+        gameService.saveGameResults(eventId, games.get(0).getId(), Map.of(first, 1, second, 2));
+        gameService.saveGameResults(eventId, games.get(1).getId(), Map.of(first, 2, second, 1));
+
+        UndoneSubmission undone = scoreLedger.undoLast(eventId);
+
+        assertThat(undone.kind()).isEqualTo(ScoreEvent.Kind.GAME_RESULT);
+        assertThat(undone.gameId()).isEqualTo(games.get(1).getId());
+        assertThat(teamRepository.findById(first).orElseThrow().getTotalPoints()).isEqualTo(4);
+        assertThat(teamRepository.findById(second).orElseThrow().getShotsCount()).isEqualTo(1);
+        assertThat(gameService.getGameResults(eventId, games.get(1).getId())).isEmpty();
+        assertThat(gameRepository.findById(games.get(1).getId()).orElseThrow().isCompleted()).isFalse();
+
+        scoreLedger.undoLast(eventId);
+        assertThat(teamRepository.findById(first).orElseThrow().getTotalPoints()).isZero();
+        assertThatThrownBy(() -> scoreLedger.undoLast(eventId)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void rebuildRestoresCountersFromLedger() {
+        Long first = teams.get(0).getId();
+        Long second = teams.get(1).getId();
+        gameService.saveGameResults(eventId, games.get(0).getId(), Map.of(first, 2, second, 1));
+        gameService.saveGageBonus(eventId, games.get(4).getId(), first, 5);
+
+        // Compteur désynchronisé (requête interrompue, modification manuelle...)
+        Team damaged = teamRepository.findById(first).orElseThrow();
+        damaged.setTotalPoints(99);
+        teamRepository.save(damaged);
+
+        List<TeamStanding> standings = scoreLedger.rebuild(eventId);
+
+        assertThat(standings.get(0).id()).isEqualTo(first);
+        assertThat(standings.get(0).totalPoints()).isEqualTo(8);
+        assertThat(standings.get(0).shotsCount()).isEqualTo(1);
+        assertThat(standings.get(0).players().stream().mapToInt(TeamStanding.PlayerStanding::shotsCount).sum())
+                .isEqualTo(1);
+        assertThat(teamRepository.findById(first).orElseThrow().getTotalPoints()).isEqualTo(8);
+        // Plus de 5 mouvements : au moins un snapshot, le rejeu n'en lit que la queue
+        assertThat(scoreSnapshotRepository.findFirstByEventIdOrderByLastSeqDesc(eventId)).isPresent();
+    }
+
+    @Test
+    void standingsAtReplaysUpToGivenInstant() throws InterruptedException {
+        Long first = teams.get(0).getId();
+        Long second = teams.get(1).getId();
+        gameService.saveGameResults(eventId, games.get(0).getId(), Map.of(first, 1, second, 2));
+        Thread.sleep(5);
+        Instant between = Instant.now();
+        Thread.sleep(5);
+        teamService.resetAllScores(eventId);
+
+        List<TeamStanding> before = scoreLedger.standingsAt(eventId, between);
+        List<TeamStanding> now = scoreLedger.standingsAt(eventId, null);
+
+        assertThat(before.get(0).id()).isEqualTo(first);
+        assertThat(before.get(0).totalPoints()).isEqualTo(4);
+        assertThat(before.get(1).totalPoints()).isEqualTo(3);
+        assertThat(now).allSatisfy(team -> assertThat(team.totalPoints()).isZero());
+
+        // La remise à zéro s'annule comme une saisie
+        scoreLedger.undoLast(eventId);
+        assertThat(teamRepository.findById(first).orElseThrow().getTotalPoints()).isEqualTo(4);
+    }
+
+    @Test
+    void resetIsSetBasedAndRestoresPlayerShotsOnUndo() {
+        Long first = teams.get(0).getId();
+        Long second = teams.get(1).getId();
+        gameService.saveGameResults(eventId, games.get(0).getId(), Map.of(first, 2, second, 1));
+        gameService.saveGameResults(eventId, games.get(1).getId(), Map.of(first, 2, second, 1));
+        assertThat(playerShots()).isEqualTo(2);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        teamService.resetAllScores(eventId);
+
+        // Verrous (soirée, équipes) + lecture, deux UPDATE en masse, journal (positions, lot) et snapshot :
+        // nombre fixe, pas une écriture par joueur
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(15);
+        assertThat(statistics.getEntityUpdateCount()).isZero();
+        assertThat(playerShots()).isZero();
+        assertThat(teamRepository.findById(first).orElseThrow().getShotsCount()).isZero();
+
+        scoreLedger.undoLast(eventId);
+        assertThat(playerShots()).isEqualTo(2);
+        assertThat(teamRepository.findById(first).orElseThrow().getTotalPoints()).isEqualTo(6);
+
+        // Nouvelles équipes : journal et snapshots (avec leurs lignes) supprimés en masse
+        assertThat(scoreSnapshotRepository.findFirstByEventIdOrderByLastSeqDesc(eventId)).isPresent();
+        teamService.createBalancedTeams(eventId, List.of(new Player("Solo", Player.Gender.FEMME)), 1);
+        assertThat(scoreSnapshotRepository.findFirstByEventIdOrderByLastSeqDesc(eventId)).isEmpty();
+    }
+
+    @Test
+    void snapshotTakenBetweenConcurrentSubmissionsCoversTheEarlierCommit() throws Exception {
+        Long first = teams.get(0).getId();
+        Long second = teams.get(1).getId();
+
+        // Saisie A (4 mouvements) : soirée verrouillée jusqu'au commit
+        CompletableFuture<Void> concurrent = transactionTemplate.execute(status -> {
+            scoreLedger.append(movements(first, second, 1));
+            // Saisie B (4 mouvements, seuil de 5 franchi) : attend le commit de A, puis prend le snapshot
+            CompletableFuture<Void> other = CompletableFuture.runAsync(() ->
+                    transactionTemplate.executeWithoutResult(inner -> scoreLedger.append(movements(first, second, 10))));
+            sleep(200);
+            assertThat(other).isNotDone();
+            return other;
+        });
+        concurrent.get(10, TimeUnit.SECONDS);
+
+        // Positions contiguës dans l'ordre des commits : A (1..4) puis B (5..8)
+        List<ScoreEvent> ledger = scoreEventRepository.findByEventIdAndSeqGreaterThanOrderBySeqAsc(eventId, 0L);
+        assertThat(ledger).extracting(ScoreEvent::getSeq).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L);
+        assertThat(ledger.subList(0, 4)).allSatisfy(movement -> assertThat(Math.abs(movement.getDelta())).isEqualTo(1));
+        assertThat(scoreSnapshotRepository.findFirstByEventIdOrderByLastSeqDesc(eventId).orElseThrow().getLastSeq())
+                .isEqualTo(8L);
+
+        // Le snapshot contient les deux saisies : rien n'est perdu au rejeu
+        List<TeamStanding> standings = scoreLedger.standingsAt(eventId, null);
+        assertThat(standings).filteredOn(team -> team.id().equals(first))
+                .singleElement().satisfies(team -> {
+                    assertThat(team.totalPoints()).isEqualTo(11);
+                    assertThat(team.shotsCount()).isEqualTo(11);
+                });
+        assertThat(standings).filteredOn(team -> team.id().equals(second))
+                .singleElement().satisfies(team -> assertThat(team.totalPoints()).isEqualTo(-11));
+    }
+
+    @Test
+    void rolledBackSubmissionLeavesLedgerPositionUntouched() {
+        LedgerPosition before = eventRepository.findLedgerPosition(eventId);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            scoreLedger.append(movements(teams.get(0).getId(), teams.get(1).getId(), 1));
+            scoreLedger.append(movements(teams.get(0).getId(), teams.get(1).getId(), 1));
+            status.setRollbackOnly();
+        });
+
+        assertThat(eventRepository.findLedgerPosition(eventId)).isEqualTo(before);
+        assertThat(scoreSnapshotRepository.findFirstByEventIdOrderByLastSeqDesc(eventId)).isEmpty();
+        gameService.saveGameResults(eventId, games.get(0).getId(),
+                Map.of(teams.get(0).getId(), 1, teams.get(1).getId(), 2));
+        assertThat(scoreEventRepository.findByEventIdAndSeqGreaterThanOrderBySeqAsc(eventId, 0L).get(0).getSeq())
+                .isEqualTo(before.seq() + 1);
+    }
+
+    private ScoreSubmission movements(Long first, Long second, int delta) {
+        return scoreLedger.submission(eventId, ScoreEvent.Kind.GAGE_BONUS, null)
+                .teamPoints(first, delta, null)
+                .teamShots(first, delta)
+                .teamPoints(second, -delta, null)
+                .teamShots(second, -delta);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private int playerShots() {
+        return playerRepository.findByEventIdOrderByIdAsc(eventId).stream().mapToInt(Player::getShotsCount).sum();
+    }
+}
@@ -0,0 +1,117 @@
+package com.soiree.service;
+
+import com.soiree.model.Game;
+import com.soiree.model.GameResult;
+import com.soiree.model.Player;
+import com.soiree.model.ScoringRule;
+import com.soiree.model.Team;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Règles de score : règles fournies (mêmes points et shots qu'avant), règle créée puis attribuée à un jeu
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ScoringRulesTest {
+
+    @Autowired
+    private ScoringRules scoringRules;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private TeamService teamService;
+
+    private Long eventId;
+    private List<Team> teams;
+    private List<Game> games;
+
+    @BeforeEach
+    void setUp() {
+        eventId = eventService.createEvent("Règles").getId();
+        gameService.initializeGames(eventId);
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            players.add(new Player("Joueur " + i, i % 2 == 0 ? Player.Gender.HOMME : Player.Gender.FEMME));
+        }
+        teams = teamService.createBalancedTeams(eventId, players, 4);
+        games = gameService.getAllGames(eventId);
+    }
+
+    @Test
+    void builtInRulesMatchHistoricalScoring() {
+        CompiledScoringRule ranking = scoringRules.compiled(ScoringRule.DEFAULT_NAME);
+        int[] points = {4, 3, 2, 1, 0, 0};
+        for (int position = 1; position <= 40; position++) {
+            assertThat(ranking.points(position)).isEqualTo(position <= points.length ? points[position - 1] : 0);
+            assertThat(ranking.shots(position)).isEqualTo(position - 1);
+        }
+
+        CompiledScoringRule misterWhite = scoringRules.forGame(games.get(2));
+        assertThat(misterWhite.misterWhitePoints(true, true)).isZero();
+        assertThat(misterWhite.misterWhitePoints(false, true)).isEqualTo(2);
+        assertThat(misterWhite.misterWhitePoints(true, false)).isEqualTo(3);
+        assertThat(misterWhite.misterWhitePoints(false, false)).isZero();
+
+        assertThat(scoringRules.forGame(games.get(4)).kind()).isEqualTo(ScoringRule.Kind.BONUS);
+        assertThatThrownBy(() -> gameService.saveGageBonus(eventId, games.get(0).getId(), teams.get(0).getId(), 2))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void uploadedRuleScoresAssignedGame() {
+        scoringRules.create(new ScoringRule("podium-test", ScoringRule.Kind.RANKING, "Podium seulement",
+                "5, 3, 1, 0", 0, "0,0,1", 2));
+        assertThatThrownBy(() -> scoringRules.create(new ScoringRule("podium-test", ScoringRule.Kind.RANKING,
+                null, "1", 0, "", 0))).isInstanceOf(IllegalStateException.class);
+
+        Long gameId = games.get(1).getId();
+        gameService.assignScoringRule(eventId, gameId, "podium-test");
+        gameService.saveGameResults(eventId, gameId, Map.of(teams.get(0).getId(), 1, teams.get(1).getId(), 2,
+                teams.get(2).getId(), 3, teams.get(3).getId(), 4));
+
+        List<GameResult> results = gameService.getGameResults(eventId, gameId).stream()
+                .sorted(Comparator.comparingInt(GameResult::getPosition)).toList();
+        assertThat(results).extracting(GameResult::getPointsEarned).containsExactly(5, 3, 1, 0);
+        assertThat(results).extracting(GameResult::getShotsCount).containsExactly(0, 0, 1, 3);
+        assertThat(results).extracting(GameResult::isDrankShot).containsExactly(false, false, true, true);
+    }
+
+    @Test
+    void invalidRulesAreRejected() {
+        assertThatThrownBy(() -> scoringRules.create(new ScoringRule("Nom Invalide", ScoringRule.Kind.RANKING,
+                null, "1", 0, "", 0))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> scoringRules.create(new ScoringRule("mw-incomplet", ScoringRule.Kind.MISTER_WHITE,
+                null, "0,2", 0, "", 0))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> scoringRules.create(new ScoringRule("points-texte", ScoringRule.Kind.RANKING,
+                null, "4,trois", 0, "", 0))).isInstanceOf(IllegalArgumentException.class);
+        // Au-delà des varchar(255) : refusé avant l'insertion
+        assertThatThrownBy(() -> scoringRules.create(new ScoringRule("description-longue", ScoringRule.Kind.RANKING,
+                "x".repeat(256), "1", 0, "", 0)))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("trop long");
+        assertThatThrownBy(() -> scoringRules.create(new ScoringRule("points-longs", ScoringRule.Kind.RANKING,
+                null, "1,".repeat(128) + "1", 0, "", 0)))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("trop long");
+        assertThatThrownBy(() -> scoringRules.create(new ScoringRule("shots-longs", ScoringRule.Kind.RANKING,
+                null, "1", 0, "0,".repeat(128) + "0", 0)))
+                .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("trop long");
+        assertThatThrownBy(() -> gameService.assignScoringRule(eventId, games.get(0).getId(), "inconnue"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,154 @@
+package com.soiree.service;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.soiree.model.Game;
+import com.soiree.model.Player;
+import com.soiree.model.Team;
+import com.soiree.repository.GameRepository;
+import com.soiree.repository.ScoreSnapshotRepository;
+import com.soiree.repository.TeamRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Catalogue des jeux et compositions servis par le cache de second niveau, régions vidées quand ils changent
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SecondLevelCacheTest {
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private ScoreSnapshotRepository scoreSnapshotRepository;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+    private List<Team> teams;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        gameService.initializeGames(null);
+        teams = teamService.createBalancedTeams(null, List.of(
+                new Player("Alice", Player.Gender.FEMME),
+                new Player("Bob", Player.Gender.HOMME),
+                new Player("Chloé", Player.Gender.FEMME),
+                new Player("David", Player.Gender.HOMME)), 2);
+    }
+
+    @Test
+    void orderedGameListStaysCachedAcrossUnchangedReinitialization() {
+        List<Long> first = gameService.getAllGames(null).stream().map(Game::getId).toList();
+        statistics.clear();
+
+        List<Long> second = gameService.getAllGames(null).stream().map(Game::getId).toList();
+
+        assertThat(second).isEqualTo(first);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getQueryRegionStatistics(GameRepository.GAME_LIST_REGION).getHitCount()).isEqualTo(1);
+
+        // Catalogue inchangé : aucun jeu réécrit, la liste en cache reste valable
+        gameService.initializeGames(null);
+        statistics.clear();
+        List<Long> reinitialized = gameService.getAllGames(null).stream().map(Game::getId).toList();
+        assertThat(reinitialized).isEqualTo(first);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void rosterIsCachedAndEvictedWhenAPlayerJoins() {
+        Long teamId = teams.get(0).getId();
+        int size = rosterSize(teamId);
+        statistics.clear();
+
+        assertThat(rosterSize(teamId)).isEqualTo(size);
+        assertThat(statistics.getDomainDataRegionStatistics("team-players").getHitCount()).isEqualTo(1);
+        assertThat(statistics.getDomainDataRegionStatistics("player").getHitCount()).isEqualTo(size);
+
+        teamService.addPlayerToTeam(null, teamId, new Player("Emma", Player.Gender.FEMME));
+        assertThat(rosterSize(teamId)).isEqualTo(size + 1);
+    }
+
+    @Test
+    void deletingSnapshotLinesKeepsOtherRegionsCached() {
+        Long teamId = teams.get(0).getId();
+        int size = rosterSize(teamId);
+
+        // DELETE natif limité à score_snapshot_line : compositions et joueurs restent en cache
+        transactionTemplate.executeWithoutResult(status ->
+                scoreSnapshotRepository.deleteLinesByEventId(eventService.resolve(null)));
+        statistics.clear();
+
+        assertThat(rosterSize(teamId)).isEqualTo(size);
+        assertThat(statistics.getDomainDataRegionStatistics("team-players").getHitCount()).isEqualTo(1);
+        assertThat(statistics.getDomainDataRegionStatistics("player").getHitCount()).isEqualTo(size);
+    }
+
+    @Test
+    void recreatingTeamsAndChangingRostersNeverExpiresASoftLockedEntry() {
+        Logger cacheLogger = (Logger) LoggerFactory.getLogger("org.hibernate.orm.cache");
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.start();
+        cacheLogger.addAppender(appender);
+        try {
+            Long teamId = teams.get(0).getId();
+            rosterSize(teamId);
+            Team joined = teamService.addPlayerToTeam(null, teamId, new Player("Emma", Player.Gender.FEMME));
+            Long emmaId = joined.getPlayers().stream()
+                    .filter(player -> player.getName().equals("Emma")).findFirst().orElseThrow().getId();
+            rosterSize(teamId);
+            teamService.removePlayerFromTeam(null, teamId, emmaId);
+            rosterSize(teamId);
+
+            // Recréations : joueurs supprimés puis recréés, puis joueurs conservés et réaffectés
+            List<Team> recreated = teamService.createBalancedTeams(null, List.of(
+                    new Player("Farid", Player.Gender.HOMME),
+                    new Player("Gaëlle", Player.Gender.FEMME)), 2);
+            recreated.forEach(team -> rosterSize(team.getId()));
+            teamService.createTeamsFromPool(null, 2, 7L).forEach(team -> rosterSize(team.getId()));
+            teamService.resetAllScores(null);
+        } finally {
+            cacheLogger.detachAppender(appender);
+        }
+
+        // Régions vidées après le commit : aucun verrou souple retiré sous les pieds d'Hibernate
+        assertThat(appender.list).extracting(ILoggingEvent::getFormattedMessage)
+                .noneMatch(message -> message.contains("HHH90001005"));
+    }
+
+    private int rosterSize(Long teamId) {
+        return transactionTemplate.execute(status ->
+                teamRepository.findById(teamId).orElseThrow().getPlayers().stream()
+                        .map(Player::getName).toList().size());
+    }
+}
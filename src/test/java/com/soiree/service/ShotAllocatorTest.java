@@ -0,0 +1,107 @@
+package com.soiree.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Propriétés de la répartition des shots, vérifiées sur des milliers de cas tirés au hasard
+ * (taille d'équipe, compteurs de soirée, nombre de shots, plafonds)
+ */
+class ShotAllocatorTest {
+
+    private static final int CASES = 5_000;
+
+    @Test
+    void capsAndFairnessHoldForRandomCases() {
+        SplittableRandom cases = new SplittableRandom(20251230);
+        for (int c = 0; c < CASES; c++) {
+            int maxPerGame = 1 + cases.nextInt(3);
+            int maxPerPlayer = 1 + cases.nextInt(8);
+            ShotAllocator allocator = new ShotAllocator(maxPerGame, maxPerPlayer, null);
+            int[] current = new int[cases.nextInt(12)];
+            for (int i = 0; i < current.length; i++) {
+                current[i] = cases.nextInt(maxPerPlayer + 1);
+            }
+            int[] before = current.clone();
+            int shots = cases.nextInt(30);
+
+            ShotAllocator.Allocation allocation = allocator.allocate(current, shots, cases.nextLong());
+            int[] given = allocation.given();
+            String context = "cas " + c;
+
+            // Entrée intacte, chaque shot donné ou signalé
+            assertThat(current).as(context).isEqualTo(before);
+            int sum = 0;
+            for (int g : given) {
+                sum += g;
+            }
+            assertThat(sum + allocation.undistributed()).as(context).isEqualTo(shots);
+
+            boolean someoneCanTakeMore = false;
+            for (int i = 0; i < current.length; i++) {
+                // Plafonds par jeu et par soirée (un joueur déjà au-delà ne reçoit rien)
+                assertThat(given[i]).as(context).isBetween(0, maxPerGame);
+                if (given[i] > 0) {
+                    assertThat(current[i] + given[i]).as(context).isLessThanOrEqualTo(maxPerPlayer);
+                }
+                boolean open = open(i, current, given, maxPerGame, maxPerPlayer);
+                someoneCanTakeMore |= open;
+                // Équité : personne n'a reçu un shot alors qu'un joueur encore libre en avait moins
+                for (int j = 0; j < current.length; j++) {
+                    if (given[i] > 0 && open(j, current, given, maxPerGame, maxPerPlayer)) {
+                        assertThat(current[i] + given[i] - 1).as(context + " joueurs " + i + "/" + j)
+                                .isLessThanOrEqualTo(current[j] + given[j]);
+                    }
+                }
+            }
+            // Shots non répartis uniquement si tous les joueurs sont plafonnés
+            if (allocation.undistributed() > 0) {
+                assertThat(someoneCanTakeMore).as(context).isFalse();
+            }
+        }
+    }
+
+    @Test
+    void sameSeedGivesSameAllocation() {
+        ShotAllocator allocator = ShotAllocator.withDefaults();
+        int[] current = {0, 0, 0, 0, 0, 0, 0, 0};
+        SplittableRandom seeds = new SplittableRandom(7);
+        for (int c = 0; c < 100; c++) {
+            long seed = seeds.nextLong();
+            assertThat(allocator.allocate(current, 5, seed).given())
+                    .isEqualTo(allocator.allocate(current, 5, seed).given());
+        }
+    }
+
+    @Test
+    void tiesAreBrokenUniformly() {
+        ShotAllocator allocator = ShotAllocator.withDefaults();
+        int[] current = {1, 1, 1, 1};
+        int[] hits = new int[current.length];
+        SplittableRandom seeds = new SplittableRandom(11);
+        for (int c = 0; c < 40_000; c++) {
+            int[] given = allocator.allocate(current, 1, seeds.nextLong()).given();
+            for (int i = 0; i < given.length; i++) {
+                hits[i] += given[i];
+            }
+        }
+        // 10 000 attendus par joueur, écart toléré ~ 5 écarts-types
+        for (int h : hits) {
+            assertThat(h).isBetween(9_600, 10_400);
+        }
+    }
+
+    @Test
+    void fixedSeedIsReproduciblePerGameAndTeam() {
+        ShotAllocator allocator = new ShotAllocator(2, 6, 42L);
+        assertThat(allocator.seedFor(3L, 5L)).isEqualTo(allocator.seedFor(3L, 5L));
+        assertThat(allocator.seedFor(3L, 5L)).isNotEqualTo(allocator.seedFor(5L, 3L));
+    }
+
+    private static boolean open(int j, int[] current, int[] given, int maxPerGame, int maxPerPlayer) {
+        return given[j] < maxPerGame && current[j] + given[j] < maxPerPlayer;
+    }
+}
@@ -0,0 +1,135 @@
+package com.soiree.service;
+
+import com.soiree.dto.PlayerStats;
+import com.soiree.dto.TeamStats;
+import com.soiree.model.Game;
+import com.soiree.model.GameResult;
+import com.soiree.model.Player;
+import com.soiree.model.Team;
+import com.soiree.repository.GameRepository;
+import com.soiree.repository.GameResultRepository;
+import com.soiree.repository.TeamRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Les statistiques tenues à jour à chaque saisie sont celles qu'on recalcule depuis la base
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class StatisticsServiceTest {
+
+    @Autowired
+    private StatisticsService statisticsService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private GameService gameService;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private ScoreLedgerService scoreLedger;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private GameResultRepository gameResultRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void incrementalStatsMatchRecomputedOnes() {
+        Long eventId = eventService.createEvent("Statistiques").getId();
+        gameService.initializeGames(eventId);
+        List<Long> teams = createTeams(eventId);
+        List<Game> games = gameService.getAllGames(eventId);
+        // Lecture avant les saisies : le tableau est chargé puis tenu à jour par incréments
+        assertThat(statisticsService.teamStats(eventId, teams.get(0)).gamesPlayed()).isZero();
+
+        gameService.saveGameResults(eventId, games.get(0).getId(), positions(teams, 1, 2, 3, 4));
+        gameService.saveGameResults(eventId, games.get(1).getId(), positions(teams, 2, 1, 4, 3));
+        gameService.saveGameResults(eventId, games.get(3).getId(), positions(teams, 1, 4, 2, 3));
+
+        TeamStats first = statisticsService.teamStats(eventId, teams.get(0));
+        assertThat(first.gamesPlayed()).isEqualTo(3);
+        assertThat(first.meanPosition()).isEqualTo(4.0 / 3);
+        assertThat(first.podiums()).isEqualTo(3);
+        assertThat(first.wins()).isEqualTo(2);
+        assertThat(first.points()).isEqualTo(11);
+        assertThat(first.currentPodiumStreak()).isEqualTo(3);
+        assertThat(first.shotsByGameType()).containsExactly(Map.entry(Game.GameType.REPRESENTANT, 1));
+
+        TeamStats second = statisticsService.teamStats(eventId, teams.get(1));
+        assertThat(second.currentPodiumStreak()).isZero();
+        assertThat(second.bestPodiumStreak()).isEqualTo(2);
+        assertThat(second.shots()).isEqualTo(1 + 0 + 3);
+
+        Long playerId = teamRepository.findAllWithPlayersByEventId(eventId).stream()
+                .filter(team -> team.getId().equals(teams.get(1)))
+                .flatMap(team -> team.getPlayers().stream()).findFirst().orElseThrow().getId();
+        PlayerStats player = statisticsService.playerStats(eventId, playerId);
+        assertThat(player.teamId()).isEqualTo(teams.get(1));
+        assertThat(player.teamGamesPlayed()).isEqualTo(3);
+
+        // Le recalcul depuis GameResult et le journal ne trouve aucun écart
+        assertThat(statisticsService.checkConsistency()).isZero();
+
+        // Annulation : le tableau est recalculé à la lecture suivante
+        scoreLedger.undoLast(eventId);
+        assertThat(statisticsService.teamStats(eventId, teams.get(0)).gamesPlayed()).isEqualTo(2);
+    }
+
+    @Test
+    void consistencyCheckRepairsDrift() {
+        Long eventId = eventService.createEvent("Statistiques divergentes").getId();
+        gameService.initializeGames(eventId);
+        List<Long> teams = createTeams(eventId);
+        assertThat(statisticsService.teamStats(eventId, teams.get(0)).gamesPlayed()).isZero();
+
+        // Résultat écrit sans passer par GameService : aucune mise à jour incrémentale
+        transactionTemplate.executeWithoutResult(status -> {
+            Game game = gameRepository.findByEventIdOrderByOrderAsc(eventId).get(0);
+            Team team = teamRepository.findById(teams.get(0)).orElseThrow();
+            gameResultRepository.save(new GameResult(game, team, 1, 4, 0));
+        });
+        assertThat(statisticsService.teamStats(eventId, teams.get(0)).gamesPlayed()).isZero();
+
+        assertThat(statisticsService.checkConsistency()).isEqualTo(1);
+        assertThat(statisticsService.teamStats(eventId, teams.get(0)).wins()).isEqualTo(1);
+    }
+
+    private List<Long> createTeams(Long eventId) {
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            players.add(new Player("Joueur " + i, i % 2 == 0 ? Player.Gender.HOMME : Player.Gender.FEMME));
+        }
+        return teamService.createBalancedTeams(eventId, players, 4, 7L).stream().map(Team::getId).toList();
+    }
+
+    private static Map<Long, Integer> positions(List<Long> teams, int... positions) {
+        Map<Long, Integer> byTeam = new LinkedHashMap<>();
+        for (int i = 0; i < teams.size(); i++) {
+            byTeam.put(teams.get(i), positions[i]);
+        }
+        return byTeam;
+    }
+}